@@ -0,0 +1,113 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.Vendedor;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.repositorio.RepositorioGarantiaBitacora;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+
+/**
+ * Mide las garant&iacute;as emitidas por segundo guard&aacute;ndolas en la
+ * base de datos y en la bit&aacute;cora mapeada en memoria, sincronizando la
+ * bit&aacute;cora en cada garant&iacute;a o cada 64. En ambos casos los
+ * productos se consultan en la base de datos dentro de una unidad de trabajo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BitacoraGarantiaBenchmark {
+
+	private static final String PERSISTENTE = "persistente";
+	private static final String BITACORA = "bitacora-";
+	private static final int PRODUCTOS = 300_000;
+	private static final int TAMANO_LOTE = 10_000;
+	private static final int CAPACIDAD_BITACORA = 64 * 1024 * 1024;
+	private static final double PRECIO = 650_000;
+	private static final String NOMBRE_CLIENTE = "Cliente";
+
+	@Param({ PERSISTENTE, BITACORA + "1", BITACORA + "64" })
+	private String repositorio;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioGarantiaBitacora bitacora;
+	private Path archivoBitacora;
+	private Vendedor vendedor;
+	private int siguienteProducto;
+
+	@Setup
+	public void setUp() throws IOException {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:bitacoraGarantia");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		RepositorioProducto repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+
+		for (int inicio = 0; inicio < PRODUCTOS; inicio += TAMANO_LOTE) {
+			List<Producto> productos = new ArrayList<>(TAMANO_LOTE);
+			for (int i = inicio; i < inicio + TAMANO_LOTE; i++) {
+				productos.add(new Producto(codigo(i), "Producto " + i, PRECIO));
+			}
+			sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(productos));
+		}
+
+		RepositorioGarantiaExtendida repositorioGarantia;
+		if (PERSISTENTE.equals(repositorio)) {
+			repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
+		} else {
+			archivoBitacora = Files.createTempFile("garantias", ".bitacora");
+			bitacora = new RepositorioGarantiaBitacora(archivoBitacora, repositorioProducto, CAPACIDAD_BITACORA,
+					Integer.parseInt(repositorio.substring(BITACORA.length())));
+			repositorioGarantia = bitacora;
+		}
+		vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		if (bitacora != null) {
+			bitacora.cerrar();
+			Files.delete(archivoBitacora);
+		}
+		sistemaPersistencia.cerrar();
+	}
+
+	@Benchmark
+	public GarantiaExtendida generarGarantia() {
+		if (siguienteProducto >= PRODUCTOS) {
+			throw new IllegalStateException("Se agotaron los productos del benchmark");
+		}
+		String codigo = codigo(siguienteProducto++);
+		return sistemaPersistencia.ejecutarEnTransaccion(() -> vendedor.generarGarantia(codigo, NOMBRE_CLIENTE));
+	}
+
+	private static String codigo(int producto) {
+		return "P" + producto;
+	}
+
+}
@@ -0,0 +1,91 @@
+package rendimiento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ServicioGarantia;
+
+/**
+ * Mide las garant&iacute;as emitidas por segundo desde varios hilos, cada
+ * una para un c&oacute;digo distinto, con candados segmentados por
+ * c&oacute;digo y con un &uacute;nico candado global (1 segmento)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class BloqueoGarantiaBenchmark {
+
+	private static final int PRODUCTOS = 200_000;
+	private static final int TAMANO_LOTE = 10_000;
+	private static final double PRECIO = 650_000;
+	private static final String NOMBRE_CLIENTE = "Cliente";
+
+	@Param({ "1", "256" })
+	private int segmentos;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private ServicioGarantia servicioGarantia;
+	private final AtomicInteger siguienteProducto = new AtomicInteger();
+
+	@Setup
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:bloqueoGarantia");
+		propiedades.setProperty("hibernate.show_sql", "false");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		servicioGarantia = new ServicioGarantia(sistemaPersistencia, segmentos);
+
+		for (int inicio = 0; inicio < PRODUCTOS; inicio += TAMANO_LOTE) {
+			List<Producto> productos = new ArrayList<>(TAMANO_LOTE);
+			for (int i = inicio; i < inicio + TAMANO_LOTE; i++) {
+				productos.add(new Producto(codigo(i), "Producto " + i, PRECIO));
+			}
+			sistemaPersistencia
+					.ejecutarEnTransaccion(() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(productos));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	@Benchmark
+	public GarantiaExtendida generarGarantia() {
+		int producto = siguienteProducto.getAndIncrement();
+		if (producto >= PRODUCTOS) {
+			throw new IllegalStateException("Se agotaron los productos del benchmark");
+		}
+		return servicioGarantia.generarGarantia(codigo(producto), NOMBRE_CLIENTE);
+	}
+
+	private static String codigo(int producto) {
+		return "P" + producto;
+	}
+
+}
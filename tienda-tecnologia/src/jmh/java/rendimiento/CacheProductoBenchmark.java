@@ -0,0 +1,80 @@
+package rendimiento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+
+/**
+ * Mide consultas repetidas de productos por c&oacute;digo, cada una en una
+ * unidad de trabajo nueva, con y sin la cache de segundo nivel y la cache de
+ * consultas de Hibernate
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheProductoBenchmark {
+
+	private static final int PRODUCTOS = 5_000;
+	private static final double PRECIO = 650_000;
+
+	@Param({ "true", "false" })
+	private boolean cache;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+
+	@Setup
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:cacheProducto");
+		propiedades.setProperty("hibernate.show_sql", "false");
+		propiedades.setProperty("hibernate.cache.use_second_level_cache", String.valueOf(cache));
+		propiedades.setProperty("hibernate.cache.use_query_cache", String.valueOf(cache));
+		propiedades.setProperty("hibernate.generate_statistics", "true");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+
+		List<Producto> productos = new ArrayList<>(PRODUCTOS);
+		for (int i = 0; i < PRODUCTOS; i++) {
+			productos.add(new Producto("P" + i, "Producto " + i, PRECIO));
+		}
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(productos));
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.out.println();
+		sistemaPersistencia.obtenerEstadisticasCache().forEach(System.out::println);
+		sistemaPersistencia.cerrar();
+	}
+
+	@Benchmark
+	public Producto obtenerPorCodigo() {
+		String codigo = "P" + ThreadLocalRandom.current().nextInt(PRODUCTOS);
+		return sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(codigo));
+	}
+
+}
@@ -0,0 +1,72 @@
+package rendimiento;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilidades.CalendarUtils;
+
+/**
+ * Mide el c&aacute;lculo de fechas de vencimiento en d&iacute;as h&aacute;biles
+ * y d&iacute;as calendario. <tt>calcularFechaDiasHabilesIterativo</tt> conserva
+ * el recorrido d&iacute;a a d&iacute;a anterior como punto de comparaci&oacute;n
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarUtilsBenchmark {
+
+	@Param({ "100", "200" })
+	private int dias;
+
+	private LocalDate fechaInicio;
+
+	@Setup
+	public void setUp() {
+		fechaInicio = LocalDate.now();
+	}
+
+	@Benchmark
+	public LocalDate calcularFechaDiasHabiles() {
+		return CalendarUtils.calcularFechaDiasHabiles(fechaInicio, dias);
+	}
+
+	@Benchmark
+	public LocalDate calcularFechaDiasHabilesIterativo() {
+		LocalDate fechaIteracion = fechaInicio;
+		int diasRestantes = dias;
+		while (diasRestantes > 0) {
+			if (fechaIteracion.getDayOfWeek() != DayOfWeek.MONDAY) {
+				diasRestantes--;
+			}
+			fechaIteracion = fechaIteracion.plusDays(1);
+		}
+		if (fechaIteracion.getDayOfWeek() == DayOfWeek.SUNDAY) {
+			fechaIteracion = fechaIteracion.plusDays(2);
+		} else if (fechaIteracion.getDayOfWeek() == DayOfWeek.MONDAY) {
+			fechaIteracion = fechaIteracion.plusDays(1);
+		}
+		return fechaIteracion;
+	}
+
+	@Benchmark
+	public LocalDate calcularFechaDiasCalendario() {
+		return CalendarUtils.calcularFechaDiasCalendario(fechaInicio, dias);
+	}
+
+}
@@ -0,0 +1,194 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ServicioGarantia;
+import servicio.ServidorGarantiasHttp;
+
+/**
+ * Prueba de carga local del {@link ServidorGarantiasHttp}: inicia el servidor
+ * en un puerto libre sobre una base de datos en memoria con
+ * <tt>productos</tt> productos, la mitad con garant&iacute;a, y para cada
+ * nivel de concurrencia ejecuta ese n&uacute;mero de clientes que consultan
+ * en ciclo cerrado el estado (4 de cada 5 solicitudes) o la garant&iacute;a
+ * de un producto al azar, reutilizando sus conexiones. El servidor usa
+ * {@link ServidorGarantiasHttp#CONCURRENCIA_POR_DEFECTO}, por lo que en los
+ * niveles mayores las solicitudes esperan su turno en el servidor. Reporta
+ * solicitudes por segundo y las latencias p50, p99 y p99.9; al ser de ciclo
+ * cerrado, la latencia es la que ve cada cliente y no incluye la espera que
+ * tendr&iacute;a una solicitud que llega mientras el cliente est&aacute;
+ * ocupado.
+ *
+ * Argumentos opcionales: segundos de medici&oacute;n por nivel, niveles de
+ * concurrencia separados por coma y productos; por ejemplo
+ * <tt>10 1,4,16,64 1000</tt>
+ */
+public class CargaServidorGarantias {
+
+	private static final String PREFIJO_CODIGO = "F";
+	private static final String NOMBRE_CLIENTE = "Cliente de carga";
+	private static final int SEGUNDOS_POR_DEFECTO = 10;
+	private static final String NIVELES_POR_DEFECTO = "1,4,16,64";
+	private static final int PRODUCTOS_POR_DEFECTO = 1_000;
+	private static final int PORCENTAJE_ESTADO = 80;
+	private static final long LATENCIA_MAXIMA_NANOS = TimeUnit.MINUTES.toNanos(1);
+	private static final int DIGITOS_SIGNIFICATIVOS = 2;
+	private static final double NANOS_POR_MILISEGUNDO = 1e6;
+
+	private CargaServidorGarantias() {
+		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
+	}
+
+	public static void main(String[] argumentos) throws Exception {
+		int segundos = argumentos.length > 0 ? Integer.parseInt(argumentos[0]) : SEGUNDOS_POR_DEFECTO;
+		String[] niveles = (argumentos.length > 1 ? argumentos[1] : NIVELES_POR_DEFECTO).split(",");
+		int productos = argumentos.length > 2 ? Integer.parseInt(argumentos[2]) : PRODUCTOS_POR_DEFECTO;
+		int concurrenciaMaxima = 0;
+		for (String nivel : niveles) {
+			concurrenciaMaxima = Math.max(concurrenciaMaxima, Integer.parseInt(nivel.trim()));
+		}
+		// antes de cargar el servidor y el cliente HTTP del JDK
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		System.setProperty("http.maxConnections", String.valueOf(concurrenciaMaxima));
+
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:cargaServidor");
+		propiedades.setProperty("hibernate.show_sql", "false");
+		SistemaDePersistencia sistemaPersistencia = new SistemaDePersistencia(
+				new ConfiguracionPersistencia(propiedades));
+		ServicioGarantia servicioGarantia = new ServicioGarantia(sistemaPersistencia);
+		String[] codigos = crearProductos(sistemaPersistencia, servicioGarantia, productos);
+
+		ServidorGarantiasHttp servidor = new ServidorGarantiasHttp(servicioGarantia, 0,
+				ServidorGarantiasHttp.CONCURRENCIA_POR_DEFECTO);
+		servidor.iniciar();
+		String base = "http://localhost:" + servidor.getPuerto() + ServidorGarantiasHttp.RUTA;
+		try {
+			System.out.printf("%-12s %12s %10s %10s %10s%n", "concurrencia", "solicitudes/s", "p50 ms", "p99 ms",
+					"p99.9 ms");
+			for (String nivel : niveles) {
+				int concurrencia = Integer.parseInt(nivel.trim());
+				ejecutarNivel(base, codigos, concurrencia, TimeUnit.SECONDS.toNanos(Math.max(1, segundos / 5)));
+				long inicio = System.nanoTime();
+				Histogram latencias = ejecutarNivel(base, codigos, concurrencia, TimeUnit.SECONDS.toNanos(segundos));
+				double transcurrido = (System.nanoTime() - inicio) / 1e9;
+				System.out.printf("%-12d %12.0f %10.3f %10.3f %10.3f%n", concurrencia,
+						latencias.getTotalCount() / transcurrido, percentil(latencias, 50), percentil(latencias, 99),
+						percentil(latencias, 99.9));
+			}
+		} finally {
+			servidor.detener(0);
+			sistemaPersistencia.cerrar();
+		}
+	}
+
+	private static String[] crearProductos(SistemaDePersistencia sistemaPersistencia,
+			ServicioGarantia servicioGarantia, int productos) {
+		RepositorioProducto repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		String[] codigos = new String[productos];
+		for (int i = 0; i < productos; i++) {
+			codigos[i] = PREFIJO_CODIGO + i;
+		}
+		sistemaPersistencia.ejecutarEnTransaccion(() -> {
+			for (int i = 0; i < productos; i++) {
+				repositorioProducto.agregar(new Producto(codigos[i], "Producto " + i, 100_000 + i * 1_000));
+			}
+		});
+		for (int i = 0; i < productos; i += 2) {
+			servicioGarantia.generarGarantia(codigos[i], NOMBRE_CLIENTE);
+		}
+		return codigos;
+	}
+
+	private static Histogram ejecutarNivel(String base, String[] codigos, int concurrencia, long duracionNanos)
+			throws InterruptedException {
+		long fin = System.nanoTime() + duracionNanos;
+		List<Cliente> clientes = new ArrayList<>(concurrencia);
+		for (int i = 0; i < concurrencia; i++) {
+			Cliente cliente = new Cliente(base, codigos, fin);
+			clientes.add(cliente);
+			cliente.start();
+		}
+
+		Histogram latencias = new Histogram(LATENCIA_MAXIMA_NANOS, DIGITOS_SIGNIFICATIVOS);
+		for (Cliente cliente : clientes) {
+			cliente.join();
+			if (cliente.error != null) {
+				throw new IllegalStateException("Fallo una solicitud de carga", cliente.error);
+			}
+			latencias.add(cliente.latencias);
+		}
+		return latencias;
+	}
+
+	private static double percentil(Histogram latencias, double percentil) {
+		return latencias.getValueAtPercentile(percentil) / NANOS_POR_MILISEGUNDO;
+	}
+
+	/**
+	 * Cliente de ciclo cerrado: env&iacute;a la siguiente solicitud cuando
+	 * termina de leer la respuesta anterior, lo que permite que el cliente
+	 * HTTP del JDK reutilice la conexi&oacute;n
+	 */
+	private static class Cliente extends Thread {
+
+		private final String base;
+		private final String[] codigos;
+		private final long fin;
+		private final Histogram latencias = new Histogram(LATENCIA_MAXIMA_NANOS, DIGITOS_SIGNIFICATIVOS);
+		private final byte[] bloque = new byte[1024];
+		private Exception error;
+
+		Cliente(String base, String[] codigos, long fin) {
+			this.base = base;
+			this.codigos = codigos;
+			this.fin = fin;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+			try {
+				long inicio;
+				while ((inicio = System.nanoTime()) < fin) {
+					String codigo = codigos[aleatorio.nextInt(codigos.length)];
+					boolean estado = aleatorio.nextInt(100) < PORCENTAJE_ESTADO;
+					consultar(new URL(base + codigo + (estado ? "/estado" : "")));
+					latencias.recordValue(System.nanoTime() - inicio);
+				}
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+
+		private void consultar(URL url) throws IOException {
+			HttpURLConnection conexion = (HttpURLConnection) url.openConnection();
+			int estado = conexion.getResponseCode();
+			if (estado != 200 && estado != 404) {
+				throw new IOException("Estado inesperado " + estado + " para " + url);
+			}
+			try (InputStream entrada = estado == 200 ? conexion.getInputStream() : conexion.getErrorStream()) {
+				while (entrada.read(bloque) > 0) {
+					// se descarta el cuerpo para liberar la conexion
+				}
+			}
+		}
+
+	}
+
+}
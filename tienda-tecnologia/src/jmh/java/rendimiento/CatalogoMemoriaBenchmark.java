@@ -0,0 +1,107 @@
+package rendimiento;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.Producto;
+import persistencia.repositorio.RepositorioProductoEnMemoria;
+
+/**
+ * Mide la consulta por c&oacute;digo de un cat&aacute;logo grande guardado
+ * en {@link RepositorioProductoEnMemoria} y en un {@link HashMap} de objetos
+ * {@link Producto}. Al preparar cada cat&aacute;logo se imprime el heap
+ * ocupado por producto, medido despu&eacute;s de un GC
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+@State(Scope.Benchmark)
+public class CatalogoMemoriaBenchmark {
+
+	private static final String EN_MEMORIA = "enMemoria";
+	private static final String HASH_MAP = "hashMap";
+	private static final int TAMANO_LOTE = 100_000;
+
+	@Param({ "1000000", "3000000" })
+	private int productos;
+
+	@Param({ EN_MEMORIA, HASH_MAP })
+	private String repositorio;
+
+	private RepositorioProductoEnMemoria catalogo;
+	private Map<String, Producto> mapa;
+	private String[] codigos;
+
+	@Setup
+	public void setUp() {
+		codigos = new String[productos];
+		for (int i = 0; i < productos; i++) {
+			codigos[i] = "SKU" + (1_000_000_000L + i);
+		}
+
+		long heapInicial = heapUsado();
+		if (EN_MEMORIA.equals(repositorio)) {
+			catalogo = new RepositorioProductoEnMemoria(productos);
+			for (int inicio = 0; inicio < productos; inicio += TAMANO_LOTE) {
+				catalogo.agregar(crearLote(inicio));
+			}
+			System.out.printf("%nBytes por producto reportados por el repositorio: %.1f%n",
+					catalogo.getBytesPorProducto());
+		} else {
+			mapa = new HashMap<>();
+			for (int inicio = 0; inicio < productos; inicio += TAMANO_LOTE) {
+				for (Producto producto : crearLote(inicio)) {
+					mapa.put(producto.getCodigo(), producto);
+				}
+			}
+		}
+		System.out.printf("%nHeap por producto (%s): %.1f bytes%n", repositorio,
+				(heapUsado() - heapInicial) / (double) productos);
+	}
+
+	@Benchmark
+	public Producto obtenerPorCodigo() {
+		String codigo = codigos[ThreadLocalRandom.current().nextInt(productos)];
+		return catalogo != null ? catalogo.obtenerPorCodigo(codigo) : mapa.get(codigo);
+	}
+
+	/**
+	 * Cada producto recibe su propio c&oacute;digo, como si viniera de la
+	 * base de datos, para que el mapa no comparta las cadenas de
+	 * {@link #codigos}
+	 */
+	private List<Producto> crearLote(int inicio) {
+		List<Producto> lote = new ArrayList<>(TAMANO_LOTE);
+		for (int i = inicio; i < Math.min(productos, inicio + TAMANO_LOTE); i++) {
+			lote.add(new Producto(new String(codigos[i]), "Producto de catalogo " + i, 1_000 + i));
+		}
+		return lote;
+	}
+
+	private static long heapUsado() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+}
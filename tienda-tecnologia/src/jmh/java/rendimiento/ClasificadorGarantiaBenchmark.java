@@ -0,0 +1,58 @@
+package rendimiento;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.ClasificadorGarantia;
+
+/**
+ * Mide la clasificaci&oacute;n de un cat&aacute;logo completo de
+ * c&oacute;digos de producto
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClasificadorGarantiaBenchmark {
+
+	private static final String CARACTERES = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+	private static final int LONGITUD_CODIGO = 10;
+
+	@Param({ "10000" })
+	private int productos;
+
+	private String[] codigos;
+
+	@Setup
+	public void setUp() {
+		Random aleatorio = new Random(1);
+		codigos = new String[productos];
+		char[] codigo = new char[LONGITUD_CODIGO];
+		for (int i = 0; i < productos; i++) {
+			for (int j = 0; j < LONGITUD_CODIGO; j++) {
+				codigo[j] = CARACTERES.charAt(aleatorio.nextInt(CARACTERES.length()));
+			}
+			codigos[i] = new String(codigo);
+		}
+	}
+
+	@Benchmark
+	public boolean[] clasificar() {
+		return ClasificadorGarantia.clasificar(codigos);
+	}
+
+}
@@ -0,0 +1,100 @@
+package rendimiento;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+
+/**
+ * Mide la consulta de un producto por c&oacute;digo a medida que crece el
+ * cat&aacute;logo, con y sin el &iacute;ndice &uacute;nico sobre
+ * <tt>Producto.codigo</tt>. La cache de segundo nivel se deshabilita para
+ * que cada consulta llegue a la base de datos
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+@State(Scope.Benchmark)
+public class ConsultaProductoBenchmark {
+
+	private static final String PREFIJO_CODIGO = "P";
+	private static final int TAMANO_LOTE = 10_000;
+	private static final String INSERTAR_PRODUCTO = "insert into Producto (id, codigo, nombre, precio) values (?, ?, ?, ?)";
+	private static final String ELIMINAR_INDICE = "drop index UK_PRODUCTO_CODIGO";
+
+	@Param({ "10000", "100000", "1000000" })
+	private int productos;
+
+	@Param({ "true", "false" })
+	private boolean indexado;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+
+	@Setup
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:consultaProducto");
+		propiedades.setProperty("hibernate.show_sql", "false");
+		propiedades.setProperty("hibernate.cache.use_second_level_cache", "false");
+		propiedades.setProperty("hibernate.cache.use_query_cache", "false");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+
+		sistemaPersistencia.ejecutarEnTransaccion(() -> sistemaPersistencia.obtenerEntityManager()
+				.unwrap(Session.class).doWork(conexion -> {
+					try (PreparedStatement insercion = conexion.prepareStatement(INSERTAR_PRODUCTO)) {
+						for (int i = 0; i < productos; i++) {
+							insercion.setLong(1, i + 1L);
+							insercion.setString(2, PREFIJO_CODIGO + i);
+							insercion.setString(3, "Producto " + i);
+							insercion.setDouble(4, 1000 + i);
+							insercion.addBatch();
+							if ((i + 1) % TAMANO_LOTE == 0) {
+								insercion.executeBatch();
+							}
+						}
+						insercion.executeBatch();
+					}
+					if (!indexado) {
+						try (Statement sentencia = conexion.createStatement()) {
+							sentencia.execute(ELIMINAR_INDICE);
+						}
+					}
+				}));
+	}
+
+	@TearDown
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	@Benchmark
+	public Producto obtenerPorCodigo() {
+		String codigo = PREFIJO_CODIGO + ThreadLocalRandom.current().nextInt(productos);
+		return sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(codigo));
+	}
+
+}
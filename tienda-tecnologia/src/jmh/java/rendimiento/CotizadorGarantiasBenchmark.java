@@ -0,0 +1,79 @@
+package rendimiento;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dominio.CotizacionGarantias;
+import dominio.CotizadorGarantias;
+import dominio.Vendedor;
+
+/**
+ * Compara la cotizaci&oacute;n de las garant&iacute;as de un cat&aacute;logo
+ * completo llamando al vendedor producto por producto contra la
+ * cotizaci&oacute;n por lotes, secuencial y en paralelo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CotizadorGarantiasBenchmark {
+
+	private static final double PRECIO_MAXIMO = 1_000_000;
+
+	@Param({ "1000000" })
+	private int productos;
+
+	private double[] precios;
+	private LocalDate fechaSolicitud;
+	private Vendedor vendedor;
+	private CotizadorGarantias cotizadorSecuencial;
+	private CotizadorGarantias cotizadorParalelo;
+
+	@Setup
+	public void setUp() {
+		Random aleatorio = new Random(1);
+		precios = new double[productos];
+		for (int i = 0; i < productos; i++) {
+			precios[i] = Math.floor(aleatorio.nextDouble() * PRECIO_MAXIMO);
+		}
+		fechaSolicitud = LocalDate.now();
+		vendedor = new Vendedor();
+		cotizadorSecuencial = new CotizadorGarantias(Integer.MAX_VALUE);
+		cotizadorParalelo = new CotizadorGarantias();
+	}
+
+	@Benchmark
+	public void cotizarPorProducto(Blackhole agujero) {
+		for (double precio : precios) {
+			agujero.consume(vendedor.calcularValorGarantia(precio));
+			agujero.consume(vendedor.calcularFechaVencimiento(fechaSolicitud, precio));
+		}
+	}
+
+	@Benchmark
+	public CotizacionGarantias cotizarLoteSecuencial() {
+		return cotizadorSecuencial.cotizar(precios, fechaSolicitud);
+	}
+
+	@Benchmark
+	public CotizacionGarantias cotizarLoteParalelo() {
+		return cotizadorParalelo.cotizar(precios, fechaSolicitud);
+	}
+
+}
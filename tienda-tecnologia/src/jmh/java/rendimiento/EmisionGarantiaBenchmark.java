@@ -0,0 +1,67 @@
+package rendimiento;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.Vendedor;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+
+/**
+ * Mide el tiempo y las asignaciones de la emisi&oacute;n de una
+ * garant&iacute;a en el vendedor sin la base de datos: el repositorio de
+ * garant&iacute;as es un proxy que siempre encuentra el producto sin
+ * garant&iacute;a y descarta lo que se agrega. Ejecutar con <tt>-prof gc</tt>
+ * para ver los bytes asignados por emisi&oacute;n
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmisionGarantiaBenchmark {
+
+	private static final String CODIGO = "AEIghe2750FE";
+	private static final String NOMBRE_CLIENTE = "Cliente";
+
+	@Param({ "318000", "650000" })
+	private double precio;
+
+	private Vendedor vendedor;
+
+	@Setup
+	public void setUp() {
+		ProductoParaGarantia productoParaGarantia = new ProductoParaGarantia(
+				new Producto(CODIGO, "Computador", precio), false);
+		RepositorioGarantiaExtendida repositorioGarantia = (RepositorioGarantiaExtendida) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class<?>[] { RepositorioGarantiaExtendida.class },
+				(proxy, metodo, argumentos) -> "obtenerProductoParaGarantia".equals(metodo.getName())
+						? productoParaGarantia : null);
+		RepositorioProducto repositorioProducto = (RepositorioProducto) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class<?>[] { RepositorioProducto.class },
+				(proxy, metodo, argumentos) -> null);
+		vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
+	}
+
+	@Benchmark
+	public GarantiaExtendida generarGarantia() {
+		return vendedor.generarGarantia(CODIGO, NOMBRE_CLIENTE);
+	}
+
+}
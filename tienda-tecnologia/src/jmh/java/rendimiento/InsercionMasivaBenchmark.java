@@ -0,0 +1,134 @@
+package rendimiento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.Producto;
+import dominio.ResultadoGarantia;
+import dominio.SolicitudGarantia;
+import dominio.Vendedor;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.conexion.GeneradorSecuencia;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+
+/**
+ * Mide los inserts por segundo de la importaci&oacute;n de productos y de la
+ * emisi&oacute;n de garant&iacute;as en lote, variando el tama&ntilde;o de
+ * asignaci&oacute;n de las secuencias y el tama&ntilde;o de los lotes JDBC.
+ * Con ambos en 1 se reproduce el comportamiento anterior: una llamada a la
+ * secuencia y un insert por fila
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercionMasivaBenchmark {
+
+	private static final int TAMANO_LOTE = 1_000;
+	private static final double PRECIO = 650_000;
+	private static final String NOMBRE_CLIENTE = "Cliente";
+
+	@Param({ "1", "50" })
+	private int tamanoAsignacion;
+
+	@Param({ "1", "50" })
+	private int tamanoLoteJdbc;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+	private Vendedor vendedor;
+	private long consecutivo;
+
+	@Setup
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:insercionMasiva");
+		propiedades.setProperty("hibernate.show_sql", "false");
+		propiedades.setProperty("hibernate.jdbc.batch_size", String.valueOf(tamanoLoteJdbc));
+		propiedades.setProperty(GeneradorSecuencia.TAMANO_ASIGNACION, String.valueOf(tamanoAsignacion));
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		vendedor = new Vendedor(repositorioProducto, sistemaPersistencia.obtenerRepositorioGarantia());
+	}
+
+	@TearDown
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Lote de productos nuevos para importar
+	 */
+	@State(Scope.Thread)
+	public static class LoteProductos {
+
+		private List<Producto> productos;
+
+		@Setup(Level.Invocation)
+		public void setUp(InsercionMasivaBenchmark benchmark) {
+			productos = benchmark.crearProductos();
+		}
+	}
+
+	/**
+	 * Solicitudes de garant&iacute;a para un lote de productos ya importados
+	 */
+	@State(Scope.Thread)
+	public static class LoteSolicitudes {
+
+		private List<SolicitudGarantia> solicitudes;
+
+		@Setup(Level.Invocation)
+		public void setUp(InsercionMasivaBenchmark benchmark) {
+			List<Producto> productos = benchmark.crearProductos();
+			benchmark.sistemaPersistencia.ejecutarEnTransaccion(() -> benchmark.repositorioProducto.agregar(productos));
+
+			solicitudes = new ArrayList<>(productos.size());
+			for (Producto producto : productos) {
+				solicitudes.add(new SolicitudGarantia(producto.getCodigo(), NOMBRE_CLIENTE));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TAMANO_LOTE)
+	public void importarProductos(LoteProductos lote) {
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(lote.productos));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TAMANO_LOTE)
+	public List<ResultadoGarantia> generarGarantias(LoteSolicitudes lote) {
+		return sistemaPersistencia.ejecutarEnTransaccion(() -> vendedor.generarGarantias(lote.solicitudes));
+	}
+
+	private List<Producto> crearProductos() {
+		List<Producto> productos = new ArrayList<>(TAMANO_LOTE);
+		for (int i = 0; i < TAMANO_LOTE; i++) {
+			String codigo = "P" + consecutivo++;
+			productos.add(new Producto(codigo, "Producto " + codigo, PRECIO));
+		}
+		return productos;
+	}
+
+}
@@ -0,0 +1,56 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import metricas.Metrica;
+import metricas.Metricas;
+
+/**
+ * Mide el costo de medir una operaci&oacute;n con las m&eacute;tricas
+ * habilitadas y deshabilitadas
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricasBenchmark {
+
+	@Param({ "true", "false" })
+	private boolean habilitadas;
+
+	private Metrica metrica;
+
+	@Setup
+	public void setUp() {
+		Metricas.setHabilitadas(habilitadas);
+		metrica = Metricas.obtener("benchmark.operacion");
+	}
+
+	@TearDown
+	public void tearDown() {
+		Metricas.setHabilitadas(false);
+	}
+
+	@Benchmark
+	public long medirOperacion() {
+		long inicio = metrica.iniciar();
+		metrica.registrar(inicio);
+		return inicio;
+	}
+
+}
@@ -0,0 +1,37 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilidades.StringUtils;
+
+/**
+ * Mide el conteo de vocales usado para validar los c&oacute;digos de producto
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilsBenchmark {
+
+	@Param({ "F01TSA0150", "AEIghe2750FE", "S01H1AT51X9Q0W8E7R6T5Y4U3I2O1P" })
+	private String codigo;
+
+	@Benchmark
+	public int contarVocales() {
+		return StringUtils.contarVocales(codigo);
+	}
+
+}
@@ -0,0 +1,70 @@
+package rendimiento;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.Vendedor;
+
+/**
+ * Mide las reglas de negocio de la garant&iacute;a extendida que no dependen
+ * de la base de datos
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VendedorBenchmark {
+
+	private static final double PRECIO_MAYOR = 650_000;
+	private static final double PRECIO_MENOR = 318_000;
+	private static final String CODIGO_CON_GARANTIA = "AEIghe2750FE";
+	private static final String CODIGO_SIN_GARANTIA = "Aghe2750FE";
+
+	private Vendedor vendedor;
+	private LocalDate fechaSolicitud;
+
+	@Setup
+	public void setUp() {
+		vendedor = new Vendedor();
+		fechaSolicitud = LocalDate.now();
+	}
+
+	@Benchmark
+	public LocalDate calcularFechaVencimientoPrecioMayor() {
+		return vendedor.calcularFechaVencimiento(fechaSolicitud, PRECIO_MAYOR);
+	}
+
+	@Benchmark
+	public LocalDate calcularFechaVencimientoPrecioMenor() {
+		return vendedor.calcularFechaVencimiento(fechaSolicitud, PRECIO_MENOR);
+	}
+
+	@Benchmark
+	public double calcularValorGarantia() {
+		return vendedor.calcularValorGarantia(PRECIO_MAYOR);
+	}
+
+	@Benchmark
+	public boolean codigoConGarantiaExtendida() {
+		return vendedor.codigoConGarantiaExtendida(CODIGO_CON_GARANTIA);
+	}
+
+	@Benchmark
+	public boolean codigoSinGarantiaExtendida() {
+		return vendedor.codigoConGarantiaExtendida(CODIGO_SIN_GARANTIA);
+	}
+
+}
@@ -0,0 +1,100 @@
+package rendimiento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.Vendedor;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+
+/**
+ * Compara las garant&iacute;as emitidas por segundo por el vendedor con un
+ * hilo y con un hilo por procesador, cada emisi&oacute;n en su propia unidad
+ * de trabajo y para un c&oacute;digo distinto. En una m&aacute;quina de un
+ * solo procesador ambos casos son equivalentes
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VendedorConcurrenteBenchmark {
+
+	private static final int PRODUCTOS = 200_000;
+	private static final int TAMANO_LOTE = 10_000;
+	private static final double PRECIO = 650_000;
+	private static final String NOMBRE_CLIENTE = "Cliente";
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private Vendedor vendedor;
+	private final AtomicInteger siguienteProducto = new AtomicInteger();
+
+	@Setup
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("javax.persistence.jdbc.url", "jdbc:h2:mem:vendedorConcurrente");
+		propiedades.setProperty("hibernate.show_sql", "false");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		vendedor = new Vendedor(sistemaPersistencia.obtenerRepositorioProductos(),
+				sistemaPersistencia.obtenerRepositorioGarantia());
+
+		for (int inicio = 0; inicio < PRODUCTOS; inicio += TAMANO_LOTE) {
+			List<Producto> productos = new ArrayList<>(TAMANO_LOTE);
+			for (int i = inicio; i < inicio + TAMANO_LOTE; i++) {
+				productos.add(new Producto(codigo(i), "Producto " + i, PRECIO));
+			}
+			sistemaPersistencia
+					.ejecutarEnTransaccion(() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(productos));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public GarantiaExtendida generarGarantiaUnHilo() {
+		return generarGarantia();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public GarantiaExtendida generarGarantiaHiloPorProcesador() {
+		return generarGarantia();
+	}
+
+	private GarantiaExtendida generarGarantia() {
+		int producto = siguienteProducto.getAndIncrement();
+		if (producto >= PRODUCTOS) {
+			throw new IllegalStateException("Se agotaron los productos del benchmark");
+		}
+		return sistemaPersistencia
+				.ejecutarEnTransaccion(() -> vendedor.generarGarantia(codigo(producto), NOMBRE_CLIENTE));
+	}
+
+	private static String codigo(int producto) {
+		return "P" + producto;
+	}
+
+}
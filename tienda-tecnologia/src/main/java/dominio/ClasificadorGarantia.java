@@ -0,0 +1,70 @@
+package dominio;
+
+import java.util.List;
+
+import utilidades.StringUtils;
+
+/**
+ * Clasifica los c&oacute;digos de producto seg&uacute;n si aplican para
+ * garant&iacute;a extendida. Los c&oacute;digos con exactamente tres vocales
+ * no tienen garant&iacute;a extendida
+ */
+public final class ClasificadorGarantia {
+
+	public static final int VOCALES_SIN_GARANTIA = 3;
+
+	private ClasificadorGarantia() {
+		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
+	}
+
+	/**
+	 * Permite verificar si el c&oacute;digo cumple con las caracteristicas de
+	 * garant&iacute;a extendida
+	 * 
+	 * @param codigo
+	 *            cadena que contiene el c&oacute;digo de un producto
+	 * @return <tt>true<tt> si al c&oacute;digo se le puede aplicar garantia
+	 */
+	public static boolean aplicaGarantia(String codigo) {
+		if (codigo == null) {
+			return false;
+		}
+		return StringUtils.contarVocales(codigo, VOCALES_SIN_GARANTIA + 1) != VOCALES_SIN_GARANTIA;
+	}
+
+	/**
+	 * Permite clasificar un grupo de c&oacute;digos en una sola pasada
+	 * 
+	 * @param codigos
+	 *            c&oacute;digos de producto
+	 * @return arreglo en el que cada posici&oacute;n indica si el
+	 *         c&oacute;digo de la misma posici&oacute;n aplica para
+	 *         garant&iacute;a
+	 */
+	public static boolean[] clasificar(String[] codigos) {
+		boolean[] resultado = new boolean[codigos.length];
+		for (int i = 0; i < codigos.length; i++) {
+			resultado[i] = aplicaGarantia(codigos[i]);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Permite clasificar una lista de c&oacute;digos en una sola pasada
+	 * 
+	 * @param codigos
+	 *            c&oacute;digos de producto
+	 * @return arreglo en el que cada posici&oacute;n indica si el
+	 *         c&oacute;digo de la misma posici&oacute;n aplica para
+	 *         garant&iacute;a
+	 */
+	public static boolean[] clasificar(List<String> codigos) {
+		boolean[] resultado = new boolean[codigos.size()];
+		int i = 0;
+		for (String codigo : codigos) {
+			resultado[i++] = aplicaGarantia(codigo);
+		}
+		return resultado;
+	}
+
+}
@@ -0,0 +1,79 @@
+package dominio;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de {@link CotizadorGarantias}: el valor y la fecha de vencimiento
+ * de la garant&iacute;a de cada producto cotizado, en el mismo orden en que se
+ * recibieron. Todas las garant&iacute;as de un mismo tramo de precio vencen
+ * el mismo d&iacute;a, por lo que solo se guardan las dos fechas y el tramo
+ * de cada producto
+ */
+public class CotizacionGarantias {
+
+	private final double[] preciosGarantia;
+	private final boolean[] tramoMayor;
+	private final LocalDate vencimientoMayor;
+	private final LocalDate vencimientoMenor;
+
+	CotizacionGarantias(double[] preciosGarantia, boolean[] tramoMayor, LocalDate vencimientoMayor,
+			LocalDate vencimientoMenor) {
+
+		this.preciosGarantia = preciosGarantia;
+		this.tramoMayor = tramoMayor;
+		this.vencimientoMayor = vencimientoMayor;
+		this.vencimientoMenor = vencimientoMenor;
+	}
+
+	/**
+	 * @return cantidad de productos cotizados
+	 */
+	public int getCantidad() {
+		return preciosGarantia.length;
+	}
+
+	/**
+	 * @param indice
+	 *            posici&oacute;n del producto en la solicitud
+	 * @return valor de la garant&iacute;a del producto
+	 */
+	public double getPrecioGarantia(int indice) {
+		return preciosGarantia[indice];
+	}
+
+	/**
+	 * @param indice
+	 *            posici&oacute;n del producto en la solicitud
+	 * @return fecha de vencimiento de la garant&iacute;a del producto
+	 */
+	public LocalDate getFechaVencimiento(int indice) {
+		return tramoMayor[indice] ? vencimientoMayor : vencimientoMenor;
+	}
+
+	/**
+	 * @param indice
+	 *            posici&oacute;n del producto en la solicitud
+	 * @return <tt>true</tt> si el precio del producto supera
+	 *         {@link Vendedor#PRECIO_LIMITE_GARANTIA}
+	 */
+	public boolean isTramoMayor(int indice) {
+		return tramoMayor[indice];
+	}
+
+	/**
+	 * @return fecha de vencimiento de las garant&iacute;as de los productos
+	 *         que superan {@link Vendedor#PRECIO_LIMITE_GARANTIA}
+	 */
+	public LocalDate getFechaVencimientoMayor() {
+		return vencimientoMayor;
+	}
+
+	/**
+	 * @return fecha de vencimiento de las garant&iacute;as de los productos
+	 *         que no superan {@link Vendedor#PRECIO_LIMITE_GARANTIA}
+	 */
+	public LocalDate getFechaVencimientoMenor() {
+		return vencimientoMenor;
+	}
+
+}
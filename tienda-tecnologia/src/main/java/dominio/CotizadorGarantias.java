@@ -0,0 +1,131 @@
+package dominio;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import utilidades.CalendarUtils;
+import utilidades.CalendarioLaboral;
+
+/**
+ * Cotiza en una sola llamada el valor y la fecha de vencimiento de la
+ * garant&iacute;a extendida de un lote de productos, con las mismas reglas
+ * de {@link Vendedor#calcularValorGarantia(double)} y
+ * {@link Vendedor#calcularFechaVencimiento(LocalDate, double)}.
+ *
+ * La fecha de vencimiento solo depende del d&iacute;a de la solicitud y del
+ * tramo de precio, por lo que las dos fechas posibles se calculan una vez por
+ * d&iacute;a y se reutilizan en las cotizaciones siguientes hasta que cambie
+ * el d&iacute;a o se configuren otros festivos. Los lotes con al menos
+ * {@link #UMBRAL_PARALELO} productos se cotizan con un stream paralelo
+ */
+public class CotizadorGarantias {
+
+	public static final int UMBRAL_PARALELO = 10_000;
+
+	private final int umbralParalelo;
+	private volatile VencimientosDia vencimientos;
+
+	public CotizadorGarantias() {
+		this(UMBRAL_PARALELO);
+	}
+
+	/**
+	 * @param umbralParalelo
+	 *            cantidad m&iacute;nima de productos para cotizar en paralelo
+	 */
+	public CotizadorGarantias(int umbralParalelo) {
+		this.umbralParalelo = umbralParalelo;
+	}
+
+	/**
+	 * Permite cotizar las garant&iacute;as de un arreglo de precios
+	 *
+	 * @param precios
+	 *            valor de cada producto
+	 * @param fechaSolicitud
+	 *            fecha de solicitud de las garant&iacute;as
+	 * @return cotizaci&oacute;n de cada precio, en el mismo orden
+	 */
+	public CotizacionGarantias cotizar(double[] precios, LocalDate fechaSolicitud) {
+		VencimientosDia vencimientosDia = obtenerVencimientos(fechaSolicitud);
+		double[] preciosGarantia = new double[precios.length];
+		boolean[] tramoMayor = new boolean[precios.length];
+		recorrer(precios.length, i -> cotizar(precios[i], i, preciosGarantia, tramoMayor));
+		return new CotizacionGarantias(preciosGarantia, tramoMayor, vencimientosDia.vencimientoMayor,
+				vencimientosDia.vencimientoMenor);
+	}
+
+	/**
+	 * Permite cotizar las garant&iacute;as de un lote de productos
+	 *
+	 * @param productos
+	 *            productos a cotizar
+	 * @param fechaSolicitud
+	 *            fecha de solicitud de las garant&iacute;as
+	 * @return cotizaci&oacute;n de cada producto, en el mismo orden
+	 */
+	public CotizacionGarantias cotizar(List<Producto> productos, LocalDate fechaSolicitud) {
+		Producto[] lote = productos.toArray(new Producto[productos.size()]);
+		VencimientosDia vencimientosDia = obtenerVencimientos(fechaSolicitud);
+		double[] preciosGarantia = new double[lote.length];
+		boolean[] tramoMayor = new boolean[lote.length];
+		recorrer(lote.length, i -> cotizar(lote[i].getPrecio(), i, preciosGarantia, tramoMayor));
+		return new CotizacionGarantias(preciosGarantia, tramoMayor, vencimientosDia.vencimientoMayor,
+				vencimientosDia.vencimientoMenor);
+	}
+
+	private void recorrer(int cantidad, IntConsumer accion) {
+		IntStream indices = IntStream.range(0, cantidad);
+		if (cantidad >= umbralParalelo) {
+			indices = indices.parallel();
+		}
+		indices.forEach(accion);
+	}
+
+	private static void cotizar(double precio, int indice, double[] preciosGarantia, boolean[] tramoMayor) {
+		if (precio > Vendedor.PRECIO_LIMITE_GARANTIA) {
+			tramoMayor[indice] = true;
+			preciosGarantia[indice] = (precio * Vendedor.PORCENTAJE_VALOR_GARANTIA_MAYOR) / 100;
+		} else {
+			preciosGarantia[indice] = (precio * Vendedor.PORCENTAJE_VALOR_GARANTIA_MENOR) / 100;
+		}
+	}
+
+	private VencimientosDia obtenerVencimientos(LocalDate dia) {
+		CalendarioLaboral calendario = CalendarUtils.obtenerCalendarioLaboral();
+		VencimientosDia actuales = vencimientos;
+		if (actuales == null || !actuales.corresponde(dia, calendario)) {
+			actuales = new VencimientosDia(dia, calendario);
+			vencimientos = actuales;
+		}
+		return actuales;
+	}
+
+	/**
+	 * Fechas de vencimiento de los dos tramos de precio para un d&iacute;a de
+	 * solicitud y un calendario laboral
+	 */
+	private static final class VencimientosDia {
+
+		private final LocalDate dia;
+		private final CalendarioLaboral calendario;
+		private final LocalDate vencimientoMayor;
+		private final LocalDate vencimientoMenor;
+
+		VencimientosDia(LocalDate dia, CalendarioLaboral calendario) {
+			this.dia = dia;
+			this.calendario = calendario;
+			this.vencimientoMayor = calendario.sumarDiasHabiles(dia, Vendedor.DIAS_VIGENCIA_GARANTIA_MAYOR);
+			this.vencimientoMenor = CalendarUtils.calcularFechaDiasCalendario(dia,
+					Vendedor.DIAS_VIGENCIA_GARANTIA_MENOR);
+		}
+
+		boolean corresponde(LocalDate diaSolicitud, CalendarioLaboral calendarioVigente) {
+			return dia.equals(diaSolicitud) && calendario == calendarioVigente;
+		}
+
+	}
+
+}
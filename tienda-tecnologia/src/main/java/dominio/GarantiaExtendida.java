@@ -1,26 +1,41 @@
 package dominio;
 
-import java.util.Date;
+import java.time.LocalDate;
 
+/**
+ * Garant&iacute;a extendida de un producto. Las fechas se guardan como
+ * d&iacute;as de &eacute;poca ({@link LocalDate#toEpochDay()}) para que las
+ * garant&iacute;as que se mantienen en memoria no necesiten un objeto por
+ * fecha; {@link #SIN_FECHA} indica que la fecha no se conoce
+ */
 public class GarantiaExtendida {
 
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+
     private Producto producto;
-    private Date fechaSolicitudGarantia;
-    private Date fechaFinGarantia;
+    private int diaSolicitudGarantia;
+    private int diaFinGarantia;
     private double precioGarantia;
     private String nombreCliente;
 
     public GarantiaExtendida(Producto producto) {
-        this.fechaSolicitudGarantia = new Date();
+        this.diaSolicitudGarantia = (int) LocalDate.now().toEpochDay();
+        this.diaFinGarantia = SIN_FECHA;
         this.producto = producto;
     }
 
-    public GarantiaExtendida(Producto producto, Date fechaSolicitudGarantia, Date fechaFinGarantia,
+    public GarantiaExtendida(Producto producto, LocalDate fechaSolicitudGarantia, LocalDate fechaFinGarantia,
+            double precioGarantia, String nombreCliente) {
+
+        this(producto, dia(fechaSolicitudGarantia), dia(fechaFinGarantia), precioGarantia, nombreCliente);
+    }
+
+    public GarantiaExtendida(Producto producto, int diaSolicitudGarantia, int diaFinGarantia,
             double precioGarantia, String nombreCliente) {
 
         this.producto = producto;
-        this.fechaSolicitudGarantia = fechaSolicitudGarantia;
-        this.fechaFinGarantia = fechaFinGarantia;
+        this.diaSolicitudGarantia = diaSolicitudGarantia;
+        this.diaFinGarantia = diaFinGarantia;
         this.precioGarantia = precioGarantia;
         this.nombreCliente = nombreCliente;
     }
@@ -29,12 +44,20 @@ public class GarantiaExtendida {
         return producto;
     }
 
-    public Date getFechaSolicitudGarantia() {
-        return fechaSolicitudGarantia;
+    public LocalDate getFechaSolicitudGarantia() {
+        return fecha(diaSolicitudGarantia);
+    }
+
+    public LocalDate getFechaFinGarantia() {
+        return fecha(diaFinGarantia);
     }
 
-    public Date getFechaFinGarantia() {
-        return fechaFinGarantia;
+    public int getDiaSolicitudGarantia() {
+        return diaSolicitudGarantia;
+    }
+
+    public int getDiaFinGarantia() {
+        return diaFinGarantia;
     }
 
     public double getPrecioGarantia() {
@@ -45,4 +68,26 @@ public class GarantiaExtendida {
         return nombreCliente;
     }
 
+    /**
+     * Permite convertir una fecha a d&iacute;a de &eacute;poca
+     *
+     * @param fecha
+     *            fecha a convertir, puede ser <tt>null</tt>
+     * @return d&iacute;a de &eacute;poca o {@link #SIN_FECHA}
+     */
+    public static int dia(LocalDate fecha) {
+        return fecha != null ? Math.toIntExact(fecha.toEpochDay()) : SIN_FECHA;
+    }
+
+    /**
+     * Permite convertir un d&iacute;a de &eacute;poca a fecha
+     *
+     * @param dia
+     *            d&iacute;a de &eacute;poca o {@link #SIN_FECHA}
+     * @return fecha, <tt>null</tt> si el d&iacute;a es {@link #SIN_FECHA}
+     */
+    public static LocalDate fecha(int dia) {
+        return dia != SIN_FECHA ? LocalDate.ofEpochDay(dia) : null;
+    }
+
 }
@@ -0,0 +1,56 @@
+package dominio;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de una garant&iacute;a necesarios para las campa&ntilde;as de
+ * renovaci&oacute;n, sin el producto completo. El id identifica la
+ * garant&iacute;a dentro de su repositorio y junto con la fecha de fin
+ * permite pedir la p&aacute;gina siguiente, ver
+ * {@link dominio.repositorio.RepositorioGarantiaExtendida#obtenerGarantiasPorVencer(LocalDate, LocalDate, GarantiaPorVencer, int)}
+ */
+public class GarantiaPorVencer {
+
+	private long id;
+	private String codigoProducto;
+	private String nombreProducto;
+	private String nombreCliente;
+	private LocalDate fechaFinGarantia;
+	private double precioGarantia;
+
+	public GarantiaPorVencer(long id, String codigoProducto, String nombreProducto, String nombreCliente,
+			LocalDate fechaFinGarantia, double precioGarantia) {
+
+		this.id = id;
+		this.codigoProducto = codigoProducto;
+		this.nombreProducto = nombreProducto;
+		this.nombreCliente = nombreCliente;
+		this.fechaFinGarantia = fechaFinGarantia;
+		this.precioGarantia = precioGarantia;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getCodigoProducto() {
+		return codigoProducto;
+	}
+
+	public String getNombreProducto() {
+		return nombreProducto;
+	}
+
+	public String getNombreCliente() {
+		return nombreCliente;
+	}
+
+	public LocalDate getFechaFinGarantia() {
+		return fechaFinGarantia;
+	}
+
+	public double getPrecioGarantia() {
+		return precioGarantia;
+	}
+
+}
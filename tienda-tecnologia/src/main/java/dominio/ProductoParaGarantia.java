@@ -0,0 +1,26 @@
+package dominio;
+
+/**
+ * Producto consultado para emitir una garant&iacute;a, junto con la
+ * indicaci&oacute;n de si ya cuenta con una garant&iacute;a extendida
+ */
+public class ProductoParaGarantia {
+
+	private Producto producto;
+	private boolean tieneGarantia;
+
+	public ProductoParaGarantia(Producto producto, boolean tieneGarantia) {
+
+		this.producto = producto;
+		this.tieneGarantia = tieneGarantia;
+	}
+
+	public Producto getProducto() {
+		return producto;
+	}
+
+	public boolean isTieneGarantia() {
+		return tieneGarantia;
+	}
+
+}
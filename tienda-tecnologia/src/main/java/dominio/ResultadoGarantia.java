@@ -0,0 +1,44 @@
+package dominio;
+
+/**
+ * Resultado de procesar una {@link SolicitudGarantia} dentro de un lote: la
+ * garant&iacute;a emitida o el motivo por el cual fue rechazada
+ */
+public class ResultadoGarantia {
+
+	private String codigo;
+	private GarantiaExtendida garantia;
+	private String motivoRechazo;
+
+	private ResultadoGarantia(String codigo, GarantiaExtendida garantia, String motivoRechazo) {
+
+		this.codigo = codigo;
+		this.garantia = garantia;
+		this.motivoRechazo = motivoRechazo;
+	}
+
+	public static ResultadoGarantia emitida(String codigo, GarantiaExtendida garantia) {
+		return new ResultadoGarantia(codigo, garantia, null);
+	}
+
+	public static ResultadoGarantia rechazada(String codigo, String motivoRechazo) {
+		return new ResultadoGarantia(codigo, null, motivoRechazo);
+	}
+
+	public String getCodigo() {
+		return codigo;
+	}
+
+	public GarantiaExtendida getGarantia() {
+		return garantia;
+	}
+
+	public String getMotivoRechazo() {
+		return motivoRechazo;
+	}
+
+	public boolean isEmitida() {
+		return garantia != null;
+	}
+
+}
@@ -1,23 +1,45 @@
 package dominio;
 
-import java.util.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import dominio.excepcion.GarantiaExtendidaException;
 import dominio.repositorio.RepositorioGarantiaExtendida;
 import dominio.repositorio.RepositorioProducto;
+import metricas.Metrica;
+import metricas.Metricas;
 import utilidades.CalendarUtils;
-import utilidades.StringUtils;
 
 public class Vendedor {
 
 	public static final String EL_PRODUCTO_TIENE_GARANTIA = "El producto ya cuenta con una garantia extendida";
 	public static final String EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA = "Este producto no cuenta con garanta extendida";
+	public static final String EL_PRODUCTO_NO_EXISTE = "El producto no existe";
 	public static final double PRECIO_LIMITE_GARANTIA = 500_000;
 	public static final int DIAS_VIGENCIA_GARANTIA_MAYOR = 200;
 	public static final int DIAS_VIGENCIA_GARANTIA_MENOR = 100;
 	public static final int PORCENTAJE_VALOR_GARANTIA_MAYOR = 20;
 	public static final int PORCENTAJE_VALOR_GARANTIA_MENOR = 10;
 
+	private static final Metrica GENERAR_GARANTIA = Metricas.obtener("vendedor.generarGarantia");
+	private static final Metrica FASE_ELEGIBILIDAD = Metricas.obtener("vendedor.generarGarantia.elegibilidad");
+	private static final Metrica FASE_CONSULTA = Metricas.obtener("vendedor.generarGarantia.consulta");
+	private static final Metrica FASE_CALCULO = Metricas.obtener("vendedor.generarGarantia.calculo");
+	private static final Metrica FASE_PERSISTENCIA = Metricas.obtener("vendedor.generarGarantia.persistencia");
+	private static final Metrica GENERAR_GARANTIAS = Metricas.obtener("vendedor.generarGarantias");
+
+	/**
+	 * Reloj con la zona horaria del sistema, resuelta una sola vez, con el que
+	 * se obtiene el d&iacute;a de la solicitud
+	 */
+	private static final Clock RELOJ = Clock.systemDefaultZone();
+
 	private RepositorioProducto repositorioProducto;
 	private RepositorioGarantiaExtendida repositorioGarantia;
 
@@ -29,25 +51,129 @@ public class Vendedor {
 		this.repositorioGarantia = repositorioGarantia;
 	}
 
-	public void generarGarantia(String codigo, String nombreCliente) {
-		if (!codigoConGarantiaExtendida(codigo)) {
-			throw new GarantiaExtendidaException(EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA);
+	/**
+	 * Permite generar la garant&iacute;a extendida de un producto. Cada fase
+	 * se mide en las {@link Metricas}: elegibilidad del c&oacute;digo,
+	 * consulta del producto y de su garant&iacute;a (una sola consulta),
+	 * c&aacute;lculo del valor y la fecha, y persistencia; el insert se
+	 * ejecuta al confirmar la unidad de trabajo
+	 * 
+	 * @param codigo
+	 *            c&oacute;digo del producto
+	 * @param nombreCliente
+	 *            nombre del cliente que solicita la garant&iacute;a
+	 * @return garant&iacute;a generada
+	 */
+	public GarantiaExtendida generarGarantia(String codigo, String nombreCliente) {
+		long inicioGeneracion = GENERAR_GARANTIA.iniciar();
+		try {
+			long inicio = FASE_ELEGIBILIDAD.iniciar();
+			boolean elegible = codigoConGarantiaExtendida(codigo);
+			FASE_ELEGIBILIDAD.registrar(inicio);
+			if (!elegible) {
+				throw new GarantiaExtendidaException(EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA);
+			}
+
+			inicio = FASE_CONSULTA.iniciar();
+			ProductoParaGarantia productoParaGarantia = repositorioGarantia.obtenerProductoParaGarantia(codigo);
+			FASE_CONSULTA.registrar(inicio);
+			if (productoParaGarantia == null) {
+				throw new GarantiaExtendidaException(EL_PRODUCTO_NO_EXISTE);
+			}
+			if (productoParaGarantia.isTieneGarantia()) {
+				throw new GarantiaExtendidaException(EL_PRODUCTO_TIENE_GARANTIA);
+			}
+
+			inicio = FASE_CALCULO.iniciar();
+			GarantiaExtendida garantiaExtendida = crearGarantia(productoParaGarantia.getProducto(), diaActual(),
+					nombreCliente);
+			FASE_CALCULO.registrar(inicio);
+
+			inicio = FASE_PERSISTENCIA.iniciar();
+			repositorioGarantia.agregar(garantiaExtendida);
+			FASE_PERSISTENCIA.registrar(inicio);
+			return garantiaExtendida;
+		} finally {
+			GENERAR_GARANTIA.registrar(inicioGeneracion);
+		}
+	}
+
+	/**
+	 * Permite generar las garant&iacute;as de un lote de solicitudes. Los
+	 * productos y las garant&iacute;as existentes se consultan una sola vez para
+	 * todo el lote; una solicitud rechazada no detiene el resto del lote
+	 * 
+	 * @param solicitudes
+	 *            c&oacute;digos de producto y clientes de las garant&iacute;as
+	 * @return un resultado por cada solicitud, en el mismo orden
+	 */
+	public List<ResultadoGarantia> generarGarantias(List<SolicitudGarantia> solicitudes) {
+		long inicio = GENERAR_GARANTIAS.iniciar();
+		try {
+			return generarGarantiasLote(solicitudes);
+		} finally {
+			GENERAR_GARANTIAS.registrar(inicio);
+		}
+	}
+
+	private List<ResultadoGarantia> generarGarantiasLote(List<SolicitudGarantia> solicitudes) {
+		Set<String> codigosElegibles = new HashSet<>();
+		for (SolicitudGarantia solicitud : solicitudes) {
+			if (codigoConGarantiaExtendida(solicitud.getCodigo())) {
+				codigosElegibles.add(solicitud.getCodigo());
+			}
+		}
+
+		Set<String> codigosConGarantia = new HashSet<>();
+		Map<String, Producto> productos = new HashMap<>();
+		if (!codigosElegibles.isEmpty()) {
+			codigosConGarantia.addAll(repositorioGarantia.obtenerCodigosConGarantia(codigosElegibles));
+			codigosElegibles.removeAll(codigosConGarantia);
+			productos = repositorioProducto.obtenerPorCodigos(codigosElegibles);
 		}
 
-		Producto productoComprobar = repositorioGarantia.obtenerProductoConGarantiaPorCodigo(codigo);
-		if (productoComprobar != null) {
-			throw new GarantiaExtendidaException(EL_PRODUCTO_TIENE_GARANTIA);
+		int diaSolicitud = diaActual();
+		List<ResultadoGarantia> resultados = new ArrayList<>(solicitudes.size());
+		List<GarantiaExtendida> garantias = new ArrayList<>();
+		for (SolicitudGarantia solicitud : solicitudes) {
+			String codigo = solicitud.getCodigo();
+			try {
+				if (!codigoConGarantiaExtendida(codigo)) {
+					throw new GarantiaExtendidaException(EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA);
+				}
+				if (codigosConGarantia.contains(codigo)) {
+					throw new GarantiaExtendidaException(EL_PRODUCTO_TIENE_GARANTIA);
+				}
+				Producto producto = productos.get(codigo);
+				if (producto == null) {
+					throw new GarantiaExtendidaException(EL_PRODUCTO_NO_EXISTE);
+				}
+
+				GarantiaExtendida garantiaExtendida = crearGarantia(producto, diaSolicitud,
+						solicitud.getNombreCliente());
+				codigosConGarantia.add(codigo);
+				garantias.add(garantiaExtendida);
+				resultados.add(ResultadoGarantia.emitida(codigo, garantiaExtendida));
+			} catch (GarantiaExtendidaException e) {
+				resultados.add(ResultadoGarantia.rechazada(codigo, e.getMessage()));
+			}
 		}
 
-		Producto producto = repositorioProducto.obtenerPorCodigo(codigo);
+		if (!garantias.isEmpty()) {
+			repositorioGarantia.agregar(garantias);
+		}
+		return resultados;
+	}
 
-		Date fechaSolicitud = new Date();
-		Date fechaVencimiento = calcularFechaVencimiento(fechaSolicitud, producto.getPrecio());
+	private GarantiaExtendida crearGarantia(Producto producto, int diaSolicitud, String nombreCliente) {
+		int diaVencimiento = calcularDiaVencimiento(diaSolicitud, producto.getPrecio());
 		double precioGarantia = calcularValorGarantia(producto.getPrecio());
 
-		GarantiaExtendida garantiaExtendida = new GarantiaExtendida(producto, fechaSolicitud, fechaVencimiento,
-				precioGarantia, nombreCliente);
-		repositorioGarantia.agregar(garantiaExtendida);
+		return new GarantiaExtendida(producto, diaSolicitud, diaVencimiento, precioGarantia, nombreCliente);
+	}
+
+	private static int diaActual() {
+		return (int) LocalDate.now(RELOJ).toEpochDay();
 	}
 
 	/**
@@ -59,8 +185,8 @@ public class Vendedor {
 	 *            valor del producto
 	 * @return
 	 */
-	public Date calcularFechaVencimiento(Date fechaInicio, double precio) {
-		Date fechaVencimiento = null;
+	public LocalDate calcularFechaVencimiento(LocalDate fechaInicio, double precio) {
+		LocalDate fechaVencimiento = null;
 		if (precio > PRECIO_LIMITE_GARANTIA) {
 			fechaVencimiento = CalendarUtils.calcularFechaDiasHabiles(fechaInicio, DIAS_VIGENCIA_GARANTIA_MAYOR);
 		} else {
@@ -69,6 +195,27 @@ public class Vendedor {
 		return fechaVencimiento;
 	}
 
+	/**
+	 * Igual a {@link #calcularFechaVencimiento(LocalDate, double)} trabajando
+	 * con d&iacute;as de &eacute;poca
+	 * 
+	 * @param diaInicio
+	 *            d&iacute;a de &eacute;poca de inicio o solicitud de la
+	 *            garant&iacute;a extendida
+	 * @param precio
+	 *            valor del producto
+	 * @return d&iacute;a de &eacute;poca de vencimiento
+	 */
+	public int calcularDiaVencimiento(int diaInicio, double precio) {
+		int diaVencimiento;
+		if (precio > PRECIO_LIMITE_GARANTIA) {
+			diaVencimiento = CalendarUtils.calcularDiaDiasHabiles(diaInicio, DIAS_VIGENCIA_GARANTIA_MAYOR);
+		} else {
+			diaVencimiento = CalendarUtils.calcularDiaDiasCalendario(diaInicio, DIAS_VIGENCIA_GARANTIA_MENOR);
+		}
+		return diaVencimiento;
+	}
+
 	/**
 	 * Permite calcular el valor de la garantia extendida
 	 * 
@@ -95,10 +242,33 @@ public class Vendedor {
 	 * @return <tt>true<tt> si al c&oacute;digo se le puede aplicar garantia
 	 */
 	public boolean codigoConGarantiaExtendida(String codigo) {
-		if (codigo == null) {
-			return Boolean.FALSE;
-		}
-		return StringUtils.contarVocales(codigo) != 3;
+		return ClasificadorGarantia.aplicaGarantia(codigo);
+	}
+
+	/**
+	 * Permite verificar en una sola pasada cu&aacute;les c&oacute;digos
+	 * cumplen con las caracteristicas de garant&iacute;a extendida
+	 * 
+	 * @param codigos
+	 *            c&oacute;digos de producto
+	 * @return arreglo con <tt>true<tt> en las posiciones cuyo c&oacute;digo
+	 *         puede tener garantia
+	 */
+	public boolean[] codigosConGarantiaExtendida(String[] codigos) {
+		return ClasificadorGarantia.clasificar(codigos);
+	}
+
+	/**
+	 * Permite verificar en una sola pasada cu&aacute;les c&oacute;digos
+	 * cumplen con las caracteristicas de garant&iacute;a extendida
+	 * 
+	 * @param codigos
+	 *            c&oacute;digos de producto
+	 * @return arreglo con <tt>true<tt> en las posiciones cuyo c&oacute;digo
+	 *         puede tener garantia
+	 */
+	public boolean[] codigosConGarantiaExtendida(List<String> codigos) {
+		return ClasificadorGarantia.clasificar(codigos);
 	}
 
 	/**
@@ -1,7 +1,15 @@
 package dominio.repositorio;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import dominio.Producto;
+import dominio.ProductoParaGarantia;
 import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
 
 public interface RepositorioGarantiaExtendida {
 
@@ -11,17 +19,63 @@ public interface RepositorioGarantiaExtendida {
 	 * @return
 	 */
 	Producto obtenerProductoConGarantiaPorCodigo(String codigo);
+
+	/**
+	 * Permite obtener en una sola consulta un producto y si ya tiene garantia
+	 * extendida
+	 * @param codigo
+	 * @return producto con la indicacion de garantia, null si el producto no
+	 *         existe
+	 */
+	ProductoParaGarantia obtenerProductoParaGarantia(String codigo);
+
+	/**
+	 * Permite obtener en una sola consulta cuales codigos de un grupo ya tienen
+	 * garantia extendida
+	 * @param codigos
+	 * @return codigos con garantia
+	 */
+	Set<String> obtenerCodigosConGarantia(Collection<String> codigos);
 	
 	/**
 	 * Permite agregar una garantia al repositorio de garantia
 	 * @param garantia
 	 */
 	void agregar(GarantiaExtendida garantia);
+
+	/**
+	 * Permite agregar un lote de garantias al repositorio de garantia
+	 * @param garantias
+	 */
+	void agregar(List<GarantiaExtendida> garantias);
 	
 	/**
 	 * Permite obtener una garantia extendida por el codigo del producto
 	 * @param codigo
+	 * @return garantia del producto, null si no tiene
 	 */
 	GarantiaExtendida obtener(String codigo);
 
+	/**
+	 * Permite recorrer todas las garantias sin cargarlas a la vez en memoria;
+	 * cada garantia se entrega al consumidor a medida que se lee
+	 * @param consumidor
+	 */
+	void recorrer(Consumer<GarantiaExtendida> consumidor);
+
+	/**
+	 * Permite obtener, ordenadas por fecha de fin e id, las garantias cuya
+	 * fecha de fin esta entre desde (incluida) y hasta (excluida). Se pagina
+	 * por llave: la pagina siguiente se pide con la ultima garantia de la
+	 * anterior, por lo que todas las paginas cuestan lo mismo
+	 * @param desde
+	 * @param hasta
+	 * @param anterior ultima garantia de la pagina anterior, null para la
+	 *        primera pagina
+	 * @param limite maximo de garantias de la pagina
+	 * @return garantias de la pagina, vacia si no hay mas
+	 */
+	List<GarantiaPorVencer> obtenerGarantiasPorVencer(LocalDate desde, LocalDate hasta, GarantiaPorVencer anterior,
+			int limite);
+
 }
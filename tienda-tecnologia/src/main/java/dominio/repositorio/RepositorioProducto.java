@@ -1,5 +1,9 @@
 package dominio.repositorio;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import dominio.Producto;
 
 public interface RepositorioProducto {
@@ -11,10 +15,23 @@ public interface RepositorioProducto {
 	 */
 	Producto obtenerPorCodigo(String codigo);
 
+	/**
+	 * Permite obtener en una sola consulta los productos de un grupo de codigos
+	 * @param codigos
+	 * @return productos encontrados indexados por codigo
+	 */
+	Map<String, Producto> obtenerPorCodigos(Collection<String> codigos);
+
 	/**
 	 * Permite agregar un producto al repositorio
 	 * @param producto
 	 */
 	void agregar(Producto producto);
 
+	/**
+	 * Permite agregar un lote de productos al repositorio
+	 * @param productos
+	 */
+	void agregar(List<Producto> productos);
+
 }
\ No newline at end of file
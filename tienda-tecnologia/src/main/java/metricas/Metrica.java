@@ -0,0 +1,90 @@
+package metricas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencias de una operaci&oacute;n. Las mediciones se registran sin
+ * candados en un {@link Recorder} de HdrHistogram y se acumulan en un
+ * histograma al consultar el resumen.
+ *
+ * Uso:
+ * 
+ * <pre>
+ * long inicio = metrica.iniciar();
+ * ...
+ * metrica.registrar(inicio);
+ * </pre>
+ * 
+ * Si las m&eacute;tricas est&aacute;n deshabilitadas {@link #iniciar()}
+ * devuelve 0 y {@link #registrar(long)} no hace nada
+ */
+public class Metrica {
+
+	/**
+	 * Latencia m&aacute;xima que se puede registrar, las mayores se truncan
+	 */
+	private static final long LATENCIA_MAXIMA_NANOS = TimeUnit.MINUTES.toNanos(1);
+	private static final int DIGITOS_SIGNIFICATIVOS = 2;
+
+	private final String nombre;
+	private final Recorder recorder = new Recorder(LATENCIA_MAXIMA_NANOS, DIGITOS_SIGNIFICATIVOS);
+	private final Histogram acumulado = new Histogram(LATENCIA_MAXIMA_NANOS, DIGITOS_SIGNIFICATIVOS);
+	private Histogram intervalo;
+
+	Metrica(String nombre) {
+		this.nombre = nombre;
+	}
+
+	/**
+	 * @return instante de inicio de la medici&oacute;n, 0 si las
+	 *         m&eacute;tricas est&aacute;n deshabilitadas
+	 */
+	public long iniciar() {
+		return Metricas.isHabilitadas() ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Registra la latencia transcurrida desde el inicio indicado
+	 * 
+	 * @param inicio
+	 *            valor devuelto por {@link #iniciar()}
+	 */
+	public void registrar(long inicio) {
+		if (inicio != 0L) {
+			registrarNanos(System.nanoTime() - inicio);
+		}
+	}
+
+	/**
+	 * Registra una latencia medida por fuera de la m&eacute;trica
+	 * 
+	 * @param nanos
+	 *            latencia en nanosegundos
+	 */
+	public void registrarNanos(long nanos) {
+		recorder.recordValue(Math.min(Math.max(nanos, 0L), LATENCIA_MAXIMA_NANOS));
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	/**
+	 * @return resumen de todas las mediciones desde el inicio o el
+	 *         &uacute;ltimo reinicio
+	 */
+	public synchronized ResumenMetrica resumir() {
+		intervalo = recorder.getIntervalHistogram(intervalo);
+		acumulado.add(intervalo);
+		return new ResumenMetrica(nombre, acumulado);
+	}
+
+	synchronized void reiniciar() {
+		intervalo = recorder.getIntervalHistogram(intervalo);
+		acumulado.reset();
+	}
+
+}
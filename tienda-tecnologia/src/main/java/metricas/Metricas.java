@@ -0,0 +1,73 @@
+package metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registro global de las m&eacute;tricas de latencia de la aplicaci&oacute;n.
+ * Las clases obtienen sus m&eacute;tricas una sola vez, normalmente en
+ * constantes, y las usan en cada operaci&oacute;n; mientras las
+ * m&eacute;tricas est&aacute;n deshabilitadas medir cuesta una lectura de un
+ * campo <tt>volatile</tt>
+ * 
+ * @author Elmer Urrea
+ * @since 18/10/2026
+ */
+public class Metricas {
+
+	private static final ConcurrentMap<String, Metrica> METRICAS = new ConcurrentHashMap<>();
+	private static volatile boolean habilitadas;
+
+	private Metricas() {
+		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
+	}
+
+	/**
+	 * Permite obtener la m&eacute;trica con el nombre indicado, cre&aacute;ndola
+	 * si no existe
+	 * 
+	 * @param nombre
+	 *            nombre de la m&eacute;trica, por ejemplo
+	 *            <tt>vendedor.generarGarantia</tt>
+	 * @return m&eacute;trica
+	 */
+	public static Metrica obtener(String nombre) {
+		return METRICAS.computeIfAbsent(nombre, Metrica::new);
+	}
+
+	public static boolean isHabilitadas() {
+		return habilitadas;
+	}
+
+	public static void setHabilitadas(boolean habilitadas) {
+		Metricas.habilitadas = habilitadas;
+	}
+
+	/**
+	 * @return resumen de las m&eacute;tricas que tienen mediciones, ordenado
+	 *         por nombre
+	 */
+	public static List<ResumenMetrica> resumir() {
+		List<ResumenMetrica> resumenes = new ArrayList<>();
+		for (Metrica metrica : METRICAS.values()) {
+			ResumenMetrica resumen = metrica.resumir();
+			if (resumen.getConteo() > 0) {
+				resumenes.add(resumen);
+			}
+		}
+		resumenes.sort((primero, segundo) -> primero.getNombre().compareTo(segundo.getNombre()));
+		return resumenes;
+	}
+
+	/**
+	 * Descarta las mediciones de todas las m&eacute;tricas
+	 */
+	public static void reiniciar() {
+		for (Metrica metrica : METRICAS.values()) {
+			metrica.reiniciar();
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package metricas;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Conteo y percentiles de latencia de una {@link Metrica}, en nanosegundos
+ */
+public class ResumenMetrica {
+
+	private String nombre;
+	private long conteo;
+	private double media;
+	private long percentil50;
+	private long percentil90;
+	private long percentil99;
+	private long percentil999;
+	private long maximo;
+
+	ResumenMetrica(String nombre, Histogram histograma) {
+
+		this.nombre = nombre;
+		this.conteo = histograma.getTotalCount();
+		this.media = histograma.getMean();
+		this.percentil50 = histograma.getValueAtPercentile(50);
+		this.percentil90 = histograma.getValueAtPercentile(90);
+		this.percentil99 = histograma.getValueAtPercentile(99);
+		this.percentil999 = histograma.getValueAtPercentile(99.9);
+		this.maximo = histograma.getMaxValue();
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public long getConteo() {
+		return conteo;
+	}
+
+	public double getMedia() {
+		return media;
+	}
+
+	public long getPercentil50() {
+		return percentil50;
+	}
+
+	public long getPercentil90() {
+		return percentil90;
+	}
+
+	public long getPercentil99() {
+		return percentil99;
+	}
+
+	public long getPercentil999() {
+		return percentil999;
+	}
+
+	public long getMaximo() {
+		return maximo;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s conteo=%d media=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus", nombre,
+				conteo, media / 1_000, percentil50 / 1_000.0, percentil99 / 1_000.0, percentil999 / 1_000.0,
+				maximo / 1_000.0);
+	}
+
+}
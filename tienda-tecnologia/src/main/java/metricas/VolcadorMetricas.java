@@ -0,0 +1,100 @@
+package metricas;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import utilidades.ConcurrenciaUtils;
+
+/**
+ * Escribe peri&oacute;dicamente el resumen de las m&eacute;tricas en un
+ * archivo CSV. Cada volcado agrega una l&iacute;nea por m&eacute;trica con
+ * el conteo acumulado, las operaciones por segundo desde el volcado anterior
+ * y los percentiles de latencia en microsegundos
+ */
+public class VolcadorMetricas {
+
+	private static final Logger LOGGER = Logger.getLogger(VolcadorMetricas.class);
+	private static final String ENCABEZADO = "fecha,metrica,conteo,porSegundo,mediaUs,p50Us,p90Us,p99Us,p999Us,maximoUs\n";
+	private static final String FORMATO_LINEA = "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n";
+
+	private final Path archivo;
+	private final ScheduledExecutorService programador;
+	private final Map<String, Long> conteosAnteriores = new HashMap<>();
+	private long volcadoAnterior = System.nanoTime();
+
+	/**
+	 * @param archivo
+	 *            archivo CSV en el que se agregan los volcados
+	 * @param intervaloSegundos
+	 *            segundos entre volcados
+	 */
+	public VolcadorMetricas(Path archivo, long intervaloSegundos) {
+		this.archivo = archivo;
+		this.programador = Executors
+				.newSingleThreadScheduledExecutor(ConcurrenciaUtils.crearFabricaHilos("volcador-metricas"));
+		programador.scheduleAtFixedRate(this::volcarSinError, intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Escribe el resumen actual de las m&eacute;tricas
+	 * 
+	 * @throws IOException
+	 *             si no se puede escribir el archivo
+	 */
+	public synchronized void volcar() throws IOException {
+		long ahora = System.nanoTime();
+		double segundos = (ahora - volcadoAnterior) / (double) TimeUnit.SECONDS.toNanos(1);
+		volcadoAnterior = ahora;
+		String fecha = LocalDateTime.now().toString();
+
+		boolean nuevo = !Files.exists(archivo);
+		try (Writer escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND)) {
+			if (nuevo) {
+				escritor.write(ENCABEZADO);
+			}
+			for (ResumenMetrica resumen : Metricas.resumir()) {
+				Long conteoAnterior = conteosAnteriores.put(resumen.getNombre(), resumen.getConteo());
+				long conteoIntervalo = resumen.getConteo() - (conteoAnterior != null ? conteoAnterior : 0L);
+				if (conteoIntervalo < 0) {
+					conteoIntervalo = resumen.getConteo();
+				}
+				escritor.write(String.format(Locale.ROOT, FORMATO_LINEA, fecha, resumen.getNombre(),
+						resumen.getConteo(), conteoIntervalo / segundos, resumen.getMedia() / 1_000,
+						resumen.getPercentil50() / 1_000.0, resumen.getPercentil90() / 1_000.0,
+						resumen.getPercentil99() / 1_000.0, resumen.getPercentil999() / 1_000.0,
+						resumen.getMaximo() / 1_000.0));
+			}
+		}
+	}
+
+	/**
+	 * Detiene los volcados peri&oacute;dicos y escribe un &uacute;ltimo volcado
+	 */
+	public void cerrar() {
+		programador.shutdownNow();
+		volcarSinError();
+	}
+
+	private void volcarSinError() {
+		try {
+			volcar();
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("No fue posible volcar las metricas en " + archivo, e);
+		}
+	}
+
+}
@@ -1,5 +1,8 @@
 package persistencia.conexion;
 
+import java.util.Collections;
+import java.util.Map;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -7,13 +10,39 @@ import javax.persistence.Persistence;
 public class ConexionJPA {
 	
 	private static final String TIENDA = "tienda";
-	private static EntityManagerFactory entityManagerFactory;
+	private static final String ESQUEMA_RECREAR = "tienda.esquema.recrear";
+	private static final String TAMANO_ASIGNACION = "tamanoAsignacion";
+
+	private final EntityManagerFactory entityManagerFactory;
 
 	public ConexionJPA() {
-		entityManagerFactory = Persistence.createEntityManagerFactory(TIENDA);
+		this(Collections.<String, Object>emptyMap());
+	}
+
+	/**
+	 * Crea la unidad de persistencia y aplica las migraciones pendientes del
+	 * esquema
+	 * 
+	 * @param propiedades
+	 *            propiedades que sobrescriben las de persistence.xml
+	 */
+	public ConexionJPA(Map<String, Object> propiedades) {
+		entityManagerFactory = Persistence.createEntityManagerFactory(TIENDA, propiedades);
+		boolean recrear = Boolean.parseBoolean(String.valueOf(entityManagerFactory.getProperties().get(ESQUEMA_RECREAR)));
+		int tamanoAsignacion = GeneradorSecuencia.obtenerTamanoAsignacion(entityManagerFactory.getProperties());
+		new MigradorEsquema(recrear, Collections.singletonMap(TAMANO_ASIGNACION, String.valueOf(tamanoAsignacion)))
+				.migrar(entityManagerFactory);
 	}
 	
 	public EntityManager createEntityManager() {
 		return entityManagerFactory.createEntityManager();
 	}
+
+	public EntityManagerFactory getEntityManagerFactory() {
+		return entityManagerFactory;
+	}
+
+	public void cerrar() {
+		entityManagerFactory.close();
+	}
 }
@@ -0,0 +1,53 @@
+package persistencia.conexion;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generador de ids por secuencia con optimizador <tt>pooled</tt>: cada
+ * llamada a la secuencia reserva un bloque de ids, de modo que los inserts no
+ * necesitan ir a la base de datos por cada id y pueden enviarse en lotes JDBC.
+ *
+ * El tama&ntilde;o del bloque se toma de la propiedad
+ * {@value #TAMANO_ASIGNACION} de la unidad de persistencia y debe coincidir
+ * con el incremento de la secuencia en la base de datos, el cual fija
+ * {@link MigradorEsquema} con el mismo valor
+ */
+public class GeneradorSecuencia extends SequenceStyleGenerator {
+
+	public static final String TAMANO_ASIGNACION = "tienda.secuencia.tamanoAsignacion";
+	public static final int TAMANO_ASIGNACION_POR_DEFECTO = 50;
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		params.setProperty(INCREMENT_PARAM, String.valueOf(obtenerTamanoAsignacion(serviceRegistry)));
+		params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+		super.configure(type, params, serviceRegistry);
+	}
+
+	/**
+	 * Permite obtener el tama&ntilde;o de asignaci&oacute;n de las
+	 * propiedades de la unidad de persistencia
+	 * 
+	 * @param propiedades
+	 *            propiedades de la unidad de persistencia
+	 * @return tama&ntilde;o de asignaci&oacute;n configurado o
+	 *         {@value #TAMANO_ASIGNACION_POR_DEFECTO}
+	 */
+	public static int obtenerTamanoAsignacion(Map<?, ?> propiedades) {
+		Object valor = propiedades.get(TAMANO_ASIGNACION);
+		return valor != null ? Integer.parseInt(valor.toString().trim()) : TAMANO_ASIGNACION_POR_DEFECTO;
+	}
+
+	private static int obtenerTamanoAsignacion(ServiceRegistry serviceRegistry) {
+		return obtenerTamanoAsignacion(serviceRegistry.getService(ConfigurationService.class).getSettings());
+	}
+
+}
@@ -0,0 +1,211 @@
+package persistencia.conexion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+
+/**
+ * Aplica al iniciar los scripts DDL versionados de
+ * <tt>db/migracion</tt>. Los scripts se listan en orden en
+ * <tt>db/migracion/migraciones.txt</tt>, su nombre tiene la forma
+ * <tt>V&lt;version&gt;__&lt;descripcion&gt;.sql</tt> y cada uno se aplica una
+ * sola vez, registr&aacute;ndolo en la tabla <tt>VERSION_ESQUEMA</tt>.
+ *
+ * Los scripts pueden usar variables de la forma <tt>${nombre}</tt>, que se
+ * reemplazan por los valores entregados al migrador
+ */
+public class MigradorEsquema {
+
+	private static final Logger LOGGER = Logger.getLogger(MigradorEsquema.class);
+
+	private static final String DIRECTORIO_MIGRACIONES = "db/migracion/";
+	private static final String INDICE_MIGRACIONES = DIRECTORIO_MIGRACIONES + "migraciones.txt";
+	private static final String CREAR_TABLA_VERSION = "create table if not exists VERSION_ESQUEMA "
+			+ "(version int not null, script varchar(255) not null, fechaAplicacion timestamp not null, primary key (version))";
+	private static final String CONSULTAR_VERSION = "select max(version) from VERSION_ESQUEMA";
+	private static final String REGISTRAR_VERSION = "insert into VERSION_ESQUEMA (version, script, fechaAplicacion) values (?, ?, current_timestamp)";
+	private static final String ELIMINAR_ESQUEMA = "drop all objects";
+	private static final Pattern VARIABLE = Pattern.compile("\\$\\{([\\w.]+)\\}");
+
+	private final boolean recrear;
+	private final Map<String, String> variables;
+
+	/**
+	 * @param recrear
+	 *            <tt>true</tt> si se debe eliminar el esquema existente antes
+	 *            de aplicar las migraciones, &uacute;til para bases de datos en
+	 *            memoria de desarrollo y pruebas
+	 */
+	public MigradorEsquema(boolean recrear) {
+		this(recrear, Collections.<String, String>emptyMap());
+	}
+
+	/**
+	 * @param recrear
+	 *            ver {@link #MigradorEsquema(boolean)}
+	 * @param variables
+	 *            valores de las variables <tt>${nombre}</tt> de los scripts
+	 */
+	public MigradorEsquema(boolean recrear, Map<String, String> variables) {
+		this.recrear = recrear;
+		this.variables = variables;
+	}
+
+	/**
+	 * Permite aplicar las migraciones pendientes a la base de datos de la
+	 * unidad de persistencia
+	 * 
+	 * @param entityManagerFactory
+	 *            unidad de persistencia
+	 */
+	public void migrar(EntityManagerFactory entityManagerFactory) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			entityManager.unwrap(Session.class).doWork(this::migrar);
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	/**
+	 * Permite aplicar las migraciones pendientes usando una conexi&oacute;n
+	 * JDBC
+	 * 
+	 * @param conexion
+	 *            conexi&oacute;n a la base de datos
+	 * @throws SQLException
+	 *             si falla alguna sentencia
+	 */
+	public void migrar(Connection conexion) throws SQLException {
+		boolean autoCommit = conexion.getAutoCommit();
+		conexion.setAutoCommit(false);
+		try (Statement sentencia = conexion.createStatement()) {
+			if (recrear) {
+				sentencia.execute(ELIMINAR_ESQUEMA);
+			}
+			sentencia.execute(CREAR_TABLA_VERSION);
+			conexion.commit();
+
+			int versionActual = consultarVersion(conexion);
+			for (String script : leerLineas(INDICE_MIGRACIONES)) {
+				int version = obtenerVersion(script);
+				if (version > versionActual) {
+					aplicar(conexion, script, version);
+					versionActual = version;
+				}
+			}
+		} catch (SQLException | RuntimeException e) {
+			conexion.rollback();
+			throw e;
+		} finally {
+			conexion.setAutoCommit(autoCommit);
+		}
+	}
+
+	private void aplicar(Connection conexion, String script, int version) throws SQLException {
+		LOGGER.info("Aplicando migracion " + script);
+		try (Statement sentencia = conexion.createStatement()) {
+			for (String sql : leerSentencias(DIRECTORIO_MIGRACIONES + script)) {
+				sentencia.execute(reemplazarVariables(sql));
+			}
+		}
+		try (PreparedStatement registro = conexion.prepareStatement(REGISTRAR_VERSION)) {
+			registro.setInt(1, version);
+			registro.setString(2, script);
+			registro.executeUpdate();
+		}
+		conexion.commit();
+	}
+
+	private String reemplazarVariables(String sql) {
+		Matcher variable = VARIABLE.matcher(sql);
+		StringBuffer resultado = new StringBuffer();
+		while (variable.find()) {
+			String valor = variables.get(variable.group(1));
+			if (valor == null) {
+				throw new IllegalStateException("Variable de migracion no definida: " + variable.group(1));
+			}
+			variable.appendReplacement(resultado, Matcher.quoteReplacement(valor));
+		}
+		variable.appendTail(resultado);
+		return resultado.toString();
+	}
+
+	private static int consultarVersion(Connection conexion) throws SQLException {
+		try (Statement sentencia = conexion.createStatement();
+				ResultSet resultado = sentencia.executeQuery(CONSULTAR_VERSION)) {
+			return resultado.next() ? resultado.getInt(1) : 0;
+		}
+	}
+
+	private static int obtenerVersion(String script) {
+		int separador = script.indexOf("__");
+		if (!script.startsWith("V") || separador < 0) {
+			throw new IllegalStateException("Nombre de migracion invalido: " + script);
+		}
+		return Integer.parseInt(script.substring(1, separador));
+	}
+
+	/**
+	 * Separa un script en sentencias terminadas en punto y coma
+	 */
+	private static List<String> leerSentencias(String recurso) {
+		List<String> sentencias = new ArrayList<>();
+		StringBuilder sentencia = new StringBuilder();
+		for (String linea : leerLineas(recurso)) {
+			sentencia.append(linea).append('\n');
+			if (linea.endsWith(";")) {
+				sentencias.add(sentencia.substring(0, sentencia.lastIndexOf(";")));
+				sentencia.setLength(0);
+			}
+		}
+		if (sentencia.toString().trim().length() > 0) {
+			sentencias.add(sentencia.toString());
+		}
+		return sentencias;
+	}
+
+	/**
+	 * Lee las l&iacute;neas no vac&iacute;as de un recurso del classpath,
+	 * omitiendo los comentarios <tt>--</tt>
+	 */
+	private static List<String> leerLineas(String recurso) {
+		InputStream entrada = MigradorEsquema.class.getClassLoader().getResourceAsStream(recurso);
+		if (entrada == null) {
+			throw new IllegalStateException("No se encontro el recurso " + recurso);
+		}
+		List<String> lineas = new ArrayList<>();
+		try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+			String linea;
+			while ((linea = lector.readLine()) != null) {
+				linea = linea.trim();
+				if (!linea.isEmpty() && !linea.startsWith("--")) {
+					lineas.add(linea);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("No fue posible leer el recurso " + recurso, e);
+		}
+		return lineas;
+	}
+
+}
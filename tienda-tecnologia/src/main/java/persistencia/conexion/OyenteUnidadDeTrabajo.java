@@ -0,0 +1,21 @@
+package persistencia.conexion;
+
+/**
+ * Recibe el resultado de la unidad de trabajo en la que se registr&oacute;,
+ * ver {@link ProveedorEntityManager#registrarOyente(OyenteUnidadDeTrabajo)}.
+ * Se invoca en el hilo de la unidad de trabajo, despu&eacute;s de cerrarla
+ */
+public interface OyenteUnidadDeTrabajo {
+
+	/**
+	 * La unidad de trabajo se confirm&oacute;: sus cambios ya son visibles
+	 * para las dem&aacute;s unidades de trabajo
+	 */
+	void confirmada();
+
+	/**
+	 * La unidad de trabajo se deshizo o su commit fall&oacute;
+	 */
+	void descartada();
+
+}
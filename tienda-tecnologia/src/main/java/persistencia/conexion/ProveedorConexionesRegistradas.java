@@ -0,0 +1,126 @@
+package persistencia.conexion;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+/**
+ * Proveedor de conexiones de Hibernate que registra las sentencias lentas en
+ * lugar de imprimir todas con <tt>hibernate.show_sql</tt>. Cada sentencia que
+ * supera <tt>tienda.sql.umbralLentaMs</tt> se registra con sus
+ * par&aacute;metros y el m&eacute;todo del repositorio que la ejecut&oacute;,
+ * y adem&aacute;s se registra la fracci&oacute;n <tt>tienda.sql.muestreo</tt>
+ * de las dem&aacute;s. La escritura la hace {@link RegistroSentencias} en su
+ * propio hilo con un buffer de <tt>tienda.sql.capacidadRegistro</tt>
+ * sentencias
+ */
+public class ProveedorConexionesRegistradas extends DriverManagerConnectionProviderImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String UMBRAL_LENTA_MS = "tienda.sql.umbralLentaMs";
+	public static final String MUESTREO = "tienda.sql.muestreo";
+	public static final String CAPACIDAD_REGISTRO = "tienda.sql.capacidadRegistro";
+
+	static final long UMBRAL_LENTA_MS_POR_DEFECTO = 200;
+	static final int CAPACIDAD_REGISTRO_POR_DEFECTO = 1024;
+
+	private long umbralNanos;
+	private double muestreo;
+	private RegistroSentencias registro;
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public void configure(Map configuracion) {
+		super.configure(configuracion);
+		Map<?, ?> propiedades = configuracion;
+		umbralNanos = TimeUnit.MILLISECONDS
+				.toNanos(obtenerNumero(propiedades, UMBRAL_LENTA_MS, UMBRAL_LENTA_MS_POR_DEFECTO));
+		Object valorMuestreo = propiedades.get(MUESTREO);
+		muestreo = valorMuestreo != null ? Double.parseDouble(valorMuestreo.toString().trim()) : 0;
+		if (muestreo < 0 || muestreo > 1) {
+			throw new IllegalArgumentException(MUESTREO + " debe estar entre 0 y 1: " + muestreo);
+		}
+		registro = new RegistroSentencias(
+				(int) obtenerNumero(propiedades, CAPACIDAD_REGISTRO, CAPACIDAD_REGISTRO_POR_DEFECTO));
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Connection conexion = super.getConnection();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new ConexionRegistrada(conexion));
+	}
+
+	@Override
+	public void closeConnection(Connection conexion) throws SQLException {
+		if (Proxy.isProxyClass(conexion.getClass())
+				&& Proxy.getInvocationHandler(conexion) instanceof ConexionRegistrada) {
+			conexion = ((ConexionRegistrada) Proxy.getInvocationHandler(conexion)).conexion;
+		}
+		super.closeConnection(conexion);
+	}
+
+	@Override
+	public void stop() {
+		try {
+			super.stop();
+		} finally {
+			if (registro != null) {
+				registro.cerrar();
+			}
+		}
+	}
+
+	public RegistroSentencias getRegistro() {
+		return registro;
+	}
+
+	private static long obtenerNumero(Map<?, ?> configuracion, String clave, long valorPorDefecto) {
+		Object valor = configuracion.get(clave);
+		return valor != null ? Long.parseLong(valor.toString().trim()) : valorPorDefecto;
+	}
+
+	/**
+	 * Envuelve las sentencias que crea la conexi&oacute;n en una
+	 * {@link SentenciaRegistrada}
+	 */
+	private final class ConexionRegistrada implements InvocationHandler {
+
+		private final Connection conexion;
+
+		private ConexionRegistrada(Connection conexion) {
+			this.conexion = conexion;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+			Object resultado;
+			try {
+				resultado = metodo.invoke(conexion, argumentos);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+
+			if (resultado instanceof Statement) {
+				String nombre = metodo.getName();
+				String sql = "prepareStatement".equals(nombre) || "prepareCall".equals(nombre)
+						? (String) argumentos[0]
+						: null;
+				resultado = Proxy.newProxyInstance(Statement.class.getClassLoader(),
+						new Class<?>[] { metodo.getReturnType() },
+						new SentenciaRegistrada((Statement) resultado, sql, registro, umbralNanos, muestreo));
+			}
+			return resultado;
+		}
+	}
+
+}
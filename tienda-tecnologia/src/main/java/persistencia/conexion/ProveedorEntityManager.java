@@ -0,0 +1,20 @@
+package persistencia.conexion;
+
+import javax.persistence.EntityManager;
+
+public interface ProveedorEntityManager {
+
+	/**
+	 * Permite obtener el entity manager de la unidad de trabajo actual
+	 * @return
+	 */
+	EntityManager obtenerEntityManager();
+
+	/**
+	 * Permite registrar un oyente que se notifica cuando la unidad de trabajo
+	 * actual se confirma o se deshace
+	 * @param oyente
+	 */
+	void registrarOyente(OyenteUnidadDeTrabajo oyente);
+
+}
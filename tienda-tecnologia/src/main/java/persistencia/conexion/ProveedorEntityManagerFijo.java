@@ -0,0 +1,50 @@
+package persistencia.conexion;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.hibernate.Session;
+
+/**
+ * Proveedor de un entity manager cuya transacci&oacute;n administra quien lo
+ * cre&oacute;. Los oyentes se registran en la transacci&oacute;n activa de
+ * Hibernate y se notifican cuando termina
+ */
+public class ProveedorEntityManagerFijo implements ProveedorEntityManager {
+
+	private final EntityManager entityManager;
+
+	public ProveedorEntityManagerFijo(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public EntityManager obtenerEntityManager() {
+		return entityManager;
+	}
+
+	@Override
+	public void registrarOyente(OyenteUnidadDeTrabajo oyente) {
+		if (!entityManager.getTransaction().isActive()) {
+			throw new IllegalStateException("El entity manager no tiene una transaccion activa");
+		}
+		entityManager.unwrap(Session.class).getTransaction().registerSynchronization(new Synchronization() {
+
+			@Override
+			public void beforeCompletion() {
+				// los oyentes solo reciben el resultado
+			}
+
+			@Override
+			public void afterCompletion(int estado) {
+				if (estado == Status.STATUS_COMMITTED) {
+					oyente.confirmada();
+				} else {
+					oyente.descartada();
+				}
+			}
+		});
+	}
+
+}
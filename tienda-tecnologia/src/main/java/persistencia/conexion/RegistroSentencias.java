@@ -0,0 +1,108 @@
+package persistencia.conexion;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.log4j.Logger;
+
+import utilidades.ConcurrenciaUtils;
+
+/**
+ * Escribe en el log las sentencias SQL desde un hilo propio. Las sentencias
+ * se encolan en un buffer de capacidad fija; si el buffer est&aacute; lleno
+ * la sentencia se descarta y se cuenta, de modo que el registro nunca bloquea
+ * el hilo de la transacci&oacute;n. Las sentencias lentas se escriben con
+ * nivel WARN y las muestreadas con nivel INFO
+ */
+public class RegistroSentencias {
+
+	private static final Logger LOGGER = Logger.getLogger(RegistroSentencias.class);
+	private static final long ESPERA_MILISEGUNDOS = 100;
+	private static final long ESPERA_CIERRE_SEGUNDOS = 5;
+
+	private final BlockingQueue<SentenciaEjecutada> pendientes;
+	private final LongAdder descartadas = new LongAdder();
+	private final Thread escritor;
+	private volatile boolean activo = true;
+	private long descartadasReportadas;
+
+	/**
+	 * @param capacidad
+	 *            n&uacute;mero m&aacute;ximo de sentencias pendientes por
+	 *            escribir
+	 */
+	public RegistroSentencias(int capacidad) {
+		this.pendientes = new ArrayBlockingQueue<>(capacidad);
+		this.escritor = ConcurrenciaUtils.crearFabricaHilos("registro-sentencias").newThread(this::escribir);
+		escritor.start();
+	}
+
+	/**
+	 * Encola una sentencia para escribirla, sin esperar
+	 *
+	 * @param sentencia
+	 *            sentencia ejecutada
+	 * @return <tt>false</tt> si el buffer est&aacute; lleno y la sentencia se
+	 *         descart&oacute;
+	 */
+	public boolean registrar(SentenciaEjecutada sentencia) {
+		boolean encolada = pendientes.offer(sentencia);
+		if (!encolada) {
+			descartadas.increment();
+		}
+		return encolada;
+	}
+
+	public long getDescartadas() {
+		return descartadas.sum();
+	}
+
+	/**
+	 * Escribe las sentencias pendientes y detiene el hilo del registro
+	 */
+	public void cerrar() {
+		activo = false;
+		try {
+			escritor.join(TimeUnit.SECONDS.toMillis(ESPERA_CIERRE_SEGUNDOS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void escribir() {
+		while (activo || !pendientes.isEmpty()) {
+			try {
+				SentenciaEjecutada sentencia = pendientes.poll(ESPERA_MILISEGUNDOS, TimeUnit.MILLISECONDS);
+				if (sentencia != null) {
+					escribir(sentencia);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				LOGGER.error("No fue posible escribir la sentencia en el registro", e);
+			}
+			reportarDescartadas();
+		}
+	}
+
+	private void escribir(SentenciaEjecutada sentencia) {
+		if (sentencia.isLenta()) {
+			LOGGER.warn(sentencia.formatear());
+		} else if (LOGGER.isInfoEnabled()) {
+			LOGGER.info(sentencia.formatear());
+		}
+	}
+
+	private void reportarDescartadas() {
+		long total = descartadas.sum();
+		if (total != descartadasReportadas) {
+			LOGGER.warn("Se descartaron " + (total - descartadasReportadas)
+					+ " sentencias porque el buffer del registro estaba lleno");
+			descartadasReportadas = total;
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package persistencia.conexion;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sentencia SQL ejecutada que se debe escribir en el registro de sentencias,
+ * con sus par&aacute;metros, su duraci&oacute;n y el m&eacute;todo del
+ * repositorio que la ejecut&oacute;
+ */
+public class SentenciaEjecutada {
+
+	private final String sql;
+	private final List<Object> parametros;
+	private final int filasLote;
+	private final long duracionNanos;
+	private final boolean lenta;
+	private final String metodo;
+
+	/**
+	 * @param sql
+	 *            sentencia ejecutada
+	 * @param parametros
+	 *            valores de los par&aacute;metros en orden, del &uacute;ltimo
+	 *            registro si es un lote
+	 * @param filasLote
+	 *            registros del lote, 0 si no se ejecut&oacute; por lotes
+	 * @param duracionNanos
+	 *            duraci&oacute;n de la ejecuci&oacute;n
+	 * @param lenta
+	 *            <tt>true</tt> si super&oacute; el umbral, <tt>false</tt> si
+	 *            se registra por muestreo
+	 * @param metodo
+	 *            m&eacute;todo del repositorio que ejecut&oacute; la sentencia
+	 */
+	public SentenciaEjecutada(String sql, List<Object> parametros, int filasLote, long duracionNanos, boolean lenta,
+			String metodo) {
+		this.sql = sql;
+		this.parametros = parametros;
+		this.filasLote = filasLote;
+		this.duracionNanos = duracionNanos;
+		this.lenta = lenta;
+		this.metodo = metodo;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public List<Object> getParametros() {
+		return parametros;
+	}
+
+	public int getFilasLote() {
+		return filasLote;
+	}
+
+	public long getDuracionNanos() {
+		return duracionNanos;
+	}
+
+	public boolean isLenta() {
+		return lenta;
+	}
+
+	public String getMetodo() {
+		return metodo;
+	}
+
+	/**
+	 * Permite obtener el mensaje que se escribe en el registro
+	 *
+	 * @return mensaje con la duraci&oacute;n, el m&eacute;todo, la sentencia y
+	 *         sus par&aacute;metros
+	 */
+	public String formatear() {
+		StringBuilder mensaje = new StringBuilder(sql.length() + 64);
+		mensaje.append(lenta ? "Sentencia lenta " : "Sentencia muestreada ")
+				.append(TimeUnit.NANOSECONDS.toMicros(duracionNanos) / 1_000.0).append(" ms en ").append(metodo)
+				.append(": ").append(sql);
+		if (!parametros.isEmpty()) {
+			mensaje.append(" parametros=[");
+			for (int i = 0; i < parametros.size(); i++) {
+				if (i > 0) {
+					mensaje.append(", ");
+				}
+				Object parametro = parametros.get(i);
+				if (parametro instanceof String) {
+					mensaje.append('\'').append(parametro).append('\'');
+				} else {
+					mensaje.append(parametro);
+				}
+			}
+			mensaje.append(']');
+		}
+		if (filasLote > 0) {
+			mensaje.append(" lote=").append(filasLote);
+		}
+		return mensaje.toString();
+	}
+
+}
@@ -0,0 +1,127 @@
+package persistencia.conexion;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Intercepta un {@link Statement} para medir cada ejecuci&oacute;n y
+ * entregarle al {@link RegistroSentencias} las que superan el umbral y una
+ * muestra de las dem&aacute;s. Los par&aacute;metros se guardan al asignarlos,
+ * pero la lista y el m&eacute;todo del repositorio solo se construyen para las
+ * sentencias que se registran
+ */
+class SentenciaRegistrada implements InvocationHandler {
+
+	private static final String PAQUETE_REPOSITORIOS = "persistencia.repositorio.";
+	private static final String METODO_DESCONOCIDO = "desconocido";
+
+	private final Statement sentencia;
+	private final String sql;
+	private final RegistroSentencias registro;
+	private final long umbralNanos;
+	private final double muestreo;
+
+	private Object[] parametros = new Object[8];
+	private int cantidadParametros;
+	private int filasLote;
+
+	/**
+	 * @param sentencia
+	 *            sentencia real
+	 * @param sql
+	 *            sql de la sentencia preparada, <tt>null</tt> si el sql se
+	 *            indica en cada ejecuci&oacute;n
+	 */
+	SentenciaRegistrada(Statement sentencia, String sql, RegistroSentencias registro, long umbralNanos,
+			double muestreo) {
+		this.sentencia = sentencia;
+		this.sql = sql;
+		this.registro = registro;
+		this.umbralNanos = umbralNanos;
+		this.muestreo = muestreo;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+		String nombre = metodo.getName();
+		if (nombre.startsWith("execute")) {
+			return ejecutar(metodo, argumentos);
+		}
+		if (nombre.startsWith("set") && argumentos != null && argumentos.length >= 2
+				&& argumentos[0] instanceof Integer) {
+			asignarParametro((Integer) argumentos[0], "setNull".equals(nombre) ? null : argumentos[1]);
+		} else if ("clearParameters".equals(nombre)) {
+			Arrays.fill(parametros, 0, cantidadParametros, null);
+			cantidadParametros = 0;
+		} else if ("addBatch".equals(nombre)) {
+			filasLote++;
+		} else if ("clearBatch".equals(nombre)) {
+			filasLote = 0;
+		}
+		return invocar(metodo, argumentos);
+	}
+
+	private Object ejecutar(Method metodo, Object[] argumentos) throws Throwable {
+		long inicio = System.nanoTime();
+		try {
+			return invocar(metodo, argumentos);
+		} finally {
+			long duracion = System.nanoTime() - inicio;
+			boolean lenta = duracion >= umbralNanos;
+			if (lenta || (muestreo > 0 && ThreadLocalRandom.current().nextDouble() < muestreo)) {
+				String sqlEjecutado = sql != null ? sql : String.valueOf(argumentos != null ? argumentos[0] : null);
+				registro.registrar(new SentenciaEjecutada(sqlEjecutado, copiarParametros(), filasLote, duracion,
+						lenta, buscarMetodoRepositorio()));
+			}
+			if ("executeBatch".equals(metodo.getName())) {
+				filasLote = 0;
+			}
+		}
+	}
+
+	private Object invocar(Method metodo, Object[] argumentos) throws Throwable {
+		try {
+			return metodo.invoke(sentencia, argumentos);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void asignarParametro(int indice, Object valor) {
+		if (indice > parametros.length) {
+			parametros = Arrays.copyOf(parametros, Math.max(indice, parametros.length * 2));
+		}
+		parametros[indice - 1] = valor;
+		cantidadParametros = Math.max(cantidadParametros, indice);
+	}
+
+	private List<Object> copiarParametros() {
+		if (cantidadParametros == 0) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(Arrays.asList(parametros).subList(0, cantidadParametros));
+	}
+
+	/**
+	 * Busca en la pila del hilo el m&eacute;todo de repositorio m&aacute;s
+	 * cercano a la ejecuci&oacute;n, es decir el que arm&oacute; la consulta
+	 * y no los decoradores que lo envuelven
+	 */
+	private static String buscarMetodoRepositorio() {
+		for (StackTraceElement elemento : new Throwable().getStackTrace()) {
+			String clase = elemento.getClassName();
+			if (clase.startsWith(PAQUETE_REPOSITORIOS)) {
+				return clase.substring(PAQUETE_REPOSITORIOS.length()) + "." + elemento.getMethodName();
+			}
+		}
+		return METODO_DESCONOCIDO;
+	}
+
+}
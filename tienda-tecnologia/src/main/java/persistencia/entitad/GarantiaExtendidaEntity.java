@@ -1,30 +1,45 @@
 package persistencia.entitad;
 
-import java.util.Date;
+import java.time.LocalDate;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity(name = "GarantiaExtendida")
-@NamedQuery(name = "GarantiaExtendida.findByCodigo", query = "SELECT garantia from GarantiaExtendida garantia where garantia.producto.codigo = :codigo")
+@NamedQueries({
+		@NamedQuery(name = "GarantiaExtendida.findByCodigo", query = "SELECT garantia from GarantiaExtendida garantia where garantia.producto.codigo = :codigo"),
+		@NamedQuery(name = "GarantiaExtendida.findCodigosByCodigos", query = "SELECT garantia.producto.codigo from GarantiaExtendida garantia where garantia.producto.codigo IN :codigos"),
+		@NamedQuery(name = "GarantiaExtendida.findProductoParaGarantia", query = "SELECT producto, garantia.id from Producto producto LEFT JOIN GarantiaExtendida garantia ON garantia.producto = producto where producto.codigo = :codigo"),
+		@NamedQuery(name = "GarantiaExtendida.findCodigos", query = "SELECT garantia.producto.codigo from GarantiaExtendida garantia"),
+		@NamedQuery(name = "GarantiaExtendida.findTodas", query = "SELECT producto.codigo, producto.nombre, producto.precio, garantia.fechaSolicitudGarantia, garantia.fechaFinGarantia, garantia.precio, garantia.nombreCliente from GarantiaExtendida garantia JOIN garantia.producto producto ORDER BY garantia.id"),
+		@NamedQuery(name = "GarantiaExtendida.findPorVencer", query = "SELECT new dominio.GarantiaPorVencer(garantia.id, producto.codigo, producto.nombre, garantia.nombreCliente, garantia.fechaFinGarantia, garantia.precio) from GarantiaExtendida garantia JOIN garantia.producto producto where garantia.fechaFinGarantia >= :fechaFinAnterior and garantia.fechaFinGarantia < :hasta and (garantia.fechaFinGarantia > :fechaFinAnterior or garantia.id > :idAnterior) ORDER BY garantia.fechaFinGarantia, garantia.id") })
+@Table(indexes = { @Index(name = "IDX_GARANTIA_PRODUCTO", columnList = "ID_PRODUCTO"),
+		@Index(name = "IDX_GARANTIA_FECHA_FIN", columnList = "fechaFinGarantia, id") })
 public class GarantiaExtendidaEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "SEQ_GARANTIA")
+	@GenericGenerator(name = "SEQ_GARANTIA", strategy = "persistencia.conexion.GeneradorSecuencia", parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "SEQ_GARANTIA"))
 	private Long id;
 
 	@ManyToOne
 	@JoinColumn(name = "ID_PRODUCTO", referencedColumnName = "id")
 	private ProductoEntity producto;
 
-	private Date fechaSolicitudGarantia;
+	private LocalDate fechaSolicitudGarantia;
 
-	private Date fechaFinGarantia;
+	private LocalDate fechaFinGarantia;
 
 	private String nombreCliente;
 
@@ -46,15 +61,15 @@ public class GarantiaExtendidaEntity {
 		this.producto = producto;
 	}
 
-	public Date getFechaSolicitudGarantia() {
+	public LocalDate getFechaSolicitudGarantia() {
 		return fechaSolicitudGarantia;
 	}
 
-	public void setFechaSolicitudGarantia(Date fechaSolicitudGarantia) {
+	public void setFechaSolicitudGarantia(LocalDate fechaSolicitudGarantia) {
 		this.fechaSolicitudGarantia = fechaSolicitudGarantia;
 	}
 
-	public void setFechaFinGarantia(Date fechaFinGarantia) {
+	public void setFechaFinGarantia(LocalDate fechaFinGarantia) {
 		this.fechaFinGarantia = fechaFinGarantia;
 	}
 
@@ -66,7 +81,7 @@ public class GarantiaExtendidaEntity {
 		this.precio = precio;
 	}
 
-	public Date getFechaFinGarantia() {
+	public LocalDate getFechaFinGarantia() {
 		return fechaFinGarantia;
 	}
 
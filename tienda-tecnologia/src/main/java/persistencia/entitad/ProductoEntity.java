@@ -1,20 +1,41 @@
 package persistencia.entitad;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity(name = "Producto")
-@NamedQuery(name = "Producto.findByCodigo", query = "SELECT producto FROM Producto producto WHERE producto.codigo = :codigo")
+@NamedQueries({
+		@NamedQuery(name = "Producto.findByCodigo", query = "SELECT producto FROM Producto producto WHERE producto.codigo = :codigo", hints = @QueryHint(name = QueryHints.CACHEABLE, value = "true")),
+		@NamedQuery(name = "Producto.findByCodigos", query = "SELECT producto FROM Producto producto WHERE producto.codigo IN :codigos") })
+@Table(indexes = @Index(name = "UK_PRODUCTO_CODIGO", columnList = "codigo", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class ProductoEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "SEQ_PRODUCTO")
+	@GenericGenerator(name = "SEQ_PRODUCTO", strategy = "persistencia.conexion.GeneradorSecuencia", parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "SEQ_PRODUCTO"))
 	private Long id;
 
+	@NaturalId
 	@Column(nullable = false)
 	private String codigo;
 	
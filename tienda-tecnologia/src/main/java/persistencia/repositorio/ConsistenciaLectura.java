@@ -0,0 +1,23 @@
+package persistencia.repositorio;
+
+/**
+ * Consistencia con la que {@link RepositorioGarantiaProyectado} responde las
+ * consultas del estado de las garant&iacute;as
+ */
+public enum ConsistenciaLectura {
+
+	/**
+	 * Solo se ven las garant&iacute;as de las unidades de trabajo ya
+	 * confirmadas; una garant&iacute;a reci&eacute;n confirmada por otro hilo
+	 * puede tardar en verse lo que tarda en aplicarse a la proyecci&oacute;n
+	 */
+	EVENTUAL,
+
+	/**
+	 * Adem&aacute;s de las confirmadas, se ven las garant&iacute;as agregadas
+	 * en la unidad de trabajo del hilo que consulta, aunque a&uacute;n no se
+	 * haya confirmado
+	 */
+	LECTURA_PROPIA
+
+}
@@ -0,0 +1,122 @@
+package persistencia.repositorio;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dominio.GarantiaExtendida;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import persistencia.conexion.OyenteUnidadDeTrabajo;
+import persistencia.conexion.ProveedorEntityManager;
+
+/**
+ * Modelo de lectura de las garant&iacute;as: un mapa concurrente del
+ * c&oacute;digo del producto a su garant&iacute;a, que se consulta sin
+ * bloqueos. Las garant&iacute;as son inmutables y guardan sus fechas como
+ * d&iacute;as de &eacute;poca, por lo que se guardan tal cual y se entregan
+ * sin copiarlas.
+ *
+ * Las garant&iacute;as agregadas en una unidad de trabajo quedan pendientes en
+ * el hilo que las agreg&oacute; y se aplican al mapa cuando la unidad de
+ * trabajo se confirma; si se deshace se descartan. La proyecci&oacute;n solo
+ * es exacta si este proceso es el &uacute;nico que agrega garant&iacute;as
+ */
+public class ProyeccionGarantias {
+
+	private final ProveedorEntityManager proveedorEntityManager;
+	private final Map<String, GarantiaExtendida> garantias = new ConcurrentHashMap<>();
+	private final ThreadLocal<Map<String, GarantiaExtendida>> pendientes = new ThreadLocal<>();
+
+	public ProyeccionGarantias(ProveedorEntityManager proveedorEntityManager) {
+		this.proveedorEntityManager = proveedorEntityManager;
+	}
+
+	/**
+	 * Reemplaza el contenido de la proyecci&oacute;n con las garant&iacute;as
+	 * del repositorio de origen; se debe invocar dentro de una unidad de
+	 * trabajo
+	 *
+	 * @param repositorioGarantia
+	 *            repositorio de origen
+	 */
+	public void reconstruir(RepositorioGarantiaExtendida repositorioGarantia) {
+		Map<String, GarantiaExtendida> leidas = new HashMap<>();
+		repositorioGarantia.recorrer(garantia -> leidas.put(garantia.getProducto().getCodigo(), garantia));
+		garantias.clear();
+		garantias.putAll(leidas);
+	}
+
+	/**
+	 * Registra una garant&iacute;a agregada en la unidad de trabajo del hilo
+	 * actual, para aplicarla cuando la unidad de trabajo se confirme
+	 *
+	 * @param garantia
+	 *            garant&iacute;a agregada
+	 */
+	public void agregarPendiente(GarantiaExtendida garantia) {
+		Map<String, GarantiaExtendida> pendientesUnidad = pendientes.get();
+		if (pendientesUnidad == null) {
+			pendientesUnidad = new HashMap<>();
+			proveedorEntityManager.registrarOyente(new AplicarPendientes(pendientesUnidad));
+			pendientes.set(pendientesUnidad);
+		}
+		pendientesUnidad.put(garantia.getProducto().getCodigo(), garantia);
+	}
+
+	/**
+	 * Permite consultar la garant&iacute;a de un producto
+	 *
+	 * @param codigo
+	 *            c&oacute;digo del producto
+	 * @param consistencia
+	 *            si se incluyen las garant&iacute;as pendientes del hilo
+	 *            actual
+	 * @return garant&iacute;a del producto, <tt>null</tt> si no tiene
+	 */
+	public GarantiaExtendida obtener(String codigo, ConsistenciaLectura consistencia) {
+		if (codigo == null) {
+			return null;
+		}
+		if (consistencia == ConsistenciaLectura.LECTURA_PROPIA) {
+			Map<String, GarantiaExtendida> pendientesUnidad = pendientes.get();
+			GarantiaExtendida pendiente = pendientesUnidad != null ? pendientesUnidad.get(codigo) : null;
+			if (pendiente != null) {
+				return pendiente;
+			}
+		}
+		return garantias.get(codigo);
+	}
+
+	/**
+	 * @return garant&iacute;as confirmadas en la proyecci&oacute;n
+	 */
+	public int getTamano() {
+		return garantias.size();
+	}
+
+	/**
+	 * Aplica al mapa las garant&iacute;as pendientes de una unidad de trabajo
+	 * cuando se confirma
+	 */
+	private final class AplicarPendientes implements OyenteUnidadDeTrabajo {
+
+		private final Map<String, GarantiaExtendida> pendientesUnidad;
+
+		AplicarPendientes(Map<String, GarantiaExtendida> pendientesUnidad) {
+			this.pendientesUnidad = pendientesUnidad;
+		}
+
+		@Override
+		public void confirmada() {
+			pendientes.remove();
+			garantias.putAll(pendientesUnidad);
+		}
+
+		@Override
+		public void descartada() {
+			pendientes.remove();
+		}
+
+	}
+
+}
@@ -0,0 +1,479 @@
+package persistencia.repositorio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.apache.log4j.Logger;
+
+import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+
+/**
+ * Repositorio de garant&iacute;as que no requiere base de datos: cada
+ * garant&iacute;a se agrega como un registro binario al final de una
+ * bit&aacute;cora mapeada en memoria y en memoria se mantienen un &iacute;ndice
+ * del c&oacute;digo del producto a la posici&oacute;n de su registro y otro
+ * ordenado por fecha de fin y posici&oacute;n para las garant&iacute;as por
+ * vencer; la posici&oacute;n del registro hace las veces de id. Al abrir
+ * la bit&aacute;cora se recorren sus registros para reconstruir el
+ * &iacute;ndice; si el &uacute;ltimo registro qued&oacute; incompleto por una
+ * ca&iacute;da se descarta y se sobrescribe con el siguiente, pero si el
+ * registro da&ntilde;ado no es el &uacute;ltimo la bit&aacute;cora no se abre.
+ *
+ * Formato de la bit&aacute;cora: una firma de 8 bytes y luego los registros,
+ * cada uno con una cabecera fija (marca, longitud y CRC32 del cuerpo, 4 bytes
+ * cada uno) y un cuerpo con fecha de solicitud y fecha de fin (d&iacute;as de
+ * &eacute;poca de 4 bytes), precio de la garant&iacute;a y precio del
+ * producto (8 bytes cada uno) seguidos del
+ * c&oacute;digo y nombre del producto y del nombre del cliente, cada uno con
+ * su longitud en 2 bytes y su contenido en UTF-8.
+ *
+ * Los registros se sincronizan con el disco cada
+ * <tt>registrosPorSincronizacion</tt> garant&iacute;as; las agregadas desde
+ * la &uacute;ltima sincronizaci&oacute;n se pueden perder si el sistema
+ * operativo cae, aunque no si solo cae la JVM. La garant&iacute;a conserva los
+ * datos del producto, por lo que el repositorio de productos solo se consulta
+ * para los productos que a&uacute;n no tienen garant&iacute;a
+ */
+public class RepositorioGarantiaBitacora implements RepositorioGarantiaExtendida {
+
+	private static final Logger LOGGER = Logger.getLogger(RepositorioGarantiaBitacora.class);
+
+	private static final long FIRMA = 0x5449454E44414732L;
+	private static final long FIRMA_FECHAS_MILISEGUNDOS = 0x5449454E44414731L;
+	private static final int MARCA_REGISTRO = 0x47415231;
+	private static final int LONGITUD_FIRMA = 8;
+	private static final int LONGITUD_CABECERA = 12;
+	private static final int LONGITUD_CAMPOS_FIJOS = 24;
+	private static final int DESPLAZAMIENTO_FECHA_FIN = 4;
+	private static final int LONGITUD_MAXIMA_TEXTO = 0xFFFF;
+	private static final int LONGITUD_MAXIMA_CUERPO = LONGITUD_CAMPOS_FIJOS + 3 * (2 + LONGITUD_MAXIMA_TEXTO);
+	private static final int CAPACIDAD_MAXIMA = Integer.MAX_VALUE;
+	private static final int SIN_TEXTO = 0xFFFF;
+	private static final int SIN_POSICION = -1;
+
+	private final Path archivo;
+	private final RepositorioProducto repositorioProducto;
+	private final int registrosPorSincronizacion;
+	private final FileChannel canal;
+	private final Map<String, Integer> indice = new ConcurrentHashMap<>();
+	private final NavigableSet<ClaveVencimiento> vencimientos = new ConcurrentSkipListSet<>();
+
+	private volatile MappedByteBuffer mapa;
+	private int fin;
+	private int pendientesSincronizar;
+
+	/**
+	 * Abre la bit&aacute;cora, cre&aacute;ndola si no existe, y reconstruye el
+	 * &iacute;ndice a partir de sus registros
+	 *
+	 * @param archivo
+	 *            archivo de la bit&aacute;cora
+	 * @param repositorioProducto
+	 *            repositorio de los productos que a&uacute;n no tienen
+	 *            garant&iacute;a
+	 * @param capacidadInicial
+	 *            bytes que se mapean al crear la bit&aacute;cora; el mapa se
+	 *            duplica cuando se llena
+	 * @param registrosPorSincronizacion
+	 *            garant&iacute;as agregadas entre cada sincronizaci&oacute;n
+	 *            con el disco, 1 para sincronizar cada una y 0 para dejar la
+	 *            escritura al sistema operativo
+	 */
+	public RepositorioGarantiaBitacora(Path archivo, RepositorioProducto repositorioProducto, int capacidadInicial,
+			int registrosPorSincronizacion) {
+		if (capacidadInicial <= LONGITUD_FIRMA || registrosPorSincronizacion < 0) {
+			throw new IllegalArgumentException("Capacidad o registros por sincronizacion invalidos");
+		}
+		this.archivo = archivo;
+		this.repositorioProducto = repositorioProducto;
+		this.registrosPorSincronizacion = registrosPorSincronizacion;
+		try {
+			this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			long tamano = canal.size();
+			if (tamano > CAPACIDAD_MAXIMA) {
+				throw new IllegalStateException("La bitacora " + archivo + " supera el tamano maximo");
+			}
+			this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(tamano, capacidadInicial));
+		} catch (IOException e) {
+			throw new UncheckedIOException("No fue posible abrir la bitacora " + archivo, e);
+		}
+		try {
+			reproducir();
+		} catch (IllegalStateException e) {
+			cerrarCanal();
+			throw e;
+		}
+	}
+
+	@Override
+	public Producto obtenerProductoConGarantiaPorCodigo(String codigo) {
+		Integer posicion = indice.get(codigo);
+		return posicion != null ? leer(posicion).getProducto() : null;
+	}
+
+	@Override
+	public ProductoParaGarantia obtenerProductoParaGarantia(String codigo) {
+		Producto productoConGarantia = obtenerProductoConGarantiaPorCodigo(codigo);
+		if (productoConGarantia != null) {
+			return new ProductoParaGarantia(productoConGarantia, true);
+		}
+		Producto producto = repositorioProducto.obtenerPorCodigos(Collections.singleton(codigo)).get(codigo);
+		return producto != null ? new ProductoParaGarantia(producto, false) : null;
+	}
+
+	@Override
+	public Set<String> obtenerCodigosConGarantia(Collection<String> codigos) {
+		Set<String> codigosConGarantia = new HashSet<>();
+		for (String codigo : codigos) {
+			if (indice.containsKey(codigo)) {
+				codigosConGarantia.add(codigo);
+			}
+		}
+		return codigosConGarantia;
+	}
+
+	@Override
+	public synchronized void agregar(GarantiaExtendida garantia) {
+		escribir(garantia);
+		sincronizarSiCorresponde(1);
+	}
+
+	@Override
+	public synchronized void agregar(List<GarantiaExtendida> garantias) {
+		for (GarantiaExtendida garantia : garantias) {
+			escribir(garantia);
+		}
+		sincronizarSiCorresponde(garantias.size());
+	}
+
+	@Override
+	public GarantiaExtendida obtener(String codigo) {
+		Integer posicion = indice.get(codigo);
+		return posicion != null ? leer(posicion) : null;
+	}
+
+	/**
+	 * Recorre la bit&aacute;cora en el orden en que se agregaron las
+	 * garant&iacute;as, hasta el &uacute;ltimo registro escrito al iniciar el
+	 * recorrido
+	 */
+	@Override
+	public void recorrer(Consumer<GarantiaExtendida> consumidor) {
+		int limite = getTamano();
+		int posicion = LONGITUD_FIRMA;
+		while (posicion < limite) {
+			consumidor.accept(leer(posicion));
+			posicion += LONGITUD_CABECERA + mapa.getInt(posicion + 4);
+		}
+	}
+
+	@Override
+	public List<GarantiaPorVencer> obtenerGarantiasPorVencer(LocalDate desde, LocalDate hasta, GarantiaPorVencer anterior,
+			int limite) {
+		ClaveVencimiento inicio = anterior != null
+				? new ClaveVencimiento(GarantiaExtendida.dia(anterior.getFechaFinGarantia()), (int) anterior.getId())
+				: new ClaveVencimiento(GarantiaExtendida.dia(desde), SIN_POSICION);
+		ClaveVencimiento fin = new ClaveVencimiento(GarantiaExtendida.dia(hasta), SIN_POSICION);
+		List<GarantiaPorVencer> garantias = new ArrayList<>();
+		if (inicio.compareTo(fin) >= 0) {
+			return garantias;
+		}
+
+		for (ClaveVencimiento clave : vencimientos.subSet(inicio, false, fin, false)) {
+			if (garantias.size() == limite) {
+				break;
+			}
+			garantias.add(leerPorVencer(clave.posicion));
+		}
+		return garantias;
+	}
+
+	/**
+	 * Permite forzar la escritura en disco de las garant&iacute;as agregadas
+	 */
+	public synchronized void sincronizar() {
+		mapa.force();
+		pendientesSincronizar = 0;
+	}
+
+	/**
+	 * Sincroniza la bit&aacute;cora y cierra el archivo
+	 */
+	public synchronized void cerrar() {
+		sincronizar();
+		cerrarCanal();
+	}
+
+	/**
+	 * @return bytes ocupados por la firma y los registros
+	 */
+	public synchronized int getTamano() {
+		return fin;
+	}
+
+	private void escribir(GarantiaExtendida garantia) {
+		Producto producto = garantia.getProducto();
+		byte[] codigo = codificar(producto.getCodigo());
+		byte[] nombre = codificar(producto.getNombre());
+		byte[] nombreCliente = codificar(garantia.getNombreCliente());
+		int longitudCuerpo = LONGITUD_CAMPOS_FIJOS + longitudTexto(codigo) + longitudTexto(nombre)
+				+ longitudTexto(nombreCliente);
+		asegurarCapacidad(LONGITUD_CABECERA + longitudCuerpo);
+
+		ByteBuffer registro = mapa.duplicate();
+		registro.position(fin + LONGITUD_CABECERA);
+		registro.putInt(garantia.getDiaSolicitudGarantia());
+		registro.putInt(garantia.getDiaFinGarantia());
+		registro.putDouble(garantia.getPrecioGarantia());
+		registro.putDouble(producto.getPrecio());
+		escribirTexto(registro, codigo);
+		escribirTexto(registro, nombre);
+		escribirTexto(registro, nombreCliente);
+
+		registro.putInt(fin + 4, longitudCuerpo);
+		registro.putInt(fin + 8, calcularCrc(fin + LONGITUD_CABECERA, longitudCuerpo));
+		registro.putInt(fin, MARCA_REGISTRO);
+
+		indice.put(producto.getCodigo(), fin);
+		indexarVencimiento(fin, garantia.getDiaFinGarantia());
+		fin += LONGITUD_CABECERA + longitudCuerpo;
+	}
+
+	private GarantiaExtendida leer(int posicion) {
+		ByteBuffer registro = mapa.duplicate();
+		registro.position(posicion + LONGITUD_CABECERA);
+		int diaSolicitud = registro.getInt();
+		int diaFin = registro.getInt();
+		double precioGarantia = registro.getDouble();
+		double precioProducto = registro.getDouble();
+		String codigo = leerTexto(registro);
+		String nombre = leerTexto(registro);
+		String nombreCliente = leerTexto(registro);
+		return new GarantiaExtendida(new Producto(codigo, nombre, precioProducto), diaSolicitud, diaFin,
+				precioGarantia, nombreCliente);
+	}
+
+	private GarantiaPorVencer leerPorVencer(int posicion) {
+		ByteBuffer registro = mapa.duplicate();
+		registro.position(posicion + LONGITUD_CABECERA + DESPLAZAMIENTO_FECHA_FIN);
+		LocalDate fechaFin = GarantiaExtendida.fecha(registro.getInt());
+		double precioGarantia = registro.getDouble();
+		registro.getDouble();
+		String codigo = leerTexto(registro);
+		String nombre = leerTexto(registro);
+		String nombreCliente = leerTexto(registro);
+		return new GarantiaPorVencer(posicion, codigo, nombre, nombreCliente, fechaFin, precioGarantia);
+	}
+
+	private void indexarVencimiento(int posicion, int diaFin) {
+		if (diaFin != GarantiaExtendida.SIN_FECHA) {
+			vencimientos.add(new ClaveVencimiento(diaFin, posicion));
+		}
+	}
+
+	/**
+	 * Recorre los registros desde el inicio hasta el primero vac&iacute;o o
+	 * inv&aacute;lido. Como las escrituras son secuenciales, solo el
+	 * &uacute;ltimo registro puede estar incompleto; sus restos se borran para
+	 * que el siguiente registro se escriba sobre bytes en cero. Si despu&eacute;s
+	 * del primer registro vac&iacute;o o inv&aacute;lido hay un registro
+	 * v&aacute;lido, no se trata de una escritura interrumpida sino de un
+	 * da&ntilde;o de la bit&aacute;cora, y descartarlo perder&iacute;a todas
+	 * las garant&iacute;as siguientes. Como la cabecera da&ntilde;ada puede
+	 * no indicar d&oacute;nde empieza el siguiente registro, se buscan su
+	 * marca y un CRC v&aacute;lido en todos los bytes restantes
+	 */
+	private void reproducir() {
+		ByteBuffer lectura = mapa.duplicate();
+		long firma = lectura.getLong(0);
+		if (firma == 0) {
+			lectura.putLong(0, FIRMA);
+		} else if (firma == FIRMA_FECHAS_MILISEGUNDOS) {
+			throw new IllegalStateException(
+					"La bitacora " + archivo + " guarda las fechas en milisegundos, formato que ya no se soporta");
+		} else if (firma != FIRMA) {
+			throw new IllegalStateException("El archivo " + archivo + " no es una bitacora de garantias");
+		}
+
+		int posicion = LONGITUD_FIRMA;
+		while (esRegistroValido(lectura, posicion)) {
+			lectura.position(posicion + LONGITUD_CABECERA + LONGITUD_CAMPOS_FIJOS);
+			indice.put(leerTexto(lectura), posicion);
+			indexarVencimiento(posicion, lectura.getInt(posicion + LONGITUD_CABECERA + DESPLAZAMIENTO_FECHA_FIN));
+			posicion += LONGITUD_CABECERA + lectura.getInt(posicion + 4);
+		}
+		fin = posicion;
+		verificarSinRegistrosPosteriores(lectura);
+		descartarRegistroIncompleto(lectura);
+	}
+
+	private boolean esRegistroValido(ByteBuffer lectura, long posicion) {
+		if (posicion + LONGITUD_CABECERA > lectura.capacity()) {
+			return false;
+		}
+		int inicio = (int) posicion;
+		int longitudCuerpo = lectura.getInt(inicio + 4);
+		return lectura.getInt(inicio) == MARCA_REGISTRO && longitudCuerpo >= LONGITUD_CAMPOS_FIJOS
+				&& longitudCuerpo <= LONGITUD_MAXIMA_CUERPO
+				&& posicion + LONGITUD_CABECERA + longitudCuerpo <= lectura.capacity()
+				&& lectura.getInt(inicio + 8) == calcularCrc(inicio + LONGITUD_CABECERA, longitudCuerpo);
+	}
+
+	private void verificarSinRegistrosPosteriores(ByteBuffer lectura) {
+		for (long posicion = fin + 1L; posicion + LONGITUD_CABECERA <= lectura.capacity(); posicion++) {
+			if (lectura.getInt((int) posicion) == MARCA_REGISTRO && esRegistroValido(lectura, posicion)) {
+				throw new IllegalStateException("La bitacora " + archivo + " tiene un registro danado en la posicion "
+						+ fin + " seguido de un registro valido en la posicion " + posicion);
+			}
+		}
+	}
+
+	private void descartarRegistroIncompleto(ByteBuffer lectura) {
+		int limite = (int) Math.min(lectura.capacity(), (long) fin + LONGITUD_CABECERA + LONGITUD_MAXIMA_CUERPO);
+		boolean incompleto = false;
+		for (int i = fin; i < limite; i++) {
+			if (lectura.get(i) != 0) {
+				lectura.put(i, (byte) 0);
+				incompleto = true;
+			}
+		}
+		if (incompleto) {
+			LOGGER.warn("Se descarto un registro incompleto en la posicion " + fin + " de la bitacora " + archivo);
+			mapa.force();
+		}
+	}
+
+	private void cerrarCanal() {
+		try {
+			canal.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("No fue posible cerrar la bitacora " + archivo, e);
+		}
+	}
+
+	private void asegurarCapacidad(int longitudRegistro) {
+		long requerida = (long) fin + longitudRegistro;
+		if (requerida <= mapa.capacity()) {
+			return;
+		}
+		if (requerida > CAPACIDAD_MAXIMA) {
+			throw new IllegalStateException("La bitacora " + archivo + " alcanzo el tamano maximo");
+		}
+		long capacidad = Math.min(CAPACIDAD_MAXIMA, Math.max(requerida, 2L * mapa.capacity()));
+		try {
+			mapa.force();
+			mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidad);
+		} catch (IOException e) {
+			throw new UncheckedIOException("No fue posible ampliar la bitacora " + archivo, e);
+		}
+	}
+
+	private void sincronizarSiCorresponde(int agregadas) {
+		pendientesSincronizar += agregadas;
+		if (registrosPorSincronizacion > 0 && pendientesSincronizar >= registrosPorSincronizacion) {
+			sincronizar();
+		}
+	}
+
+	private int calcularCrc(int posicion, int longitud) {
+		ByteBuffer cuerpo = mapa.duplicate();
+		cuerpo.position(posicion);
+		cuerpo.limit(posicion + longitud);
+		CRC32 crc = new CRC32();
+		crc.update(cuerpo);
+		return (int) crc.getValue();
+	}
+
+	private static byte[] codificar(String texto) {
+		if (texto == null) {
+			return null;
+		}
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length >= LONGITUD_MAXIMA_TEXTO) {
+			throw new IllegalArgumentException("El texto supera la longitud maxima de la bitacora: " + texto);
+		}
+		return bytes;
+	}
+
+	private static int longitudTexto(byte[] texto) {
+		return 2 + (texto != null ? texto.length : 0);
+	}
+
+	private static void escribirTexto(ByteBuffer registro, byte[] texto) {
+		if (texto == null) {
+			registro.putShort((short) SIN_TEXTO);
+		} else {
+			registro.putShort((short) texto.length);
+			registro.put(texto);
+		}
+	}
+
+	private static String leerTexto(ByteBuffer registro) {
+		int longitud = registro.getShort() & 0xFFFF;
+		if (longitud == SIN_TEXTO) {
+			return null;
+		}
+		byte[] texto = new byte[longitud];
+		registro.get(texto);
+		return new String(texto, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Llave del &iacute;ndice de vencimientos: d&iacute;a de fin y
+	 * posici&oacute;n del registro. Una llave con {@link #SIN_POSICION} es menor que las de
+	 * todos los registros de su misma fecha
+	 */
+	private static final class ClaveVencimiento implements Comparable<ClaveVencimiento> {
+
+		private final int diaFin;
+		private final int posicion;
+
+		ClaveVencimiento(int diaFin, int posicion) {
+			this.diaFin = diaFin;
+			this.posicion = posicion;
+		}
+
+		@Override
+		public int compareTo(ClaveVencimiento otra) {
+			int comparacion = Integer.compare(diaFin, otra.diaFin);
+			return comparacion != 0 ? comparacion : Integer.compare(posicion, otra.posicion);
+		}
+
+		@Override
+		public boolean equals(Object otra) {
+			return otra instanceof ClaveVencimiento && compareTo((ClaveVencimiento) otra) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return diaFin * 31 + posicion;
+		}
+
+	}
+
+}
@@ -0,0 +1,128 @@
+package persistencia.repositorio;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+
+/**
+ * Repositorio de garant&iacute;as que mantiene en memoria el conjunto de
+ * c&oacute;digos de producto con garant&iacute;a. Las consultas de
+ * c&oacute;digos que no est&aacute;n en el &iacute;ndice se responden sin ir
+ * al repositorio de origen; las positivas se confirman siempre contra
+ * &eacute;l.
+ *
+ * El &iacute;ndice solo es exacto si este proceso es el &uacute;nico que
+ * agrega garant&iacute;as al repositorio de origen
+ */
+public class RepositorioGarantiaIndexado implements RepositorioGarantiaExtendida {
+
+	private final RepositorioGarantiaExtendida repositorioGarantia;
+	private final Set<String> codigosConGarantia;
+
+	/**
+	 * @param repositorioGarantia
+	 *            repositorio de origen
+	 * @param codigosExistentes
+	 *            c&oacute;digos que ya tienen garant&iacute;a en el repositorio
+	 *            de origen
+	 * @param capacidadEsperada
+	 *            n&uacute;mero de garant&iacute;as para el que se dimensiona el
+	 *            &iacute;ndice
+	 */
+	public RepositorioGarantiaIndexado(RepositorioGarantiaExtendida repositorioGarantia,
+			Collection<String> codigosExistentes, long capacidadEsperada) {
+		this.repositorioGarantia = repositorioGarantia;
+		this.codigosConGarantia = ConcurrentHashMap
+				.newKeySet((int) Math.min(Integer.MAX_VALUE, Math.max(capacidadEsperada, codigosExistentes.size())));
+		codigosConGarantia.addAll(codigosExistentes);
+	}
+
+	@Override
+	public Producto obtenerProductoConGarantiaPorCodigo(String codigo) {
+		if (!podriaTenerGarantia(codigo)) {
+			return null;
+		}
+		return repositorioGarantia.obtenerProductoConGarantiaPorCodigo(codigo);
+	}
+
+	@Override
+	public ProductoParaGarantia obtenerProductoParaGarantia(String codigo) {
+		return repositorioGarantia.obtenerProductoParaGarantia(codigo);
+	}
+
+	@Override
+	public Set<String> obtenerCodigosConGarantia(Collection<String> codigos) {
+		Set<String> candidatos = new HashSet<>();
+		for (String codigo : codigos) {
+			if (podriaTenerGarantia(codigo)) {
+				candidatos.add(codigo);
+			}
+		}
+		if (candidatos.isEmpty()) {
+			return Collections.emptySet();
+		}
+		return repositorioGarantia.obtenerCodigosConGarantia(candidatos);
+	}
+
+	@Override
+	public void agregar(GarantiaExtendida garantia) {
+		repositorioGarantia.agregar(garantia);
+		indexar(garantia.getProducto().getCodigo());
+	}
+
+	@Override
+	public void agregar(List<GarantiaExtendida> garantias) {
+		repositorioGarantia.agregar(garantias);
+		for (GarantiaExtendida garantia : garantias) {
+			indexar(garantia.getProducto().getCodigo());
+		}
+	}
+
+	@Override
+	public GarantiaExtendida obtener(String codigo) {
+		if (!podriaTenerGarantia(codigo)) {
+			return null;
+		}
+		return repositorioGarantia.obtener(codigo);
+	}
+
+	@Override
+	public void recorrer(Consumer<GarantiaExtendida> consumidor) {
+		repositorioGarantia.recorrer(consumidor);
+	}
+
+	@Override
+	public List<GarantiaPorVencer> obtenerGarantiasPorVencer(LocalDate desde, LocalDate hasta, GarantiaPorVencer anterior,
+			int limite) {
+		return repositorioGarantia.obtenerGarantiasPorVencer(desde, hasta, anterior, limite);
+	}
+
+	/**
+	 * Permite verificar en memoria si un c&oacute;digo podr&iacute;a tener
+	 * garant&iacute;a
+	 *
+	 * @param codigo
+	 *            c&oacute;digo del producto
+	 * @return <tt>false</tt> si con seguridad el c&oacute;digo no tiene
+	 *         garant&iacute;a
+	 */
+	public boolean podriaTenerGarantia(String codigo) {
+		return codigo != null && codigosConGarantia.contains(codigo);
+	}
+
+	private void indexar(String codigo) {
+		codigosConGarantia.add(codigo);
+	}
+
+}
@@ -0,0 +1,123 @@
+package persistencia.repositorio;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import metricas.Metrica;
+import metricas.Metricas;
+
+/**
+ * Repositorio de garant&iacute;as que registra la latencia de cada
+ * m&eacute;todo del repositorio de origen en las {@link Metricas}
+ */
+public class RepositorioGarantiaMedido implements RepositorioGarantiaExtendida {
+
+	private static final Metrica OBTENER_PRODUCTO_CON_GARANTIA = Metricas
+			.obtener("repositorioGarantia.obtenerProductoConGarantiaPorCodigo");
+	private static final Metrica OBTENER_PRODUCTO_PARA_GARANTIA = Metricas
+			.obtener("repositorioGarantia.obtenerProductoParaGarantia");
+	private static final Metrica OBTENER_CODIGOS_CON_GARANTIA = Metricas
+			.obtener("repositorioGarantia.obtenerCodigosConGarantia");
+	private static final Metrica AGREGAR = Metricas.obtener("repositorioGarantia.agregar");
+	private static final Metrica AGREGAR_LOTE = Metricas.obtener("repositorioGarantia.agregarLote");
+	private static final Metrica OBTENER = Metricas.obtener("repositorioGarantia.obtener");
+	private static final Metrica RECORRER = Metricas.obtener("repositorioGarantia.recorrer");
+	private static final Metrica OBTENER_GARANTIAS_POR_VENCER = Metricas
+			.obtener("repositorioGarantia.obtenerGarantiasPorVencer");
+
+	private final RepositorioGarantiaExtendida repositorioGarantia;
+
+	public RepositorioGarantiaMedido(RepositorioGarantiaExtendida repositorioGarantia) {
+		this.repositorioGarantia = repositorioGarantia;
+	}
+
+	@Override
+	public Producto obtenerProductoConGarantiaPorCodigo(String codigo) {
+		long inicio = OBTENER_PRODUCTO_CON_GARANTIA.iniciar();
+		try {
+			return repositorioGarantia.obtenerProductoConGarantiaPorCodigo(codigo);
+		} finally {
+			OBTENER_PRODUCTO_CON_GARANTIA.registrar(inicio);
+		}
+	}
+
+	@Override
+	public ProductoParaGarantia obtenerProductoParaGarantia(String codigo) {
+		long inicio = OBTENER_PRODUCTO_PARA_GARANTIA.iniciar();
+		try {
+			return repositorioGarantia.obtenerProductoParaGarantia(codigo);
+		} finally {
+			OBTENER_PRODUCTO_PARA_GARANTIA.registrar(inicio);
+		}
+	}
+
+	@Override
+	public Set<String> obtenerCodigosConGarantia(Collection<String> codigos) {
+		long inicio = OBTENER_CODIGOS_CON_GARANTIA.iniciar();
+		try {
+			return repositorioGarantia.obtenerCodigosConGarantia(codigos);
+		} finally {
+			OBTENER_CODIGOS_CON_GARANTIA.registrar(inicio);
+		}
+	}
+
+	@Override
+	public void agregar(GarantiaExtendida garantia) {
+		long inicio = AGREGAR.iniciar();
+		try {
+			repositorioGarantia.agregar(garantia);
+		} finally {
+			AGREGAR.registrar(inicio);
+		}
+	}
+
+	@Override
+	public void agregar(List<GarantiaExtendida> garantias) {
+		long inicio = AGREGAR_LOTE.iniciar();
+		try {
+			repositorioGarantia.agregar(garantias);
+		} finally {
+			AGREGAR_LOTE.registrar(inicio);
+		}
+	}
+
+	@Override
+	public GarantiaExtendida obtener(String codigo) {
+		long inicio = OBTENER.iniciar();
+		try {
+			return repositorioGarantia.obtener(codigo);
+		} finally {
+			OBTENER.registrar(inicio);
+		}
+	}
+
+	@Override
+	public void recorrer(Consumer<GarantiaExtendida> consumidor) {
+		long inicio = RECORRER.iniciar();
+		try {
+			repositorioGarantia.recorrer(consumidor);
+		} finally {
+			RECORRER.registrar(inicio);
+		}
+	}
+
+	@Override
+	public List<GarantiaPorVencer> obtenerGarantiasPorVencer(LocalDate desde, LocalDate hasta, GarantiaPorVencer anterior,
+			int limite) {
+		long inicio = OBTENER_GARANTIAS_POR_VENCER.iniciar();
+		try {
+			return repositorioGarantia.obtenerGarantiasPorVencer(desde, hasta, anterior, limite);
+		} finally {
+			OBTENER_GARANTIAS_POR_VENCER.registrar(inicio);
+		}
+	}
+
+}
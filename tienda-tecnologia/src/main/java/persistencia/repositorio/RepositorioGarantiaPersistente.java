@@ -1,13 +1,30 @@
 package persistencia.repositorio;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.persistence.EntityManager;
+import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import dominio.Producto;
+import dominio.ProductoParaGarantia;
 import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
 import dominio.repositorio.RepositorioProducto;
 import dominio.repositorio.RepositorioGarantiaExtendida;
 import persistencia.builder.ProductoBuilder;
+import persistencia.conexion.ProveedorEntityManager;
+import persistencia.conexion.ProveedorEntityManagerFijo;
 import persistencia.entitad.ProductoEntity;
 import persistencia.entitad.GarantiaExtendidaEntity;
 import persistencia.repositorio.jpa.RepositorioProductoJPA;
@@ -15,22 +32,54 @@ import persistencia.repositorio.jpa.RepositorioProductoJPA;
 public class RepositorioGarantiaPersistente implements RepositorioGarantiaExtendida {
 
 	private static final String CODIGO = "codigo";
+	private static final String CODIGOS = "codigos";
+	private static final String FECHA_FIN_ANTERIOR = "fechaFinAnterior";
+	private static final String ID_ANTERIOR = "idAnterior";
+	private static final String HASTA = "hasta";
 	private static final String GARANTIA_EXTENDIDA_FIND_BY_CODIGO = "GarantiaExtendida.findByCodigo";
+	private static final String GARANTIA_EXTENDIDA_FIND_CODIGOS_BY_CODIGOS = "GarantiaExtendida.findCodigosByCodigos";
+	private static final String GARANTIA_EXTENDIDA_FIND_CODIGOS = "GarantiaExtendida.findCodigos";
+	private static final String PRODUCTO_NO_EXISTE = "No existe el producto con codigo ";
+	private static final String GARANTIA_EXTENDIDA_FIND_PRODUCTO_PARA_GARANTIA = "GarantiaExtendida.findProductoParaGarantia";
+	private static final String GARANTIA_EXTENDIDA_FIND_TODAS = "GarantiaExtendida.findTodas";
+	private static final String GARANTIA_EXTENDIDA_FIND_POR_VENCER = "GarantiaExtendida.findPorVencer";
+	private static final int FILAS_POR_LECTURA = 1_000;
+	private static final int MAXIMO_CODIGOS_POR_CONSULTA = RepositorioProductoPersistente.MAXIMO_CODIGOS_POR_CONSULTA;
 
-	private EntityManager entityManager;
+	private ProveedorEntityManager proveedorEntityManager;
 
 	private RepositorioProductoJPA repositorioProductoJPA;
 
 	public RepositorioGarantiaPersistente(EntityManager entityManager, RepositorioProducto repositorioProducto) {
-		this.entityManager = entityManager;
+		this(new ProveedorEntityManagerFijo(entityManager), repositorioProducto);
+	}
+
+	public RepositorioGarantiaPersistente(ProveedorEntityManager proveedorEntityManager,
+			RepositorioProducto repositorioProducto) {
+		this.proveedorEntityManager = proveedorEntityManager;
 		this.repositorioProductoJPA = (RepositorioProductoJPA) repositorioProducto;
 	}
 
 	@Override
 	public void agregar(GarantiaExtendida garantia) {
 		GarantiaExtendidaEntity garantiaEntity = buildGarantiaExtendidaEntity(garantia);
-		entityManager.persist(garantiaEntity);
+		entityManager().persist(garantiaEntity);
+
+	}
 
+	@Override
+	public void agregar(List<GarantiaExtendida> garantias) {
+
+		Set<String> codigos = new HashSet<>();
+		for (GarantiaExtendida garantia : garantias) {
+			codigos.add(garantia.getProducto().getCodigo());
+		}
+		Map<String, ProductoEntity> productos = repositorioProductoJPA.obtenerProductosEntityPorCodigos(codigos);
+
+		for (GarantiaExtendida garantia : garantias) {
+			ProductoEntity productoEntity = productos.get(garantia.getProducto().getCodigo());
+			entityManager().persist(buildGarantiaExtendidaEntity(garantia, productoEntity));
+		}
 	}
 
 	@Override
@@ -40,10 +89,60 @@ public class RepositorioGarantiaPersistente implements RepositorioGarantiaExtend
 		return ProductoBuilder.convertirADominio(garantiaEntity != null ? garantiaEntity.getProducto() : null);
 	}
 
+	/**
+	 * Consulta el producto y sus garantias con un LEFT JOIN; el producto queda
+	 * en el contexto de persistencia, por lo que agregar su garantia en la
+	 * misma unidad de trabajo no lo vuelve a consultar
+	 */
+	@Override
+	public ProductoParaGarantia obtenerProductoParaGarantia(String codigo) {
+
+		TypedQuery<Object[]> query = entityManager().createNamedQuery(GARANTIA_EXTENDIDA_FIND_PRODUCTO_PARA_GARANTIA,
+				Object[].class);
+		query.setParameter(CODIGO, codigo);
+
+		List<Object[]> resultList = query.getResultList();
+		if (resultList.isEmpty()) {
+			return null;
+		}
+
+		boolean tieneGarantia = false;
+		for (Object[] fila : resultList) {
+			tieneGarantia |= fila[1] != null;
+		}
+		return new ProductoParaGarantia(ProductoBuilder.convertirADominio((ProductoEntity) resultList.get(0)[0]),
+				tieneGarantia);
+	}
+
+	@Override
+	public Set<String> obtenerCodigosConGarantia(Collection<String> codigos) {
+
+		Set<String> codigosConGarantia = new HashSet<>();
+		List<String> listaCodigos = new ArrayList<>(codigos);
+		for (int inicio = 0; inicio < listaCodigos.size(); inicio += MAXIMO_CODIGOS_POR_CONSULTA) {
+			int fin = Math.min(inicio + MAXIMO_CODIGOS_POR_CONSULTA, listaCodigos.size());
+
+			TypedQuery<String> query = entityManager().createNamedQuery(GARANTIA_EXTENDIDA_FIND_CODIGOS_BY_CODIGOS,
+					String.class);
+			query.setParameter(CODIGOS, listaCodigos.subList(inicio, fin));
+
+			codigosConGarantia.addAll(query.getResultList());
+		}
+		return codigosConGarantia;
+	}
+
+	/**
+	 * Permite obtener todos los codigos de producto que tienen garantia
+	 * @return
+	 */
+	public List<String> obtenerCodigosConGarantia() {
+		return entityManager().createNamedQuery(GARANTIA_EXTENDIDA_FIND_CODIGOS, String.class).getResultList();
+	}
+
 	@SuppressWarnings("rawtypes")
 	private GarantiaExtendidaEntity obtenerGarantiaEntityPorCodigo(String codigo) {
 
-		Query query = entityManager.createNamedQuery(GARANTIA_EXTENDIDA_FIND_BY_CODIGO);
+		Query query = entityManager().createNamedQuery(GARANTIA_EXTENDIDA_FIND_BY_CODIGO);
 		query.setParameter(CODIGO, codigo);
 
 		List resultList = query.getResultList();
@@ -51,10 +150,24 @@ public class RepositorioGarantiaPersistente implements RepositorioGarantiaExtend
 		return !resultList.isEmpty() ? (GarantiaExtendidaEntity) resultList.get(0) : null;
 	}
 
+	/**
+	 * La garantia solo necesita la referencia al producto; si el producto ya
+	 * esta en el contexto de persistencia se resuelve por su codigo sin ir a
+	 * la base de datos, de lo contrario se consulta unicamente su id
+	 */
 	private GarantiaExtendidaEntity buildGarantiaExtendidaEntity(GarantiaExtendida garantia) {
 
-		ProductoEntity productoEntity = repositorioProductoJPA
-				.obtenerProductoEntityPorCodigo(garantia.getProducto().getCodigo());
+		ProductoEntity productoEntity = entityManager().unwrap(Session.class)
+				.bySimpleNaturalId(ProductoEntity.class).getReference(garantia.getProducto().getCodigo());
+		if (productoEntity == null) {
+			throw new NoResultException(PRODUCTO_NO_EXISTE + garantia.getProducto().getCodigo());
+		}
+
+		return buildGarantiaExtendidaEntity(garantia, productoEntity);
+	}
+
+	private GarantiaExtendidaEntity buildGarantiaExtendidaEntity(GarantiaExtendida garantia,
+			ProductoEntity productoEntity) {
 
 		GarantiaExtendidaEntity garantiaEntity = new GarantiaExtendidaEntity();
 		garantiaEntity.setProducto(productoEntity);
@@ -70,10 +183,63 @@ public class RepositorioGarantiaPersistente implements RepositorioGarantiaExtend
 	public GarantiaExtendida obtener(String codigo) {
 
 		GarantiaExtendidaEntity garantiaEntity = obtenerGarantiaEntityPorCodigo(codigo);
+		if (garantiaEntity == null) {
+			return null;
+		}
 
 		return new GarantiaExtendida(ProductoBuilder.convertirADominio(garantiaEntity.getProducto()),
 				garantiaEntity.getFechaSolicitudGarantia(), garantiaEntity.getFechaFinGarantia(),
 				garantiaEntity.getPrecio(), garantiaEntity.getNombreCliente());
 	}
 
+	/**
+	 * Recorre las garantias con un cursor de solo avance que trae
+	 * FILAS_POR_LECTURA filas por lectura. La consulta proyecta las columnas en
+	 * lugar de entidades, por lo que las filas leidas no quedan en el contexto
+	 * de persistencia
+	 */
+	@Override
+	public void recorrer(Consumer<GarantiaExtendida> consumidor) {
+
+		org.hibernate.query.Query<Object[]> query = entityManager().unwrap(Session.class)
+				.createNamedQuery(GARANTIA_EXTENDIDA_FIND_TODAS, Object[].class);
+		query.setFetchSize(FILAS_POR_LECTURA);
+		query.setCacheMode(CacheMode.IGNORE);
+
+		ScrollableResults filas = query.scroll(ScrollMode.FORWARD_ONLY);
+		try {
+			while (filas.next()) {
+				Object[] fila = filas.get();
+				Producto producto = new Producto((String) fila[0], (String) fila[1], (Double) fila[2]);
+				consumidor.accept(new GarantiaExtendida(producto, (LocalDate) fila[3], (LocalDate) fila[4], (Double) fila[5],
+						(String) fila[6]));
+			}
+		} finally {
+			filas.close();
+		}
+	}
+
+	/**
+	 * La consulta recorre el indice (fechaFinGarantia, id) desde la llave de
+	 * la ultima garantia de la pagina anterior, o desde el inicio del rango en
+	 * la primera pagina, y se detiene al completar el limite; no usa OFFSET
+	 */
+	@Override
+	public List<GarantiaPorVencer> obtenerGarantiasPorVencer(LocalDate desde, LocalDate hasta, GarantiaPorVencer anterior,
+			int limite) {
+
+		TypedQuery<GarantiaPorVencer> query = entityManager().createNamedQuery(GARANTIA_EXTENDIDA_FIND_POR_VENCER,
+				GarantiaPorVencer.class);
+		query.setParameter(FECHA_FIN_ANTERIOR, anterior != null ? anterior.getFechaFinGarantia() : desde);
+		query.setParameter(ID_ANTERIOR, anterior != null ? anterior.getId() : Long.MIN_VALUE);
+		query.setParameter(HASTA, hasta);
+		query.setMaxResults(limite);
+
+		return query.getResultList();
+	}
+
+	private EntityManager entityManager() {
+		return proveedorEntityManager.obtenerEntityManager();
+	}
+
 }
@@ -0,0 +1,97 @@
+package persistencia.repositorio;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+
+/**
+ * Repositorio de garant&iacute;as que responde las consultas del estado de la
+ * garant&iacute;a de un producto ({@link #obtener(String)} y
+ * {@link #obtenerProductoConGarantiaPorCodigo(String)}) desde una
+ * {@link ProyeccionGarantias}, sin ir al repositorio de origen, con la
+ * {@link ConsistenciaLectura} indicada.
+ *
+ * Las consultas con las que se valida una nueva garant&iacute;a
+ * ({@link #obtenerProductoParaGarantia(String)} y
+ * {@link #obtenerCodigosConGarantia(Collection)}) y las escrituras van siempre
+ * al repositorio de origen; cada garant&iacute;a agregada se registra en la
+ * proyecci&oacute;n, que la aplica al confirmarse la unidad de trabajo
+ */
+public class RepositorioGarantiaProyectado implements RepositorioGarantiaExtendida {
+
+	private final RepositorioGarantiaExtendida repositorioGarantia;
+	private final ProyeccionGarantias proyeccion;
+	private final ConsistenciaLectura consistencia;
+
+	/**
+	 * @param repositorioGarantia
+	 *            repositorio de origen
+	 * @param proyeccion
+	 *            proyecci&oacute;n de las garant&iacute;as del repositorio de
+	 *            origen
+	 * @param consistencia
+	 *            consistencia de las consultas del estado de las
+	 *            garant&iacute;as
+	 */
+	public RepositorioGarantiaProyectado(RepositorioGarantiaExtendida repositorioGarantia,
+			ProyeccionGarantias proyeccion, ConsistenciaLectura consistencia) {
+		this.repositorioGarantia = repositorioGarantia;
+		this.proyeccion = proyeccion;
+		this.consistencia = consistencia;
+	}
+
+	@Override
+	public Producto obtenerProductoConGarantiaPorCodigo(String codigo) {
+		GarantiaExtendida garantia = proyeccion.obtener(codigo, consistencia);
+		return garantia != null ? garantia.getProducto() : null;
+	}
+
+	@Override
+	public ProductoParaGarantia obtenerProductoParaGarantia(String codigo) {
+		return repositorioGarantia.obtenerProductoParaGarantia(codigo);
+	}
+
+	@Override
+	public Set<String> obtenerCodigosConGarantia(Collection<String> codigos) {
+		return repositorioGarantia.obtenerCodigosConGarantia(codigos);
+	}
+
+	@Override
+	public void agregar(GarantiaExtendida garantia) {
+		repositorioGarantia.agregar(garantia);
+		proyeccion.agregarPendiente(garantia);
+	}
+
+	@Override
+	public void agregar(List<GarantiaExtendida> garantias) {
+		repositorioGarantia.agregar(garantias);
+		for (GarantiaExtendida garantia : garantias) {
+			proyeccion.agregarPendiente(garantia);
+		}
+	}
+
+	@Override
+	public GarantiaExtendida obtener(String codigo) {
+		return proyeccion.obtener(codigo, consistencia);
+	}
+
+	@Override
+	public void recorrer(Consumer<GarantiaExtendida> consumidor) {
+		repositorioGarantia.recorrer(consumidor);
+	}
+
+	@Override
+	public List<GarantiaPorVencer> obtenerGarantiasPorVencer(LocalDate desde, LocalDate hasta,
+			GarantiaPorVencer anterior, int limite) {
+		return repositorioGarantia.obtenerGarantiasPorVencer(desde, hasta, anterior, limite);
+	}
+
+}
@@ -0,0 +1,244 @@
+package persistencia.repositorio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.conexion.OyenteUnidadDeTrabajo;
+import persistencia.conexion.ProveedorEntityManager;
+
+/**
+ * Repositorio de productos que guarda en memoria los productos consultados.
+ * La cache tiene un tama&ntilde;o m&aacute;ximo, expulsa el producto usado
+ * hace m&aacute;s tiempo (LRU) y opcionalmente expira las entradas; al agregar
+ * un producto se invalida su c&oacute;digo.
+ *
+ * Los productos le&iacute;dos del repositorio de origen quedan pendientes en
+ * el hilo de la unidad de trabajo y solo se guardan en la cache cuando la
+ * unidad de trabajo se confirma; si se deshace se descartan, para que los
+ * dem&aacute;s hilos nunca vean un producto que no qued&oacute; en la base de
+ * datos
+ */
+public class RepositorioProductoCache implements RepositorioProducto {
+
+	private final RepositorioProducto repositorioProducto;
+	private final ProveedorEntityManager proveedorEntityManager;
+	private final ThreadLocal<Map<String, Producto>> pendientes = new ThreadLocal<>();
+	private final int tamanoMaximo;
+	private final long ttlNanos;
+	private final Map<String, Entrada> productos;
+
+	private final LongAdder aciertos = new LongAdder();
+	private final LongAdder fallos = new LongAdder();
+	private final LongAdder expulsiones = new LongAdder();
+
+	/**
+	 * @param repositorioProducto
+	 *            repositorio que se consulta cuando el producto no est&aacute;
+	 *            en la cache
+	 * @param proveedorEntityManager
+	 *            proveedor de las unidades de trabajo en las que se consulta
+	 * @param tamanoMaximo
+	 *            n&uacute;mero m&aacute;ximo de productos en la cache
+	 * @param ttlSegundos
+	 *            tiempo de vida de las entradas, 0 si no expiran
+	 */
+	public RepositorioProductoCache(RepositorioProducto repositorioProducto,
+			ProveedorEntityManager proveedorEntityManager, int tamanoMaximo, long ttlSegundos) {
+		this.repositorioProducto = repositorioProducto;
+		this.proveedorEntityManager = proveedorEntityManager;
+		this.tamanoMaximo = tamanoMaximo;
+		this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+		this.productos = new LinkedHashMap<String, Entrada>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+				boolean expulsar = size() > RepositorioProductoCache.this.tamanoMaximo;
+				if (expulsar) {
+					expulsiones.increment();
+				}
+				return expulsar;
+			}
+		};
+	}
+
+	@Override
+	public Producto obtenerPorCodigo(String codigo) {
+
+		Producto producto = obtenerDeCache(codigo);
+		if (producto == null) {
+			producto = repositorioProducto.obtenerPorCodigo(codigo);
+			guardarAlConfirmar(producto);
+		}
+		return producto;
+	}
+
+	@Override
+	public Map<String, Producto> obtenerPorCodigos(Collection<String> codigos) {
+
+		Map<String, Producto> encontrados = new HashMap<>();
+		List<String> pendientes = new ArrayList<>();
+		for (String codigo : codigos) {
+			Producto producto = obtenerDeCache(codigo);
+			if (producto != null) {
+				encontrados.put(codigo, producto);
+			} else {
+				pendientes.add(codigo);
+			}
+		}
+
+		if (!pendientes.isEmpty()) {
+			for (Producto producto : repositorioProducto.obtenerPorCodigos(pendientes).values()) {
+				guardarAlConfirmar(producto);
+				encontrados.put(producto.getCodigo(), producto);
+			}
+		}
+		return encontrados;
+	}
+
+	@Override
+	public void agregar(Producto producto) {
+		invalidar(producto.getCodigo());
+		repositorioProducto.agregar(producto);
+	}
+
+	@Override
+	public void agregar(List<Producto> productos) {
+		for (Producto producto : productos) {
+			invalidar(producto.getCodigo());
+		}
+		repositorioProducto.agregar(productos);
+	}
+
+	/**
+	 * Permite retirar un producto de la cache
+	 *
+	 * @param codigo
+	 *            c&oacute;digo del producto
+	 */
+	public void invalidar(String codigo) {
+		Map<String, Producto> pendientesUnidad = pendientes.get();
+		if (pendientesUnidad != null) {
+			pendientesUnidad.remove(codigo);
+		}
+		synchronized (productos) {
+			productos.remove(codigo);
+		}
+	}
+
+	public long getAciertos() {
+		return aciertos.sum();
+	}
+
+	public long getFallos() {
+		return fallos.sum();
+	}
+
+	public long getExpulsiones() {
+		return expulsiones.sum();
+	}
+
+	public int getTamano() {
+		synchronized (productos) {
+			return productos.size();
+		}
+	}
+
+	private Producto obtenerDeCache(String codigo) {
+		Map<String, Producto> pendientesUnidad = pendientes.get();
+		Producto pendiente = pendientesUnidad != null ? pendientesUnidad.get(codigo) : null;
+		if (pendiente != null) {
+			aciertos.increment();
+			return pendiente;
+		}
+
+		Entrada entrada;
+		synchronized (productos) {
+			entrada = productos.get(codigo);
+			if (entrada != null && entrada.expirada(System.nanoTime())) {
+				productos.remove(codigo);
+				expulsiones.increment();
+				entrada = null;
+			}
+		}
+
+		if (entrada == null) {
+			fallos.increment();
+			return null;
+		}
+		aciertos.increment();
+		return entrada.producto;
+	}
+
+	private void guardarAlConfirmar(Producto producto) {
+		if (producto == null) {
+			return;
+		}
+		Map<String, Producto> pendientesUnidad = pendientes.get();
+		if (pendientesUnidad == null) {
+			pendientesUnidad = new HashMap<>();
+			proveedorEntityManager.registrarOyente(new GuardarPendientes(pendientesUnidad));
+			pendientes.set(pendientesUnidad);
+		}
+		pendientesUnidad.put(producto.getCodigo(), producto);
+	}
+
+	private void guardarEnCache(Collection<Producto> productosLeidos) {
+		long vencimiento = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+		synchronized (productos) {
+			for (Producto producto : productosLeidos) {
+				productos.put(producto.getCodigo(), new Entrada(producto, vencimiento));
+			}
+		}
+	}
+
+	/**
+	 * Guarda en la cache los productos le&iacute;dos en una unidad de trabajo
+	 * cuando se confirma
+	 */
+	private final class GuardarPendientes implements OyenteUnidadDeTrabajo {
+
+		private final Map<String, Producto> pendientesUnidad;
+
+		GuardarPendientes(Map<String, Producto> pendientesUnidad) {
+			this.pendientesUnidad = pendientesUnidad;
+		}
+
+		@Override
+		public void confirmada() {
+			pendientes.remove();
+			guardarEnCache(pendientesUnidad.values());
+		}
+
+		@Override
+		public void descartada() {
+			pendientes.remove();
+		}
+
+	}
+
+	private static final class Entrada {
+
+		private final Producto producto;
+		private final long vencimiento;
+
+		private Entrada(Producto producto, long vencimiento) {
+			this.producto = producto;
+			this.vencimiento = vencimiento;
+		}
+
+		private boolean expirada(long ahora) {
+			return vencimiento != 0 && ahora - vencimiento >= 0;
+		}
+	}
+
+}
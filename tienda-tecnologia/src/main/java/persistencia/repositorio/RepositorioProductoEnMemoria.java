@@ -0,0 +1,339 @@
+package persistencia.repositorio;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+
+/**
+ * Repositorio de productos en memoria para cat&aacute;logos grandes que se
+ * consultan mucho m&aacute;s de lo que se modifican. No guarda objetos
+ * {@link Producto}: cada producto es un registro contiguo en un &uacute;nico
+ * arreglo de bytes (precio, c&oacute;digo y nombre en UTF-8) y el &iacute;ndice
+ * por c&oacute;digo es una tabla de direccionamiento abierto con sondeo lineal
+ * que guarda el hash del c&oacute;digo y la posici&oacute;n de su registro.
+ * As&iacute; una consulta solo lee la tabla y el registro, dos accesos a
+ * memoria, y los productos se construyen solo al consultarlos.
+ *
+ * Las consultas usan lecturas optimistas de un {@link StampedLock}, por lo
+ * que no bloquean ni se bloquean entre s&iacute;; las escrituras toman el
+ * candado exclusivo. Al agregar un c&oacute;digo existente se escribe un
+ * registro nuevo y su posici&oacute;n en la tabla pasa a apuntarlo; el
+ * registro anterior queda sin uso en el arreglo de bytes
+ */
+public class RepositorioProductoEnMemoria implements RepositorioProducto {
+
+	private static final int CAPACIDAD_MINIMA = 16;
+	private static final double FACTOR_CARGA = 0.75;
+	private static final int LONGITUD_MAXIMA_TEXTO = 0xFFFF;
+	private static final int SIN_TEXTO = 0xFFFF;
+	private static final int BYTES_CABECERA_ARREGLO = 16;
+	private static final int LONGITUD_PRECIO = 8;
+
+	private final StampedLock candado = new StampedLock();
+
+	private long[] tabla;
+	private byte[] arena;
+	private int finArena;
+	private int cantidad;
+
+	public RepositorioProductoEnMemoria() {
+		this(CAPACIDAD_MINIMA);
+	}
+
+	/**
+	 * @param capacidadEsperada
+	 *            n&uacute;mero de productos para el que se reserva memoria
+	 *            inicialmente
+	 */
+	public RepositorioProductoEnMemoria(int capacidadEsperada) {
+		int capacidad = Math.max(CAPACIDAD_MINIMA, capacidadEsperada);
+		this.tabla = new long[capacidadTabla(capacidad)];
+		this.arena = new byte[capacidad * 32];
+	}
+
+	@Override
+	public Producto obtenerPorCodigo(String codigo) {
+		long sello = candado.tryOptimisticRead();
+		if (sello != 0) {
+			try {
+				Producto producto = buscar(codigo);
+				if (candado.validate(sello)) {
+					return producto;
+				}
+			} catch (RuntimeException e) {
+				// una escritura concurrente dejo la lectura inconsistente, se
+				// repite con el candado de lectura
+			}
+		}
+
+		sello = candado.readLock();
+		try {
+			return buscar(codigo);
+		} finally {
+			candado.unlockRead(sello);
+		}
+	}
+
+	@Override
+	public Map<String, Producto> obtenerPorCodigos(Collection<String> codigos) {
+		Map<String, Producto> productos = new HashMap<>();
+		for (String codigo : codigos) {
+			Producto producto = obtenerPorCodigo(codigo);
+			if (producto != null) {
+				productos.put(codigo, producto);
+			}
+		}
+		return productos;
+	}
+
+	@Override
+	public void agregar(Producto producto) {
+		long sello = candado.writeLock();
+		try {
+			guardar(producto);
+		} finally {
+			candado.unlockWrite(sello);
+		}
+	}
+
+	@Override
+	public void agregar(List<Producto> productos) {
+		long sello = candado.writeLock();
+		try {
+			for (Producto producto : productos) {
+				guardar(producto);
+			}
+		} finally {
+			candado.unlockWrite(sello);
+		}
+	}
+
+	public int getCantidad() {
+		long sello = candado.readLock();
+		try {
+			return cantidad;
+		} finally {
+			candado.unlockRead(sello);
+		}
+	}
+
+	/**
+	 * Permite conocer la memoria reservada por el repositorio: la tabla y el
+	 * arreglo de registros, incluida la capacidad a&uacute;n no usada
+	 *
+	 * @return bytes del heap ocupados por los arreglos del repositorio
+	 */
+	public long getMemoriaUsada() {
+		long sello = candado.readLock();
+		try {
+			return calcularMemoria();
+		} finally {
+			candado.unlockRead(sello);
+		}
+	}
+
+	/**
+	 * @return bytes del heap por producto guardado, ver
+	 *         {@link #getMemoriaUsada()}
+	 */
+	public double getBytesPorProducto() {
+		long sello = candado.readLock();
+		try {
+			return cantidad > 0 ? calcularMemoria() / (double) cantidad : 0;
+		} finally {
+			candado.unlockRead(sello);
+		}
+	}
+
+	private long calcularMemoria() {
+		return 2L * BYTES_CABECERA_ARREGLO + 8L * tabla.length + arena.length;
+	}
+
+	private Producto buscar(String codigo) {
+		long[] tablaActual = tabla;
+		int posicion = buscarPosicion(tablaActual, codigo, codigo.hashCode());
+		int inicio = registro(tablaActual[posicion]);
+		if (inicio < 0) {
+			return null;
+		}
+
+		byte[] bytes = arena;
+		double precio = Double.longBitsToDouble(leerLong(bytes, inicio));
+		int inicioCodigo = inicio + LONGITUD_PRECIO;
+		int inicioNombre = inicioCodigo + 2 + leerLongitud(bytes, inicioCodigo);
+		int longitudNombre = leerLongitud(bytes, inicioNombre);
+		String nombre = longitudNombre == SIN_TEXTO ? null : decodificar(bytes, inicioNombre + 2, longitudNombre);
+		return new Producto(codigo, nombre, precio);
+	}
+
+	/**
+	 * Busca la posici&oacute;n de la tabla que contiene el c&oacute;digo o,
+	 * si no est&aacute;, la posici&oacute;n vac&iacute;a donde se debe agregar.
+	 * Cada posici&oacute;n guarda el hash del c&oacute;digo en los 32 bits
+	 * altos y la posici&oacute;n del registro m&aacute;s uno en los bajos, de
+	 * modo que el sondeo solo compara bytes cuando los hash coinciden
+	 */
+	private int buscarPosicion(long[] tablaActual, String codigo, int hash) {
+		int mascara = tablaActual.length - 1;
+		int posicion = dispersar(hash) & mascara;
+		while (true) {
+			long entrada = tablaActual[posicion];
+			if (entrada == 0 || ((int) (entrada >>> 32) == hash && codigoIgual(registro(entrada), codigo))) {
+				return posicion;
+			}
+			posicion = (posicion + 1) & mascara;
+		}
+	}
+
+	private boolean codigoIgual(int registro, String codigo) {
+		byte[] bytes = arena;
+		int inicio = registro + LONGITUD_PRECIO;
+		int longitud = leerLongitud(bytes, inicio);
+		inicio += 2;
+		if (longitud == codigo.length()) {
+			boolean ascii = true;
+			for (int i = 0; i < longitud && ascii; i++) {
+				byte valor = bytes[inicio + i];
+				if (valor < 0) {
+					ascii = false;
+				} else if (valor != codigo.charAt(i)) {
+					return false;
+				}
+			}
+			if (ascii) {
+				return true;
+			}
+		}
+		return new String(bytes, inicio, longitud, StandardCharsets.UTF_8).equals(codigo);
+	}
+
+	private void guardar(Producto producto) {
+		String codigo = producto.getCodigo();
+		int hash = codigo.hashCode();
+		int posicion = buscarPosicion(tabla, codigo, hash);
+		if (tabla[posicion] == 0) {
+			if (cantidad + 1 > tabla.length * FACTOR_CARGA) {
+				redimensionarTabla();
+				posicion = buscarPosicion(tabla, codigo, hash);
+			}
+			cantidad++;
+		}
+
+		int inicio = escribirRegistro(producto.getPrecio(), codificar(codigo), codificar(producto.getNombre()));
+		tabla[posicion] = ((long) hash << 32) | (inicio + 1L);
+	}
+
+	private int escribirRegistro(double precio, byte[] codigo, byte[] nombre) {
+		int longitud = LONGITUD_PRECIO + 4 + codigo.length + (nombre != null ? nombre.length : 0);
+		if ((long) finArena + longitud > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("El catalogo supera el tamano maximo de textos");
+		}
+		if (finArena + longitud > arena.length) {
+			arena = Arrays.copyOf(arena, (int) Math.min(Integer.MAX_VALUE - 8,
+					Math.max((long) finArena + longitud, arena.length + (arena.length >> 1))));
+		}
+
+		int inicio = finArena;
+		long bitsPrecio = Double.doubleToRawLongBits(precio);
+		for (int i = 0; i < LONGITUD_PRECIO; i++) {
+			arena[inicio + i] = (byte) (bitsPrecio >>> (56 - 8 * i));
+		}
+		int inicioCodigo = inicio + LONGITUD_PRECIO;
+		escribirLongitud(inicioCodigo, codigo.length);
+		System.arraycopy(codigo, 0, arena, inicioCodigo + 2, codigo.length);
+		int inicioNombre = inicioCodigo + 2 + codigo.length;
+		if (nombre == null) {
+			escribirLongitud(inicioNombre, SIN_TEXTO);
+		} else {
+			escribirLongitud(inicioNombre, nombre.length);
+			System.arraycopy(nombre, 0, arena, inicioNombre + 2, nombre.length);
+		}
+		finArena += longitud;
+		return inicio;
+	}
+
+	private void escribirLongitud(int posicion, int longitud) {
+		arena[posicion] = (byte) (longitud >>> 8);
+		arena[posicion + 1] = (byte) longitud;
+	}
+
+	private void redimensionarTabla() {
+		long[] nuevaTabla = new long[tabla.length * 2];
+		int mascara = nuevaTabla.length - 1;
+		for (long entrada : tabla) {
+			if (entrada != 0) {
+				int posicion = dispersar((int) (entrada >>> 32)) & mascara;
+				while (nuevaTabla[posicion] != 0) {
+					posicion = (posicion + 1) & mascara;
+				}
+				nuevaTabla[posicion] = entrada;
+			}
+		}
+		tabla = nuevaTabla;
+	}
+
+	/**
+	 * @return posici&oacute;n en el arreglo de bytes del registro de una
+	 *         posici&oacute;n de la tabla, -1 si est&aacute; vac&iacute;a
+	 */
+	private static int registro(long entrada) {
+		return (int) entrada - 1;
+	}
+
+	/**
+	 * Los textos ASCII se copian directamente; el decodificador UTF-8 de la
+	 * JVM, que se crea en cada llamada, solo se usa para los dem&aacute;s
+	 */
+	private static String decodificar(byte[] bytes, int inicio, int longitud) {
+		char[] caracteres = new char[longitud];
+		for (int i = 0; i < longitud; i++) {
+			byte valor = bytes[inicio + i];
+			if (valor < 0) {
+				return new String(bytes, inicio, longitud, StandardCharsets.UTF_8);
+			}
+			caracteres[i] = (char) valor;
+		}
+		return new String(caracteres);
+	}
+
+	private static int leerLongitud(byte[] bytes, int posicion) {
+		return ((bytes[posicion] & 0xFF) << 8) | (bytes[posicion + 1] & 0xFF);
+	}
+
+	private static long leerLong(byte[] bytes, int posicion) {
+		long valor = 0;
+		for (int i = 0; i < LONGITUD_PRECIO; i++) {
+			valor = (valor << 8) | (bytes[posicion + i] & 0xFF);
+		}
+		return valor;
+	}
+
+	private static byte[] codificar(String texto) {
+		if (texto == null) {
+			return null;
+		}
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length >= LONGITUD_MAXIMA_TEXTO) {
+			throw new IllegalArgumentException("El texto supera la longitud maxima del catalogo: " + texto);
+		}
+		return bytes;
+	}
+
+	private static int dispersar(int hash) {
+		int mezcla = hash * 0x9E3779B9;
+		return mezcla ^ (mezcla >>> 16);
+	}
+
+	private static int capacidadTabla(int productos) {
+		int capacidad = Integer.highestOneBit((int) Math.ceil(productos / FACTOR_CARGA));
+		return capacidad < productos / FACTOR_CARGA ? capacidad * 2 : capacidad;
+	}
+
+}
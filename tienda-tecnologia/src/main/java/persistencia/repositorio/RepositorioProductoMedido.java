@@ -0,0 +1,69 @@
+package persistencia.repositorio;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import metricas.Metrica;
+import metricas.Metricas;
+
+/**
+ * Repositorio de productos que registra la latencia de cada m&eacute;todo
+ * del repositorio de origen en las {@link Metricas}
+ */
+public class RepositorioProductoMedido implements RepositorioProducto {
+
+	private static final Metrica OBTENER_POR_CODIGO = Metricas.obtener("repositorioProducto.obtenerPorCodigo");
+	private static final Metrica OBTENER_POR_CODIGOS = Metricas.obtener("repositorioProducto.obtenerPorCodigos");
+	private static final Metrica AGREGAR = Metricas.obtener("repositorioProducto.agregar");
+	private static final Metrica AGREGAR_LOTE = Metricas.obtener("repositorioProducto.agregarLote");
+
+	private final RepositorioProducto repositorioProducto;
+
+	public RepositorioProductoMedido(RepositorioProducto repositorioProducto) {
+		this.repositorioProducto = repositorioProducto;
+	}
+
+	@Override
+	public Producto obtenerPorCodigo(String codigo) {
+		long inicio = OBTENER_POR_CODIGO.iniciar();
+		try {
+			return repositorioProducto.obtenerPorCodigo(codigo);
+		} finally {
+			OBTENER_POR_CODIGO.registrar(inicio);
+		}
+	}
+
+	@Override
+	public Map<String, Producto> obtenerPorCodigos(Collection<String> codigos) {
+		long inicio = OBTENER_POR_CODIGOS.iniciar();
+		try {
+			return repositorioProducto.obtenerPorCodigos(codigos);
+		} finally {
+			OBTENER_POR_CODIGOS.registrar(inicio);
+		}
+	}
+
+	@Override
+	public void agregar(Producto producto) {
+		long inicio = AGREGAR.iniciar();
+		try {
+			repositorioProducto.agregar(producto);
+		} finally {
+			AGREGAR.registrar(inicio);
+		}
+	}
+
+	@Override
+	public void agregar(List<Producto> productos) {
+		long inicio = AGREGAR_LOTE.iniciar();
+		try {
+			repositorioProducto.agregar(productos);
+		} finally {
+			AGREGAR_LOTE.registrar(inicio);
+		}
+	}
+
+}
@@ -1,23 +1,39 @@
 package persistencia.repositorio;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 
 import dominio.Producto;
 import dominio.repositorio.RepositorioProducto;
 import persistencia.builder.ProductoBuilder;
+import persistencia.conexion.ProveedorEntityManager;
+import persistencia.conexion.ProveedorEntityManagerFijo;
 import persistencia.entitad.ProductoEntity;
 import persistencia.repositorio.jpa.RepositorioProductoJPA;
 
 public class RepositorioProductoPersistente implements RepositorioProducto, RepositorioProductoJPA {
 
 	private static final String CODIGO = "codigo";
+	private static final String CODIGOS = "codigos";
 	private static final String PRODUCTO_FIND_BY_CODIGO = "Producto.findByCodigo";
+	private static final String PRODUCTO_FIND_BY_CODIGOS = "Producto.findByCodigos";
+	static final int MAXIMO_CODIGOS_POR_CONSULTA = 500;
 	
-	private EntityManager entityManager;
+	private ProveedorEntityManager proveedorEntityManager;
 
 	public RepositorioProductoPersistente(EntityManager entityManager) {
-		this.entityManager = entityManager;
+		this(new ProveedorEntityManagerFijo(entityManager));
+	}
+
+	public RepositorioProductoPersistente(ProveedorEntityManager proveedorEntityManager) {
+		this.proveedorEntityManager = proveedorEntityManager;
 	}
 
 	@Override
@@ -26,21 +42,60 @@ public class RepositorioProductoPersistente implements RepositorioProducto, Repo
 		ProductoEntity productoEntity = obtenerProductoEntityPorCodigo(codigo);
 		return ProductoBuilder.convertirADominio(productoEntity);
 	}
+
+	@Override
+	public Map<String, Producto> obtenerPorCodigos(Collection<String> codigos) {
+
+		Map<String, Producto> productos = new HashMap<>();
+		for (ProductoEntity productoEntity : obtenerProductosEntityPorCodigos(codigos).values()) {
+			productos.put(productoEntity.getCodigo(), ProductoBuilder.convertirADominio(productoEntity));
+		}
+		return productos;
+	}
 	
 	@Override
 	public ProductoEntity obtenerProductoEntityPorCodigo(String codigo) {
 		
-		Query query = entityManager.createNamedQuery(PRODUCTO_FIND_BY_CODIGO);
+		Query query = entityManager().createNamedQuery(PRODUCTO_FIND_BY_CODIGO);
 		query.setParameter(CODIGO, codigo);
 
 		return (ProductoEntity) query.getSingleResult();
 	}
 
+	@Override
+	public Map<String, ProductoEntity> obtenerProductosEntityPorCodigos(Collection<String> codigos) {
+
+		Map<String, ProductoEntity> productos = new HashMap<>();
+		List<String> listaCodigos = new ArrayList<>(codigos);
+		for (int inicio = 0; inicio < listaCodigos.size(); inicio += MAXIMO_CODIGOS_POR_CONSULTA) {
+			int fin = Math.min(inicio + MAXIMO_CODIGOS_POR_CONSULTA, listaCodigos.size());
+
+			TypedQuery<ProductoEntity> query = entityManager().createNamedQuery(PRODUCTO_FIND_BY_CODIGOS,
+					ProductoEntity.class);
+			query.setParameter(CODIGOS, listaCodigos.subList(inicio, fin));
+
+			for (ProductoEntity productoEntity : query.getResultList()) {
+				productos.put(productoEntity.getCodigo(), productoEntity);
+			}
+		}
+		return productos;
+	}
+
 	@Override
 	public void agregar(Producto producto) {
-		entityManager.persist(ProductoBuilder.convertirAEntity(producto));
+		entityManager().persist(ProductoBuilder.convertirAEntity(producto));
 	}	
 
-	
+	@Override
+	public void agregar(List<Producto> productos) {
+		EntityManager entityManager = entityManager();
+		for (Producto producto : productos) {
+			entityManager.persist(ProductoBuilder.convertirAEntity(producto));
+		}
+	}
+
+	private EntityManager entityManager() {
+		return proveedorEntityManager.obtenerEntityManager();
+	}
 
 }
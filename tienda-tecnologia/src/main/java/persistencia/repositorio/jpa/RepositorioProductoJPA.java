@@ -1,5 +1,8 @@
 package persistencia.repositorio.jpa;
 
+import java.util.Collection;
+import java.util.Map;
+
 import persistencia.entitad.ProductoEntity;
 
 public interface RepositorioProductoJPA {
@@ -11,4 +14,12 @@ public interface RepositorioProductoJPA {
 	 */
 	ProductoEntity obtenerProductoEntityPorCodigo(String codigo);
 
+	/**
+	 * Permite obtener en una sola consulta los productos entity de un grupo de
+	 * codigos
+	 * @param codigos
+	 * @return productos entity encontrados indexados por codigo
+	 */
+	Map<String, ProductoEntity> obtenerProductosEntityPorCodigos(Collection<String> codigos);
+
 }
@@ -0,0 +1,173 @@
+package persistencia.sistema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import persistencia.repositorio.ConsistenciaLectura;
+
+/**
+ * Configuraci&oacute;n del sistema de persistencia. Se lee del archivo
+ * <tt>tienda.properties</tt> del classpath, si existe, y cada valor
+ * <tt>tienda.*</tt> puede sobrescribirse con una propiedad del sistema con la
+ * misma clave. Las claves <tt>javax.persistence.*</tt>, <tt>hibernate.*</tt>,
+ * <tt>tienda.secuencia.*</tt> y <tt>tienda.sql.*</tt> se pasan a la unidad de
+ * persistencia
+ */
+public class ConfiguracionPersistencia {
+
+	private static final String ARCHIVO_CONFIGURACION = "tienda.properties";
+	private static final String PREFIJO_JPA = "javax.persistence.";
+	private static final String PREFIJO_HIBERNATE = "hibernate.";
+	private static final String PREFIJO_SECUENCIA = "tienda.secuencia.";
+	private static final String PREFIJO_SQL = "tienda.sql.";
+
+	static final String CACHE_PRODUCTOS_HABILITADA = "tienda.cache.productos.habilitada";
+	static final String CACHE_PRODUCTOS_TAMANO = "tienda.cache.productos.tamano";
+	static final String CACHE_PRODUCTOS_TTL_SEGUNDOS = "tienda.cache.productos.ttl.segundos";
+	static final String INDICE_GARANTIAS_HABILITADO = "tienda.indice.garantias.habilitado";
+	static final String INDICE_GARANTIAS_CAPACIDAD = "tienda.indice.garantias.capacidad";
+	static final String PROYECCION_GARANTIAS_HABILITADA = "tienda.proyeccion.garantias.habilitada";
+	static final String PROYECCION_GARANTIAS_CONSISTENCIA = "tienda.proyeccion.garantias.consistencia";
+	static final String METRICAS_HABILITADAS = "tienda.metricas.habilitadas";
+	static final String METRICAS_ARCHIVO = "tienda.metricas.archivo";
+	static final String METRICAS_INTERVALO_SEGUNDOS = "tienda.metricas.intervalo.segundos";
+	static final String FESTIVOS = "tienda.calendario.festivos";
+
+	private final Properties propiedades;
+
+	public ConfiguracionPersistencia(Properties propiedades) {
+		this.propiedades = propiedades;
+	}
+
+	/**
+	 * Permite cargar la configuraci&oacute;n del classpath y de las
+	 * propiedades del sistema
+	 * 
+	 * @return configuraci&oacute;n cargada
+	 */
+	public static ConfiguracionPersistencia cargar() {
+		Properties propiedades = new Properties();
+		try (InputStream archivo = ConfiguracionPersistencia.class.getClassLoader()
+				.getResourceAsStream(ARCHIVO_CONFIGURACION)) {
+			if (archivo != null) {
+				propiedades.load(archivo);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("No fue posible leer " + ARCHIVO_CONFIGURACION, e);
+		}
+		for (String clave : System.getProperties().stringPropertyNames()) {
+			if (clave.startsWith("tienda.")) {
+				propiedades.setProperty(clave, System.getProperty(clave));
+			}
+		}
+		return new ConfiguracionPersistencia(propiedades);
+	}
+
+	/**
+	 * @return propiedades <tt>javax.persistence.*</tt>, <tt>hibernate.*</tt>,
+	 *         <tt>tienda.secuencia.*</tt> y <tt>tienda.sql.*</tt> que
+	 *         sobrescriben las de persistence.xml
+	 */
+	public Map<String, Object> getPropiedadesJPA() {
+		Map<String, Object> propiedadesJPA = new HashMap<>();
+		for (String clave : propiedades.stringPropertyNames()) {
+			if (clave.startsWith(PREFIJO_JPA) || clave.startsWith(PREFIJO_HIBERNATE)
+					|| clave.startsWith(PREFIJO_SECUENCIA) || clave.startsWith(PREFIJO_SQL)) {
+				propiedadesJPA.put(clave, propiedades.getProperty(clave));
+			}
+		}
+		return propiedadesJPA;
+	}
+
+	public boolean isCacheProductosHabilitada() {
+		return obtenerBooleano(CACHE_PRODUCTOS_HABILITADA, false);
+	}
+
+	public int getTamanoCacheProductos() {
+		return (int) obtenerNumero(CACHE_PRODUCTOS_TAMANO, 10_000);
+	}
+
+	/**
+	 * @return tiempo de vida de las entradas de la cache de productos, 0 si
+	 *         no expiran
+	 */
+	public long getTtlCacheProductosSegundos() {
+		return obtenerNumero(CACHE_PRODUCTOS_TTL_SEGUNDOS, 0);
+	}
+
+	public boolean isIndiceGarantiasHabilitado() {
+		return obtenerBooleano(INDICE_GARANTIAS_HABILITADO, false);
+	}
+
+	public long getCapacidadIndiceGarantias() {
+		return obtenerNumero(INDICE_GARANTIAS_CAPACIDAD, 100_000);
+	}
+
+	public boolean isProyeccionGarantiasHabilitada() {
+		return obtenerBooleano(PROYECCION_GARANTIAS_HABILITADA, false);
+	}
+
+	/**
+	 * @return consistencia de las consultas de la proyecci&oacute;n de
+	 *         garant&iacute;as cuando no se indica otra
+	 */
+	public ConsistenciaLectura getConsistenciaProyeccionGarantias() {
+		String valor = propiedades.getProperty(PROYECCION_GARANTIAS_CONSISTENCIA);
+		return valor != null ? ConsistenciaLectura.valueOf(valor.trim()) : ConsistenciaLectura.EVENTUAL;
+	}
+
+	public boolean isMetricasHabilitadas() {
+		return obtenerBooleano(METRICAS_HABILITADAS, false);
+	}
+
+	/**
+	 * @return archivo en el que se vuelcan peri&oacute;dicamente las
+	 *         m&eacute;tricas, <tt>null</tt> si no se vuelcan
+	 */
+	public String getArchivoMetricas() {
+		String archivo = propiedades.getProperty(METRICAS_ARCHIVO);
+		return archivo != null && !archivo.trim().isEmpty() ? archivo.trim() : null;
+	}
+
+	public long getIntervaloMetricasSegundos() {
+		return obtenerNumero(METRICAS_INTERVALO_SEGUNDOS, 60);
+	}
+
+	/**
+	 * @return festivos nacionales que no se cuentan como d&iacute;as
+	 *         h&aacute;biles, separados por coma en formato
+	 *         <tt>yyyy-MM-dd</tt>; <tt>null</tt> si la clave no existe o
+	 *         est&aacute; vac&iacute;a, para conservar los festivos del
+	 *         calendario
+	 */
+	public List<LocalDate> getFestivos() {
+		String valor = propiedades.getProperty(FESTIVOS);
+		if (valor == null || valor.trim().isEmpty()) {
+			return null;
+		}
+		List<LocalDate> festivos = new ArrayList<>();
+		for (String festivo : valor.split(",")) {
+			if (!festivo.trim().isEmpty()) {
+				festivos.add(LocalDate.parse(festivo.trim()));
+			}
+		}
+		return festivos;
+	}
+
+	private boolean obtenerBooleano(String clave, boolean valorPorDefecto) {
+		String valor = propiedades.getProperty(clave);
+		return valor != null ? Boolean.parseBoolean(valor.trim()) : valorPorDefecto;
+	}
+
+	private long obtenerNumero(String clave, long valorPorDefecto) {
+		String valor = propiedades.getProperty(clave);
+		return valor != null ? Long.parseLong(valor.trim()) : valorPorDefecto;
+	}
+
+}
@@ -0,0 +1,50 @@
+package persistencia.sistema;
+
+/**
+ * Contadores de una regi&oacute;n de la cache de segundo nivel
+ */
+public class EstadisticasRegionCache {
+
+	private String region;
+	private long aciertos;
+	private long fallos;
+	private long escrituras;
+	private long elementosEnMemoria;
+
+	public EstadisticasRegionCache(String region, long aciertos, long fallos, long escrituras,
+			long elementosEnMemoria) {
+
+		this.region = region;
+		this.aciertos = aciertos;
+		this.fallos = fallos;
+		this.escrituras = escrituras;
+		this.elementosEnMemoria = elementosEnMemoria;
+	}
+
+	public String getRegion() {
+		return region;
+	}
+
+	public long getAciertos() {
+		return aciertos;
+	}
+
+	public long getFallos() {
+		return fallos;
+	}
+
+	public long getEscrituras() {
+		return escrituras;
+	}
+
+	public long getElementosEnMemoria() {
+		return elementosEnMemoria;
+	}
+
+	@Override
+	public String toString() {
+		return region + " aciertos=" + aciertos + " fallos=" + fallos + " escrituras=" + escrituras
+				+ " elementos=" + elementosEnMemoria;
+	}
+
+}
@@ -1,34 +1,322 @@
 package persistencia.sistema;
 
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
 
 import dominio.repositorio.RepositorioProducto;
 import dominio.repositorio.RepositorioGarantiaExtendida;
+import metricas.Metrica;
+import metricas.Metricas;
+import metricas.VolcadorMetricas;
 import persistencia.conexion.ConexionJPA;
+import persistencia.conexion.OyenteUnidadDeTrabajo;
+import persistencia.conexion.ProveedorEntityManager;
+import persistencia.repositorio.ConsistenciaLectura;
+import persistencia.repositorio.ProyeccionGarantias;
+import persistencia.repositorio.RepositorioGarantiaIndexado;
+import persistencia.repositorio.RepositorioGarantiaMedido;
+import persistencia.repositorio.RepositorioGarantiaProyectado;
+import persistencia.repositorio.RepositorioProductoCache;
+import persistencia.repositorio.RepositorioProductoMedido;
 import persistencia.repositorio.RepositorioProductoPersistente;
 import persistencia.repositorio.RepositorioGarantiaPersistente;
+import utilidades.CalendarUtils;
+
+/**
+ * Administra las unidades de trabajo de la persistencia. Cada hilo que llama
+ * {@link #iniciar()} obtiene su propio {@link EntityManager}, el cual se cierra
+ * en {@link #terminar()} o {@link #deshacer()}; los repositorios usan siempre
+ * el entity manager de la unidad de trabajo del hilo que los invoca.
+ *
+ * Si las m&eacute;tricas est&aacute;n habilitadas en la configuraci&oacute;n,
+ * los repositorios entregados registran la latencia de cada m&eacute;todo y
+ * se mide el tiempo de cada commit. Las m&eacute;tricas son de la JVM, por
+ * eso quedan habilitadas mientras alg&uacute;n sistema que las habilit&oacute;
+ * siga abierto
+ */
+public class SistemaDePersistencia implements ProveedorEntityManager {
 
-public class SistemaDePersistencia {
+	private static final String SIN_UNIDAD_DE_TRABAJO = "No hay una unidad de trabajo activa en este hilo, se debe llamar iniciar()";
+	private static final String UNIDAD_DE_TRABAJO_ACTIVA = "Ya existe una unidad de trabajo activa en este hilo";
+	private static final Metrica COMMIT = Metricas.obtener("sistemaDePersistencia.commit");
+	private static final AtomicInteger SISTEMAS_CON_METRICAS = new AtomicInteger();
 
-	private EntityManager entityManager;
+	private final ConexionJPA conexionJPA;
+	private final ThreadLocal<EntityManager> unidadDeTrabajo = new ThreadLocal<>();
+	private final ThreadLocal<List<OyenteUnidadDeTrabajo>> oyentes = new ThreadLocal<>();
+	private final RepositorioProductoCache repositorioProductoCache;
+	private final RepositorioGarantiaIndexado repositorioGarantiaIndexado;
+	private final ProyeccionGarantias proyeccionGarantias;
+	private final ConsistenciaLectura consistenciaLectura;
+	private final boolean medirRepositorios;
+	private final VolcadorMetricas volcadorMetricas;
 
 	public SistemaDePersistencia() {
-		this.entityManager = new ConexionJPA().createEntityManager();
+		this(ConfiguracionPersistencia.cargar());
+	}
+
+	public SistemaDePersistencia(ConfiguracionPersistencia configuracion) {
+		List<LocalDate> festivos = configuracion.getFestivos();
+		if (festivos != null) {
+			CalendarUtils.configurarFestivos(festivos);
+		}
+		this.conexionJPA = new ConexionJPA(configuracion.getPropiedadesJPA());
+		this.repositorioProductoCache = configuracion.isCacheProductosHabilitada()
+				? new RepositorioProductoCache(new RepositorioProductoPersistente(this), this,
+						configuracion.getTamanoCacheProductos(), configuracion.getTtlCacheProductosSegundos())
+				: null;
+		this.repositorioGarantiaIndexado = configuracion.isIndiceGarantiasHabilitado()
+				? crearRepositorioGarantiaIndexado(configuracion.getCapacidadIndiceGarantias())
+				: null;
+		this.proyeccionGarantias = configuracion.isProyeccionGarantiasHabilitada() ? crearProyeccionGarantias()
+				: null;
+		this.consistenciaLectura = configuracion.getConsistenciaProyeccionGarantias();
+
+		this.medirRepositorios = configuracion.isMetricasHabilitadas();
+		if (medirRepositorios && SISTEMAS_CON_METRICAS.getAndIncrement() == 0) {
+			Metricas.setHabilitadas(true);
+		}
+		this.volcadorMetricas = medirRepositorios && configuracion.getArchivoMetricas() != null
+				? new VolcadorMetricas(Paths.get(configuracion.getArchivoMetricas()),
+						configuracion.getIntervaloMetricasSegundos())
+				: null;
 	}
 
 	public RepositorioProducto obtenerRepositorioProductos() {
-		return new RepositorioProductoPersistente(entityManager);
+		RepositorioProducto repositorioProducto = repositorioProductoCache != null ? repositorioProductoCache
+				: new RepositorioProductoPersistente(this);
+		return medirRepositorios ? new RepositorioProductoMedido(repositorioProducto) : repositorioProducto;
 	}
-	
+
 	public RepositorioGarantiaExtendida obtenerRepositorioGarantia() {
-		return new RepositorioGarantiaPersistente(entityManager, this.obtenerRepositorioProductos());
+		return obtenerRepositorioGarantia(consistenciaLectura);
+	}
+
+	/**
+	 * Permite obtener el repositorio de garant&iacute;as indicando la
+	 * consistencia de las consultas del estado de las garant&iacute;as; la
+	 * consistencia solo aplica si la proyecci&oacute;n de garant&iacute;as
+	 * est&aacute; habilitada, de lo contrario las consultas van a la base de
+	 * datos
+	 *
+	 * @param consistencia
+	 *            consistencia de las consultas
+	 * @return repositorio de garant&iacute;as
+	 */
+	public RepositorioGarantiaExtendida obtenerRepositorioGarantia(ConsistenciaLectura consistencia) {
+		RepositorioGarantiaExtendida repositorioGarantia = repositorioGarantiaIndexado != null
+				? repositorioGarantiaIndexado
+				: crearRepositorioGarantiaPersistente();
+		if (proyeccionGarantias != null) {
+			repositorioGarantia = new RepositorioGarantiaProyectado(repositorioGarantia, proyeccionGarantias,
+					consistencia);
+		}
+		return medirRepositorios ? new RepositorioGarantiaMedido(repositorioGarantia) : repositorioGarantia;
 	}
 
+	/**
+	 * Inicia una unidad de trabajo para el hilo actual
+	 */
 	public void iniciar() {
+		if (unidadDeTrabajo.get() != null) {
+			throw new IllegalStateException(UNIDAD_DE_TRABAJO_ACTIVA);
+		}
+		EntityManager entityManager = conexionJPA.createEntityManager();
+		unidadDeTrabajo.set(entityManager);
 		entityManager.getTransaction().begin();
 	}
 
+	/**
+	 * Confirma y cierra la unidad de trabajo del hilo actual
+	 */
 	public void terminar() {
-		entityManager.getTransaction().commit();
+		EntityManager entityManager = obtenerEntityManager();
+		long inicio = COMMIT.iniciar();
+		boolean confirmada = false;
+		try {
+			entityManager.getTransaction().commit();
+			confirmada = true;
+		} finally {
+			COMMIT.registrar(inicio);
+			notificar(cerrar(entityManager), confirmada);
+		}
+	}
+
+	/**
+	 * Descarta los cambios y cierra la unidad de trabajo del hilo actual
+	 */
+	public void deshacer() {
+		EntityManager entityManager = obtenerEntityManager();
+		try {
+			EntityTransaction transaccion = entityManager.getTransaction();
+			if (transaccion.isActive()) {
+				transaccion.rollback();
+			}
+		} finally {
+			notificar(cerrar(entityManager), false);
+		}
+	}
+
+	/**
+	 * Ejecuta una operaci&oacute;n dentro de su propia unidad de trabajo,
+	 * confirm&aacute;ndola si termina bien y deshaci&eacute;ndola si lanza una
+	 * excepci&oacute;n
+	 *
+	 * @param operacion
+	 *            operaci&oacute;n a ejecutar
+	 * @return resultado de la operaci&oacute;n
+	 */
+	public <T> T ejecutarEnTransaccion(Supplier<T> operacion) {
+		iniciar();
+		T resultado;
+		try {
+			resultado = operacion.get();
+		} catch (RuntimeException e) {
+			deshacer();
+			throw e;
+		}
+		terminar();
+		return resultado;
+	}
+
+	/**
+	 * Ejecuta una operaci&oacute;n sin resultado dentro de su propia unidad de
+	 * trabajo, ver {@link #ejecutarEnTransaccion(Supplier)}
+	 *
+	 * @param operacion
+	 *            operaci&oacute;n a ejecutar
+	 */
+	public void ejecutarEnTransaccion(Runnable operacion) {
+		ejecutarEnTransaccion(() -> {
+			operacion.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Cierra la unidad de persistencia y sus conexiones, escribe el
+	 * &uacute;ltimo volcado de m&eacute;tricas y deshabilita las m&eacute;tricas
+	 * si este era el &uacute;ltimo sistema abierto que las habilit&oacute;
+	 */
+	public void cerrar() {
+		if (volcadorMetricas != null) {
+			volcadorMetricas.cerrar();
+		}
+		if (medirRepositorios && SISTEMAS_CON_METRICAS.decrementAndGet() == 0) {
+			Metricas.setHabilitadas(false);
+		}
+		conexionJPA.cerrar();
+	}
+
+	/**
+	 * Permite consultar los contadores de las regiones de la cache de segundo
+	 * nivel y de la cache de consultas. Los contadores solo se actualizan si
+	 * <tt>hibernate.generate_statistics</tt> est&aacute; habilitado
+	 *
+	 * @return estad&iacute;sticas de cada regi&oacute;n
+	 */
+	public List<EstadisticasRegionCache> obtenerEstadisticasCache() {
+		Statistics estadisticas = obtenerEstadisticas();
+
+		List<EstadisticasRegionCache> regiones = new ArrayList<>();
+		for (String region : estadisticas.getSecondLevelCacheRegionNames()) {
+			SecondLevelCacheStatistics estadisticasRegion = estadisticas.getSecondLevelCacheStatistics(region);
+			regiones.add(new EstadisticasRegionCache(region, estadisticasRegion.getHitCount(),
+					estadisticasRegion.getMissCount(), estadisticasRegion.getPutCount(),
+					estadisticasRegion.getElementCountInMemory()));
+		}
+		return regiones;
+	}
+
+	/**
+	 * Permite consultar las estad&iacute;sticas de Hibernate de la unidad de
+	 * persistencia: sentencias, cargas de entidades, flushes, cache, etc.
+	 * Solo se actualizan si <tt>hibernate.generate_statistics</tt> est&aacute;
+	 * habilitado
+	 *
+	 * @return estad&iacute;sticas acumuladas
+	 */
+	public Statistics obtenerEstadisticas() {
+		return conexionJPA.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Override
+	public EntityManager obtenerEntityManager() {
+		EntityManager entityManager = unidadDeTrabajo.get();
+		if (entityManager == null) {
+			throw new IllegalStateException(SIN_UNIDAD_DE_TRABAJO);
+		}
+		return entityManager;
+	}
+
+	private RepositorioGarantiaPersistente crearRepositorioGarantiaPersistente() {
+		return new RepositorioGarantiaPersistente(this, new RepositorioProductoPersistente(this));
+	}
+
+	private RepositorioGarantiaIndexado crearRepositorioGarantiaIndexado(long capacidad) {
+		RepositorioGarantiaPersistente repositorioGarantia = crearRepositorioGarantiaPersistente();
+		List<String> codigosConGarantia = ejecutarEnTransaccion(
+				() -> repositorioGarantia.obtenerCodigosConGarantia());
+		return new RepositorioGarantiaIndexado(repositorioGarantia, codigosConGarantia, capacidad);
+	}
+
+	private ProyeccionGarantias crearProyeccionGarantias() {
+		ProyeccionGarantias proyeccion = new ProyeccionGarantias(this);
+		RepositorioGarantiaPersistente repositorioGarantia = crearRepositorioGarantiaPersistente();
+		ejecutarEnTransaccion(() -> proyeccion.reconstruir(repositorioGarantia));
+		return proyeccion;
+	}
+
+	/**
+	 * Los oyentes se notifican despu&eacute;s de cerrar la unidad de trabajo,
+	 * en el orden en que se registraron
+	 */
+	@Override
+	public void registrarOyente(OyenteUnidadDeTrabajo oyente) {
+		obtenerEntityManager();
+		List<OyenteUnidadDeTrabajo> oyentesUnidad = oyentes.get();
+		if (oyentesUnidad == null) {
+			oyentesUnidad = new ArrayList<>();
+			oyentes.set(oyentesUnidad);
+		}
+		oyentesUnidad.add(oyente);
+	}
+
+	/**
+	 * Cierra la unidad de trabajo
+	 *
+	 * @return oyentes registrados en la unidad de trabajo, <tt>null</tt> si no
+	 *         hay ninguno
+	 */
+	private List<OyenteUnidadDeTrabajo> cerrar(EntityManager entityManager) {
+		List<OyenteUnidadDeTrabajo> oyentesUnidad = oyentes.get();
+		oyentes.remove();
+		unidadDeTrabajo.remove();
+		entityManager.close();
+		return oyentesUnidad;
+	}
+
+	private static void notificar(List<OyenteUnidadDeTrabajo> oyentesUnidad, boolean confirmada) {
+		if (oyentesUnidad == null) {
+			return;
+		}
+		for (OyenteUnidadDeTrabajo oyente : oyentesUnidad) {
+			if (confirmada) {
+				oyente.confirmada();
+			} else {
+				oyente.descartada();
+			}
+		}
 	}
 }
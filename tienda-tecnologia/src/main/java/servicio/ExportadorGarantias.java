@@ -0,0 +1,214 @@
+package servicio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import persistencia.sistema.SistemaDePersistencia;
+import utilidades.JsonUtils;
+
+/**
+ * Exporta todas las garant&iacute;as a un archivo CSV o JSON Lines, comprimido
+ * o no con gzip, para los reportes. Las garant&iacute;as se recorren con
+ * {@link RepositorioGarantiaExtendida#recorrer(java.util.function.Consumer)}
+ * dentro de una unidad de trabajo y cada fila se codifica en un buffer de
+ * tama&ntilde;o fijo que se escribe al canal del archivo cuando se llena, por
+ * lo que la memoria no depende del n&uacute;mero de garant&iacute;as.
+ *
+ * Las fechas se escriben en formato ISO-8601 (a&ntilde;o, mes y d&iacute;a) y
+ * los precios sin notaci&oacute;n cient&iacute;fica
+ */
+public class ExportadorGarantias {
+
+	static final String[] COLUMNAS = { "codigo", "nombre", "precioProducto", "fechaSolicitudGarantia",
+			"fechaFinGarantia", "precioGarantia", "nombreCliente" };
+
+	private static final int TAMANO_BUFFER = 64 * 1024;
+	private static final char SEPARADOR = ',';
+	private static final char COMILLAS = '"';
+	private static final char FIN_DE_LINEA = '\n';
+
+	private final SistemaDePersistencia sistemaPersistencia;
+	private final RepositorioGarantiaExtendida repositorioGarantia;
+
+	public ExportadorGarantias(SistemaDePersistencia sistemaPersistencia) {
+		this.sistemaPersistencia = sistemaPersistencia;
+		this.repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
+	}
+
+	/**
+	 * Exporta las garant&iacute;as, reemplazando el archivo si existe. El hilo
+	 * que llama no debe tener una unidad de trabajo activa
+	 *
+	 * @param archivo
+	 *            archivo de destino
+	 * @param formato
+	 *            formato de las filas
+	 * @param comprimir
+	 *            <tt>true</tt> para comprimir el archivo con gzip
+	 * @return garant&iacute;as exportadas
+	 * @throws IOException
+	 *             si falla la escritura del archivo
+	 */
+	public long exportar(Path archivo, FormatoExportacion formato, boolean comprimir) throws IOException {
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+				WritableByteChannel salida = comprimir
+						? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(canal), TAMANO_BUFFER))
+						: canal) {
+			Escritor escritor = new Escritor(salida, formato);
+			try {
+				sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioGarantia.recorrer(escritor::escribir));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			escritor.vaciar();
+			return escritor.filas;
+		}
+	}
+
+	/**
+	 * Codifica las filas en UTF-8 sobre un buffer que se vac&iacute;a en el
+	 * canal cuando no cabe la siguiente fila
+	 */
+	private static class Escritor {
+
+		private final WritableByteChannel canal;
+		private final FormatoExportacion formato;
+		private final ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+		private final StringBuilder fila = new StringBuilder();
+		private long filas;
+
+		Escritor(WritableByteChannel canal, FormatoExportacion formato) throws IOException {
+			this.canal = canal;
+			this.formato = formato;
+			if (formato == FormatoExportacion.CSV) {
+				fila.append(String.join(String.valueOf(SEPARADOR), COLUMNAS)).append(FIN_DE_LINEA);
+				agregar(fila.toString().getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		void escribir(GarantiaExtendida garantia) {
+			fila.setLength(0);
+			if (formato == FormatoExportacion.CSV) {
+				formatearCsv(garantia);
+			} else {
+				formatearJson(garantia);
+			}
+			fila.append(FIN_DE_LINEA);
+			try {
+				agregar(fila.toString().getBytes(StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			filas++;
+		}
+
+		void vaciar() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		private void agregar(byte[] bytes) throws IOException {
+			if (bytes.length > buffer.remaining()) {
+				vaciar();
+			}
+			if (bytes.length > buffer.capacity()) {
+				ByteBuffer grande = ByteBuffer.wrap(bytes);
+				while (grande.hasRemaining()) {
+					canal.write(grande);
+				}
+			} else {
+				buffer.put(bytes);
+			}
+		}
+
+		private void formatearCsv(GarantiaExtendida garantia) {
+			Producto producto = garantia.getProducto();
+			agregarCampoCsv(producto.getCodigo());
+			fila.append(SEPARADOR);
+			agregarCampoCsv(producto.getNombre());
+			fila.append(SEPARADOR).append(formatearPrecio(producto.getPrecio())).append(SEPARADOR);
+			agregarCampoCsv(formatearFecha(garantia.getDiaSolicitudGarantia()));
+			fila.append(SEPARADOR);
+			agregarCampoCsv(formatearFecha(garantia.getDiaFinGarantia()));
+			fila.append(SEPARADOR).append(formatearPrecio(garantia.getPrecioGarantia())).append(SEPARADOR);
+			agregarCampoCsv(garantia.getNombreCliente());
+		}
+
+		private void agregarCampoCsv(String campo) {
+			if (campo == null) {
+				return;
+			}
+			boolean entreComillas = false;
+			for (int i = 0; i < campo.length() && !entreComillas; i++) {
+				char caracter = campo.charAt(i);
+				entreComillas = caracter == SEPARADOR || caracter == COMILLAS || caracter == FIN_DE_LINEA
+						|| caracter == '\r';
+			}
+			if (!entreComillas) {
+				fila.append(campo);
+				return;
+			}
+			fila.append(COMILLAS);
+			for (int i = 0; i < campo.length(); i++) {
+				char caracter = campo.charAt(i);
+				if (caracter == COMILLAS) {
+					fila.append(COMILLAS);
+				}
+				fila.append(caracter);
+			}
+			fila.append(COMILLAS);
+		}
+
+		private void formatearJson(GarantiaExtendida garantia) {
+			Producto producto = garantia.getProducto();
+			fila.append('{');
+			agregarPropiedadJson(0, producto.getCodigo());
+			agregarPropiedadJson(1, producto.getNombre());
+			agregarNombreJson(2).append(formatearPrecio(producto.getPrecio()));
+			agregarPropiedadJson(3, formatearFecha(garantia.getDiaSolicitudGarantia()));
+			agregarPropiedadJson(4, formatearFecha(garantia.getDiaFinGarantia()));
+			agregarNombreJson(5).append(formatearPrecio(garantia.getPrecioGarantia()));
+			agregarPropiedadJson(6, garantia.getNombreCliente());
+			fila.append('}');
+		}
+
+		private void agregarPropiedadJson(int columna, String valor) {
+			JsonUtils.agregarCadena(agregarNombreJson(columna), valor);
+		}
+
+		private StringBuilder agregarNombreJson(int columna) {
+			if (columna > 0) {
+				fila.append(SEPARADOR);
+			}
+			return fila.append(COMILLAS).append(COLUMNAS[columna]).append(COMILLAS).append(':');
+		}
+
+	}
+
+	static String formatearPrecio(double precio) {
+		return BigDecimal.valueOf(precio).stripTrailingZeros().toPlainString();
+	}
+
+	static String formatearFecha(int dia) {
+		LocalDate fecha = GarantiaExtendida.fecha(dia);
+		return fecha != null ? fecha.toString() : null;
+	}
+
+}
@@ -0,0 +1,19 @@
+package servicio;
+
+/**
+ * Formatos en que {@link ExportadorGarantias} escribe las garant&iacute;as
+ */
+public enum FormatoExportacion {
+
+	/**
+	 * CSV con encabezado; los campos con separador, comillas o saltos de
+	 * l&iacute;nea van entre comillas dobles
+	 */
+	CSV,
+
+	/**
+	 * Un objeto JSON por l&iacute;nea
+	 */
+	JSON_LINEAS
+
+}
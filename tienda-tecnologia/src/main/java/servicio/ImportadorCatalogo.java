@@ -0,0 +1,398 @@
+package servicio;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.SistemaDePersistencia;
+import utilidades.ConcurrenciaUtils;
+
+/**
+ * Importa el cat&aacute;logo de productos desde un archivo CSV, comprimido o
+ * no con gzip, con las columnas <tt>codigo,nombre,precio</tt> en UTF-8. La
+ * primera l&iacute;nea se omite si es un encabezado, las l&iacute;neas
+ * vac&iacute;as se ignoran y los campos pueden ir entre comillas dobles.
+ *
+ * Un hilo lee y valida las filas y las entrega en lotes a trav&eacute;s de una
+ * cola acotada; el hilo que llama guarda cada lote en su propia unidad de
+ * trabajo, de modo que el entity manager nunca tiene m&aacute;s de un lote y
+ * la memoria no crece con el tama&ntilde;o del archivo. Los productos
+ * importados no se agregan a la cache de segundo nivel para no expulsar los
+ * productos consultados.
+ *
+ * Se rechazan las filas mal formadas y los c&oacute;digos que ya existen o
+ * que se repiten en el archivo. Si falla la lectura o un lote, la
+ * importaci&oacute;n se detiene con la excepci&oacute;n y los lotes anteriores
+ * quedan confirmados
+ */
+public class ImportadorCatalogo {
+
+	public static final int TAMANO_LOTE_POR_DEFECTO = 1_000;
+	public static final int MAXIMO_RECHAZOS_POR_DEFECTO = 1_000;
+
+	public static final String COMILLAS_SIN_CERRAR = "Las comillas del campo no se cierran";
+	public static final String NUMERO_DE_CAMPOS = "Se esperaban los campos codigo, nombre y precio";
+	public static final String CODIGO_OBLIGATORIO = "El codigo es obligatorio";
+	public static final String NOMBRE_OBLIGATORIO = "El nombre es obligatorio";
+	public static final String PRECIO_INVALIDO = "El precio debe ser un numero mayor o igual a cero";
+	public static final String PRODUCTO_EXISTENTE = "El producto ya existe";
+	public static final String CODIGO_REPETIDO = "El codigo se repite en el archivo";
+
+	private static final String NOMBRE_HILO = "importador-catalogo";
+	private static final String ENCABEZADO_CODIGO = "codigo";
+	private static final char SEPARADOR = ',';
+	private static final char COMILLAS = '"';
+	private static final int CAMPOS = 3;
+	private static final int LOTES_EN_ESPERA = 2;
+	private static final int TAMANO_BUFFER = 64 * 1024;
+	private static final int LONGITUD_MAXIMA_CONTENIDO = 200;
+	private static final Lote FIN = new Lote(0);
+
+	private final SistemaDePersistencia sistemaPersistencia;
+	private final RepositorioProducto repositorioProducto;
+	private final int tamanoLote;
+	private final int maximoRechazos;
+
+	public ImportadorCatalogo(SistemaDePersistencia sistemaPersistencia) {
+		this(sistemaPersistencia, TAMANO_LOTE_POR_DEFECTO, MAXIMO_RECHAZOS_POR_DEFECTO);
+	}
+
+	/**
+	 * @param sistemaPersistencia
+	 *            sistema de persistencia de los productos
+	 * @param tamanoLote
+	 *            filas que se guardan en cada unidad de trabajo
+	 * @param maximoRechazos
+	 *            rechazos que se conservan con su l&iacute;nea y motivo; los
+	 *            dem&aacute;s solo se cuentan
+	 */
+	public ImportadorCatalogo(SistemaDePersistencia sistemaPersistencia, int tamanoLote, int maximoRechazos) {
+		if (tamanoLote < 1 || maximoRechazos < 0) {
+			throw new IllegalArgumentException("El tamano del lote debe ser positivo y el maximo de rechazos no negativo");
+		}
+		this.sistemaPersistencia = sistemaPersistencia;
+		this.repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		this.tamanoLote = tamanoLote;
+		this.maximoRechazos = maximoRechazos;
+	}
+
+	/**
+	 * Importa un archivo del cat&aacute;logo, ver {@link ImportadorCatalogo}.
+	 * El hilo que llama no debe tener una unidad de trabajo activa
+	 *
+	 * @param archivo
+	 *            archivo CSV o CSV comprimido con gzip
+	 * @param progreso
+	 *            recibe el avance despu&eacute;s de cada lote confirmado
+	 * @return filas le&iacute;das, importadas y rechazadas
+	 * @throws IOException
+	 *             si falla la lectura del archivo o se interrumpe el hilo
+	 */
+	public ResumenImportacion importar(Path archivo, ProgresoImportacion progreso) throws IOException {
+		try (InputStream entrada = Files.newInputStream(archivo)) {
+			return importar(entrada, progreso);
+		}
+	}
+
+	/**
+	 * Ver {@link #importar(Path, ProgresoImportacion)}. El contenido
+	 * comprimido con gzip se reconoce por su firma
+	 */
+	public ResumenImportacion importar(InputStream entrada, ProgresoImportacion progreso) throws IOException {
+		BufferedReader lector = new BufferedReader(
+				new InputStreamReader(descomprimir(entrada), StandardCharsets.UTF_8), TAMANO_BUFFER);
+		return new Importacion(progreso).ejecutar(lector);
+	}
+
+	private static InputStream descomprimir(InputStream entrada) throws IOException {
+		BufferedInputStream buffer = new BufferedInputStream(entrada, TAMANO_BUFFER);
+		buffer.mark(2);
+		int firma = buffer.read() | (buffer.read() << 8);
+		buffer.reset();
+		return firma == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(buffer, TAMANO_BUFFER) : buffer;
+	}
+
+	/**
+	 * Estado de una importaci&oacute;n. El hilo lector escribe
+	 * {@link #filasLeidas} y {@link #errorLectura}; el hilo que llama escribe
+	 * {@link #importadas}; ambos agregan rechazos
+	 */
+	private class Importacion {
+
+		private final ProgresoImportacion progreso;
+		private final BlockingQueue<Lote> lotes = new ArrayBlockingQueue<>(LOTES_EN_ESPERA);
+		private final List<RechazoImportacion> rechazos = new ArrayList<>();
+		private volatile long filasLeidas;
+		private volatile Exception errorLectura;
+		private long importadas;
+		private long rechazadas;
+
+		Importacion(ProgresoImportacion progreso) {
+			this.progreso = progreso;
+		}
+
+		ResumenImportacion ejecutar(BufferedReader lector) throws IOException {
+			Thread hiloLector = ConcurrenciaUtils.crearFabricaHilos(NOMBRE_HILO).newThread(() -> leer(lector));
+			hiloLector.start();
+			try {
+				Lote lote = lotes.take();
+				while (lote != FIN) {
+					importadas += guardar(lote);
+					progreso.reportar(resumen());
+					lote = lotes.take();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("La importacion del catalogo fue interrumpida");
+			} finally {
+				detener(hiloLector);
+			}
+
+			if (errorLectura instanceof IOException) {
+				throw (IOException) errorLectura;
+			} else if (errorLectura != null) {
+				throw (RuntimeException) errorLectura;
+			}
+			return resumen();
+		}
+
+		private void leer(BufferedReader lector) {
+			long linea = 0;
+			long leidas = 0;
+			Lote lote = new Lote(tamanoLote);
+			try {
+				String fila;
+				while ((fila = lector.readLine()) != null) {
+					linea++;
+					if (fila.isEmpty() || (linea == 1 && esEncabezado(fila))) {
+						continue;
+					}
+					filasLeidas = ++leidas;
+					Producto producto = validar(linea, fila);
+					if (producto != null) {
+						lote.agregar(producto, linea, fila);
+					}
+					if (lote.tamano() == tamanoLote) {
+						lotes.put(lote);
+						lote = new Lote(tamanoLote);
+					}
+				}
+				if (lote.tamano() > 0) {
+					lotes.put(lote);
+				}
+			} catch (IOException | RuntimeException e) {
+				errorLectura = e;
+			} catch (InterruptedException e) {
+				// la importacion se detuvo porque fallo un lote
+				return;
+			}
+
+			try {
+				lotes.put(FIN);
+			} catch (InterruptedException e) {
+				// la importacion se detuvo porque fallo un lote
+			}
+		}
+
+		/**
+		 * @return producto de la fila, <tt>null</tt> si se rechaz&oacute;
+		 */
+		private Producto validar(long linea, String fila) {
+			List<String> campos = separarCampos(fila);
+			String motivo = null;
+			if (campos == null) {
+				motivo = COMILLAS_SIN_CERRAR;
+			} else if (campos.size() != CAMPOS) {
+				motivo = NUMERO_DE_CAMPOS;
+			} else if (campos.get(0).trim().isEmpty()) {
+				motivo = CODIGO_OBLIGATORIO;
+			} else if (campos.get(1).trim().isEmpty()) {
+				motivo = NOMBRE_OBLIGATORIO;
+			} else {
+				double precio = convertirPrecio(campos.get(2));
+				if (precio >= 0) {
+					return new Producto(campos.get(0).trim(), campos.get(1).trim(), precio);
+				}
+				motivo = PRECIO_INVALIDO;
+			}
+			rechazar(linea, fila, motivo);
+			return null;
+		}
+
+		/**
+		 * Guarda los productos del lote cuyo c&oacute;digo no existe, en una
+		 * unidad de trabajo sin cache de segundo nivel. Solo se recuerdan los
+		 * c&oacute;digos del lote: un c&oacute;digo que se repite dentro del
+		 * lote se rechaza como repetido, y uno que ya se guard&oacute; en un
+		 * lote anterior, como producto existente
+		 *
+		 * @return productos guardados
+		 */
+		private int guardar(Lote lote) {
+			return sistemaPersistencia.ejecutarEnTransaccion(() -> {
+				sistemaPersistencia.obtenerEntityManager().unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+				Set<String> codigos = new LinkedHashSet<>(lote.tamano());
+				for (Producto producto : lote.productos) {
+					codigos.add(producto.getCodigo());
+				}
+				Map<String, Producto> existentes = repositorioProducto.obtenerPorCodigos(codigos);
+
+				List<Producto> nuevos = new ArrayList<>(lote.tamano());
+				Set<String> agregados = new HashSet<>(lote.tamano());
+				for (int i = 0; i < lote.tamano(); i++) {
+					String codigo = lote.productos.get(i).getCodigo();
+					if (existentes.containsKey(codigo)) {
+						rechazar(lote.lineas[i], lote.filas.get(i), PRODUCTO_EXISTENTE);
+					} else if (!agregados.add(codigo)) {
+						rechazar(lote.lineas[i], lote.filas.get(i), CODIGO_REPETIDO);
+					} else {
+						nuevos.add(lote.productos.get(i));
+					}
+				}
+				repositorioProducto.agregar(nuevos);
+				return nuevos.size();
+			});
+		}
+
+		private synchronized void rechazar(long linea, String fila, String motivo) {
+			rechazadas++;
+			if (rechazos.size() < maximoRechazos) {
+				String contenido = fila.length() > LONGITUD_MAXIMA_CONTENIDO
+						? fila.substring(0, LONGITUD_MAXIMA_CONTENIDO)
+						: fila;
+				rechazos.add(new RechazoImportacion(linea, contenido, motivo));
+			}
+		}
+
+		private synchronized ResumenImportacion resumen() {
+			return new ResumenImportacion(filasLeidas, importadas, rechazadas,
+					Collections.unmodifiableList(new ArrayList<>(rechazos)));
+		}
+
+		/**
+		 * Si el lector sigue activo, porque fall&oacute; un lote, lo
+		 * interrumpe; en todo caso espera a que termine
+		 */
+		private void detener(Thread hiloLector) {
+			hiloLector.interrupt();
+			boolean interrumpido = false;
+			while (hiloLector.isAlive()) {
+				try {
+					hiloLector.join();
+				} catch (InterruptedException e) {
+					interrumpido = true;
+				}
+			}
+			if (interrumpido) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+	private static boolean esEncabezado(String fila) {
+		List<String> campos = separarCampos(fila);
+		return campos != null && ENCABEZADO_CODIGO.equalsIgnoreCase(campos.get(0).trim());
+	}
+
+	/**
+	 * @return precio de la fila, -1 si no es un n&uacute;mero finito mayor o
+	 *         igual a cero
+	 */
+	private static double convertirPrecio(String campo) {
+		try {
+			double precio = Double.parseDouble(campo.trim());
+			return Double.isFinite(precio) && precio >= 0 ? precio : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Separa los campos de una fila. Dentro de comillas dobles el separador
+	 * es parte del campo y dos comillas seguidas representan una
+	 *
+	 * @return campos de la fila, <tt>null</tt> si unas comillas no se cierran
+	 */
+	static List<String> separarCampos(String fila) {
+		List<String> campos = new ArrayList<>(CAMPOS);
+		StringBuilder campo = new StringBuilder();
+		boolean entreComillas = false;
+		for (int i = 0; i < fila.length(); i++) {
+			char caracter = fila.charAt(i);
+			if (entreComillas) {
+				if (caracter != COMILLAS) {
+					campo.append(caracter);
+				} else if (i + 1 < fila.length() && fila.charAt(i + 1) == COMILLAS) {
+					campo.append(COMILLAS);
+					i++;
+				} else {
+					entreComillas = false;
+				}
+			} else if (caracter == COMILLAS) {
+				entreComillas = true;
+			} else if (caracter == SEPARADOR) {
+				campos.add(campo.toString());
+				campo.setLength(0);
+			} else {
+				campo.append(caracter);
+			}
+		}
+		if (entreComillas) {
+			return null;
+		}
+		campos.add(campo.toString());
+		return campos;
+	}
+
+	/**
+	 * Productos v&aacute;lidos de un grupo de filas consecutivas, con su
+	 * l&iacute;nea y contenido para reportar los rechazos
+	 */
+	private static class Lote {
+
+		private final List<Producto> productos;
+		private final List<String> filas;
+		private final long[] lineas;
+
+		Lote(int capacidad) {
+			this.productos = new ArrayList<>(capacidad);
+			this.filas = new ArrayList<>(capacidad);
+			this.lineas = new long[capacidad];
+		}
+
+		void agregar(Producto producto, long linea, String fila) {
+			lineas[productos.size()] = linea;
+			productos.add(producto);
+			filas.add(fila);
+		}
+
+		int tamano() {
+			return productos.size();
+		}
+
+	}
+
+}
@@ -0,0 +1,17 @@
+package servicio;
+
+/**
+ * Recibe el avance de una importaci&oacute;n del cat&aacute;logo despu&eacute;s
+ * de confirmar cada lote, en el hilo que llam&oacute;
+ * {@link ImportadorCatalogo#importar(java.nio.file.Path, ProgresoImportacion)}
+ */
+@FunctionalInterface
+public interface ProgresoImportacion {
+
+	/**
+	 * @param avance
+	 *            filas le&iacute;das, importadas y rechazadas hasta el momento
+	 */
+	void reportar(ResumenImportacion avance);
+
+}
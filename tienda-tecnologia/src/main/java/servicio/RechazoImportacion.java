@@ -0,0 +1,36 @@
+package servicio;
+
+/**
+ * Fila del archivo de cat&aacute;logo que no se import&oacute; y el motivo
+ */
+public class RechazoImportacion {
+
+	private long linea;
+	private String contenido;
+	private String motivo;
+
+	public RechazoImportacion(long linea, String contenido, String motivo) {
+
+		this.linea = linea;
+		this.contenido = contenido;
+		this.motivo = motivo;
+	}
+
+	public long getLinea() {
+		return linea;
+	}
+
+	public String getContenido() {
+		return contenido;
+	}
+
+	public String getMotivo() {
+		return motivo;
+	}
+
+	@Override
+	public String toString() {
+		return "linea " + linea + ": " + motivo + " [" + contenido + "]";
+	}
+
+}
@@ -0,0 +1,47 @@
+package servicio;
+
+import java.util.List;
+
+/**
+ * Avance o resultado de una importaci&oacute;n del cat&aacute;logo. Solo se
+ * conservan los primeros rechazos, ver
+ * {@link ImportadorCatalogo#ImportadorCatalogo(persistencia.sistema.SistemaDePersistencia, int, int)};
+ * {@link #getRechazadas()} cuenta todos
+ */
+public class ResumenImportacion {
+
+	private long filasLeidas;
+	private long importadas;
+	private long rechazadas;
+	private List<RechazoImportacion> rechazos;
+
+	public ResumenImportacion(long filasLeidas, long importadas, long rechazadas, List<RechazoImportacion> rechazos) {
+
+		this.filasLeidas = filasLeidas;
+		this.importadas = importadas;
+		this.rechazadas = rechazadas;
+		this.rechazos = rechazos;
+	}
+
+	public long getFilasLeidas() {
+		return filasLeidas;
+	}
+
+	public long getImportadas() {
+		return importadas;
+	}
+
+	public long getRechazadas() {
+		return rechazadas;
+	}
+
+	public List<RechazoImportacion> getRechazos() {
+		return rechazos;
+	}
+
+	@Override
+	public String toString() {
+		return "leidas=" + filasLeidas + " importadas=" + importadas + " rechazadas=" + rechazadas;
+	}
+
+}
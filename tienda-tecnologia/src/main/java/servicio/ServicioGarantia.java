@@ -0,0 +1,108 @@
+package servicio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import dominio.GarantiaExtendida;
+import dominio.ResultadoGarantia;
+import dominio.SolicitudGarantia;
+import dominio.Vendedor;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import persistencia.sistema.SistemaDePersistencia;
+import utilidades.BloqueoSegmentado;
+
+/**
+ * Emite garant&iacute;as, cada operaci&oacute;n en su propia unidad de
+ * trabajo. La verificaci&oacute;n de garant&iacute;a existente y el insert de
+ * la nueva deben ser at&oacute;micos, por eso la unidad de trabajo completa,
+ * hasta el commit, se ejecuta con el candado del c&oacute;digo del producto:
+ * las solicitudes de un mismo c&oacute;digo se serializan y las de
+ * c&oacute;digos distintos se ejecutan en paralelo.
+ *
+ * Los candados solo protegen contra solicitudes de este mismo proceso
+ */
+public class ServicioGarantia {
+
+	public static final int SEGMENTOS_POR_DEFECTO = 256;
+
+	private final SistemaDePersistencia sistemaPersistencia;
+	private final RepositorioGarantiaExtendida repositorioGarantia;
+	private final Vendedor vendedor;
+	private final BloqueoSegmentado bloqueo;
+
+	public ServicioGarantia(SistemaDePersistencia sistemaPersistencia) {
+		this(sistemaPersistencia, SEGMENTOS_POR_DEFECTO);
+	}
+
+	/**
+	 * @param sistemaPersistencia
+	 *            sistema de persistencia de las garant&iacute;as
+	 * @param segmentos
+	 *            n&uacute;mero de candados entre los que se reparten los
+	 *            c&oacute;digos; 1 equivale a un candado global
+	 */
+	public ServicioGarantia(SistemaDePersistencia sistemaPersistencia, int segmentos) {
+		this.sistemaPersistencia = sistemaPersistencia;
+		this.repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
+		this.vendedor = new Vendedor(sistemaPersistencia.obtenerRepositorioProductos(), repositorioGarantia);
+		this.bloqueo = new BloqueoSegmentado(segmentos);
+	}
+
+	/**
+	 * Ver {@link Vendedor#generarGarantia(String, String)}
+	 */
+	public GarantiaExtendida generarGarantia(String codigo, String nombreCliente) {
+		Lock candado = bloqueo.obtener(codigo);
+		candado.lock();
+		try {
+			return sistemaPersistencia.ejecutarEnTransaccion(() -> vendedor.generarGarantia(codigo, nombreCliente));
+		} finally {
+			candado.unlock();
+		}
+	}
+
+	/**
+	 * Ver {@link Vendedor#generarGarantias(List)}. Se adquieren los candados
+	 * de todos los c&oacute;digos del lote
+	 */
+	public List<ResultadoGarantia> generarGarantias(List<SolicitudGarantia> solicitudes) {
+		List<String> codigos = new ArrayList<>(solicitudes.size());
+		for (SolicitudGarantia solicitud : solicitudes) {
+			codigos.add(solicitud.getCodigo());
+		}
+
+		List<Lock> candados = bloqueo.obtener(codigos);
+		int adquiridos = 0;
+		try {
+			for (Lock candado : candados) {
+				candado.lock();
+				adquiridos++;
+			}
+			return sistemaPersistencia.ejecutarEnTransaccion(() -> vendedor.generarGarantias(solicitudes));
+		} finally {
+			for (int i = adquiridos - 1; i >= 0; i--) {
+				candados.get(i).unlock();
+			}
+		}
+	}
+
+	/**
+	 * Ver {@link Vendedor#tieneGarantia(String)}
+	 */
+	public boolean tieneGarantia(String codigo) {
+		return sistemaPersistencia.ejecutarEnTransaccion(() -> vendedor.tieneGarantia(codigo));
+	}
+
+	/**
+	 * Permite consultar la garant&iacute;a de un producto
+	 *
+	 * @param codigo
+	 *            c&oacute;digo del producto
+	 * @return garant&iacute;a del producto, <tt>null</tt> si no tiene
+	 */
+	public GarantiaExtendida obtenerGarantia(String codigo) {
+		return sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioGarantia.obtener(codigo));
+	}
+
+}
@@ -0,0 +1,160 @@
+package servicio;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import dominio.GarantiaExtendida;
+import dominio.ResultadoGarantia;
+import dominio.SolicitudGarantia;
+import persistencia.sistema.SistemaDePersistencia;
+import utilidades.ConcurrenciaUtils;
+
+/**
+ * Fachada as&iacute;ncrona del {@link ServicioGarantia}. Cada operaci&oacute;n
+ * se ejecuta en su propia unidad de trabajo sobre un ejecutor dedicado (hilos
+ * virtuales si la JVM los soporta) y devuelve un {@link CompletableFuture}.
+ *
+ * La concurrencia est&aacute; acotada: como m&aacute;ximo
+ * <tt>concurrencia</tt> operaciones trabajan a la vez contra la base de datos
+ * y como m&aacute;ximo <tt>maximoPendientes</tt> esperan o se ejecutan; las
+ * solicitudes que superan ese l&iacute;mite terminan de inmediato con una
+ * {@link RejectedExecutionException}. Las excepciones del negocio, como
+ * {@link dominio.excepcion.GarantiaExtendidaException}, se entregan como
+ * futuros fallidos
+ */
+public class ServicioGarantiaAsincrono {
+
+	private static final String NOMBRE_HILOS = "garantia-asincrona";
+	private static final String SERVICIO_SATURADO = "Se alcanzo el maximo de solicitudes pendientes: ";
+	private static final int PENDIENTES_POR_HILO = 100;
+
+	private final ServicioGarantia servicioGarantia;
+	private final ExecutorService ejecutor;
+	private final Semaphore enEjecucion;
+	private final Semaphore pendientes;
+	private final int maximoPendientes;
+
+	/**
+	 * @param sistemaPersistencia
+	 *            sistema de persistencia de las garant&iacute;as
+	 * @param concurrencia
+	 *            operaciones que pueden ejecutarse a la vez
+	 */
+	public ServicioGarantiaAsincrono(SistemaDePersistencia sistemaPersistencia, int concurrencia) {
+		this(new ServicioGarantia(sistemaPersistencia), concurrencia, concurrencia * PENDIENTES_POR_HILO);
+	}
+
+	/**
+	 * @param servicioGarantia
+	 *            servicio que emite las garant&iacute;as
+	 * @param concurrencia
+	 *            operaciones que pueden ejecutarse a la vez
+	 * @param maximoPendientes
+	 *            operaciones aceptadas que a&uacute;n no han terminado
+	 */
+	public ServicioGarantiaAsincrono(ServicioGarantia servicioGarantia, int concurrencia, int maximoPendientes) {
+		if (concurrencia < 1 || maximoPendientes < concurrencia) {
+			throw new IllegalArgumentException("La concurrencia debe ser positiva y no mayor al maximo de pendientes");
+		}
+		this.servicioGarantia = servicioGarantia;
+		this.ejecutor = ConcurrenciaUtils.crearEjecutor(NOMBRE_HILOS, concurrencia);
+		this.enEjecucion = new Semaphore(concurrencia);
+		this.pendientes = new Semaphore(maximoPendientes);
+		this.maximoPendientes = maximoPendientes;
+	}
+
+	/**
+	 * Ver {@link ServicioGarantia#generarGarantia(String, String)}
+	 * 
+	 * @return futuro con la garant&iacute;a generada
+	 */
+	public CompletableFuture<GarantiaExtendida> generarGarantia(String codigo, String nombreCliente) {
+		return ejecutar(() -> servicioGarantia.generarGarantia(codigo, nombreCliente));
+	}
+
+	/**
+	 * Ver {@link ServicioGarantia#generarGarantias(List)}
+	 * 
+	 * @return futuro con un resultado por cada solicitud
+	 */
+	public CompletableFuture<List<ResultadoGarantia>> generarGarantias(List<SolicitudGarantia> solicitudes) {
+		return ejecutar(() -> servicioGarantia.generarGarantias(solicitudes));
+	}
+
+	/**
+	 * Ver {@link ServicioGarantia#tieneGarantia(String)}
+	 * 
+	 * @return futuro con <tt>true</tt> si el producto tiene garant&iacute;a
+	 */
+	public CompletableFuture<Boolean> tieneGarantia(String codigo) {
+		return ejecutar(() -> servicioGarantia.tieneGarantia(codigo));
+	}
+
+	/**
+	 * Deja de aceptar solicitudes y espera a que terminen las pendientes
+	 * 
+	 * @param espera
+	 *            tiempo m&aacute;ximo de espera
+	 * @param unidad
+	 *            unidad del tiempo de espera
+	 * @return <tt>true</tt> si todas las solicitudes terminaron
+	 * @throws InterruptedException
+	 *             si el hilo es interrumpido durante la espera
+	 */
+	public boolean cerrar(long espera, TimeUnit unidad) throws InterruptedException {
+		ejecutor.shutdown();
+		return ejecutor.awaitTermination(espera, unidad);
+	}
+
+	private <T> CompletableFuture<T> ejecutar(Supplier<T> operacion) {
+		CompletableFuture<T> resultado = new CompletableFuture<>();
+		if (!pendientes.tryAcquire()) {
+			resultado.completeExceptionally(new RejectedExecutionException(SERVICIO_SATURADO + maximoPendientes));
+			return resultado;
+		}
+
+		try {
+			ejecutor.execute(() -> ejecutarAcotado(operacion, resultado));
+		} catch (RejectedExecutionException e) {
+			pendientes.release();
+			resultado.completeExceptionally(e);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Libera el cupo de la solicitud antes de completar el futuro, para que
+	 * quien reaccione al resultado pueda enviar una nueva solicitud
+	 */
+	private <T> void ejecutarAcotado(Supplier<T> operacion, CompletableFuture<T> resultado) {
+		T valor = null;
+		Throwable error = null;
+		try {
+			enEjecucion.acquire();
+			try {
+				valor = operacion.get();
+			} finally {
+				enEjecucion.release();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error = e;
+		} catch (RuntimeException | Error e) {
+			error = e;
+		} finally {
+			pendientes.release();
+		}
+
+		if (error != null) {
+			resultado.completeExceptionally(error);
+		} else {
+			resultado.complete(valor);
+		}
+	}
+
+}
@@ -0,0 +1,335 @@
+package servicio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.Vendedor;
+import dominio.excepcion.GarantiaExtendidaException;
+import persistencia.sistema.SistemaDePersistencia;
+import utilidades.ConcurrenciaUtils;
+import utilidades.JsonUtils;
+
+/**
+ * Expone el {@link ServicioGarantia} por HTTP con el servidor incluido en el
+ * JDK, para que las cajas soliciten y consulten garant&iacute;as sin embeber
+ * el vendedor:
+ * <ul>
+ * <li><tt>POST /garantias/{codigo}</tt> con el cuerpo
+ * <tt>cliente=&lt;nombre&gt;</tt> (formulario codificado) genera la
+ * garant&iacute;a, 201</li>
+ * <li><tt>GET /garantias/{codigo}</tt> consulta la garant&iacute;a, 404 si no
+ * tiene</li>
+ * <li><tt>GET /garantias/{codigo}/estado</tt> indica si el producto tiene
+ * garant&iacute;a</li>
+ * </ul>
+ * Las respuestas son JSON escrito a mano con {@link JsonUtils}, con los mismos
+ * nombres de propiedad de {@link ExportadorGarantias}, y los rechazos del
+ * vendedor se responden con <tt>{"error": mensaje}</tt>.
+ *
+ * Cada respuesta se env&iacute;a con su longitud, por lo que el servidor
+ * mantiene abiertas las conexiones HTTP/1.1 entre solicitudes; el tiempo de
+ * inactividad se configura con <tt>sun.net.httpserver.idleInterval</tt>. Las
+ * solicitudes se atienden en un ejecutor de
+ * {@link ConcurrenciaUtils#crearEjecutor(String, int)}: hilos virtuales si la
+ * JVM los soporta, si no un pool fijo. En ambos casos como m&aacute;ximo
+ * <tt>concurrencia</tt> solicitudes trabajan a la vez contra la base de datos,
+ * las dem&aacute;s esperan su turno; la concurrencia no debe superar el
+ * tama&ntilde;o del pool de conexiones
+ */
+public class ServidorGarantiasHttp {
+
+	public static final String RUTA = "/garantias/";
+	public static final int PUERTO_POR_DEFECTO = 8080;
+	public static final int CONCURRENCIA_POR_DEFECTO = 16;
+
+	static final String RUTA_ESTADO = "/estado";
+	static final String PARAMETRO_CLIENTE = "cliente";
+	static final String EL_PRODUCTO_NO_TIENE_GARANTIA = "El producto no tiene garantia";
+
+	private static final Logger LOGGER = Logger.getLogger(ServidorGarantiasHttp.class);
+	private static final String NOMBRE_HILOS = "garantia-http";
+	private static final String SIN_DEMORA_TCP = "sun.net.httpserver.nodelay";
+	private static final String TIPO_JSON = "application/json; charset=utf-8";
+	private static final int TAMANO_MAXIMO_CUERPO = 4 * 1024;
+	private static final int ESPERA_CIERRE_SEGUNDOS = 5;
+
+	private static final int OK = 200;
+	private static final int CREADO = 201;
+	private static final int SOLICITUD_INVALIDA = 400;
+	private static final int NO_ENCONTRADO = 404;
+	private static final int METODO_NO_PERMITIDO = 405;
+	private static final int CONFLICTO = 409;
+	private static final int CUERPO_DEMASIADO_GRANDE = 413;
+	private static final int NO_PROCESABLE = 422;
+	private static final int ERROR_INTERNO = 500;
+	private static final int NO_DISPONIBLE = 503;
+
+	private final ServicioGarantia servicioGarantia;
+	private final InetSocketAddress direccion;
+	private final int concurrencia;
+	private final Semaphore enEjecucion;
+	private HttpServer servidor;
+	private ExecutorService ejecutor;
+
+	/**
+	 * @param servicioGarantia
+	 *            servicio que emite y consulta las garant&iacute;as
+	 * @param puerto
+	 *            puerto donde escucha el servidor, 0 para uno libre
+	 * @param concurrencia
+	 *            solicitudes que pueden ejecutarse a la vez, tambi&eacute;n es
+	 *            el tama&ntilde;o del pool si la JVM no soporta hilos
+	 *            virtuales
+	 */
+	public ServidorGarantiasHttp(ServicioGarantia servicioGarantia, int puerto, int concurrencia) {
+		if (concurrencia < 1) {
+			throw new IllegalArgumentException("La concurrencia debe ser positiva");
+		}
+		this.servicioGarantia = servicioGarantia;
+		this.direccion = new InetSocketAddress(puerto);
+		this.concurrencia = concurrencia;
+		this.enEjecucion = new Semaphore(concurrencia);
+	}
+
+	/**
+	 * Inicia el servidor
+	 *
+	 * @throws IOException
+	 *             si no es posible abrir el puerto
+	 */
+	public synchronized void iniciar() throws IOException {
+		if (servidor != null) {
+			throw new IllegalStateException("El servidor ya fue iniciado");
+		}
+		servidor = HttpServer.create(direccion, 0);
+		servidor.createContext(RUTA, this::atender);
+		ejecutor = ConcurrenciaUtils.crearEjecutor(NOMBRE_HILOS, concurrencia);
+		servidor.setExecutor(ejecutor);
+		servidor.start();
+	}
+
+	/**
+	 * @return puerto donde escucha el servidor iniciado
+	 */
+	public synchronized int getPuerto() {
+		return servidor.getAddress().getPort();
+	}
+
+	/**
+	 * Deja de aceptar conexiones y espera a que terminen las solicitudes en
+	 * curso
+	 *
+	 * @param esperaSegundos
+	 *            tiempo m&aacute;ximo de espera
+	 * @throws InterruptedException
+	 *             si el hilo es interrumpido durante la espera
+	 */
+	public synchronized void detener(int esperaSegundos) throws InterruptedException {
+		if (servidor == null) {
+			return;
+		}
+		servidor.stop(esperaSegundos);
+		ejecutor.shutdown();
+		ejecutor.awaitTermination(esperaSegundos, TimeUnit.SECONDS);
+		servidor = null;
+		ejecutor = null;
+	}
+
+	private void atender(HttpExchange intercambio) throws IOException {
+		try {
+			enEjecucion.acquire();
+			try {
+				responder(intercambio);
+			} finally {
+				enEjecucion.release();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			enviarError(intercambio, NO_DISPONIBLE, "El servidor se esta deteniendo");
+		} catch (GarantiaExtendidaException e) {
+			enviarError(intercambio, estadoRechazo(e.getMessage()), e.getMessage());
+		} catch (RuntimeException e) {
+			LOGGER.error("Error atendiendo " + intercambio.getRequestMethod() + " " + intercambio.getRequestURI(), e);
+			enviarError(intercambio, ERROR_INTERNO, "Error interno");
+		} finally {
+			intercambio.close();
+		}
+	}
+
+	private void responder(HttpExchange intercambio) throws IOException {
+		String ruta = intercambio.getRequestURI().getPath();
+		String metodo = intercambio.getRequestMethod();
+		boolean estado = ruta.length() > RUTA.length() + RUTA_ESTADO.length() && ruta.endsWith(RUTA_ESTADO);
+		String codigo = ruta.substring(RUTA.length(), estado ? ruta.length() - RUTA_ESTADO.length() : ruta.length());
+		if (codigo.isEmpty() || codigo.indexOf('/') >= 0) {
+			enviarError(intercambio, NO_ENCONTRADO, "Ruta no encontrada");
+		} else if ("GET".equals(metodo)) {
+			if (estado) {
+				enviarEstado(intercambio, codigo, servicioGarantia.tieneGarantia(codigo));
+			} else {
+				enviarGarantia(intercambio, OK, codigo, servicioGarantia.obtenerGarantia(codigo));
+			}
+		} else if ("POST".equals(metodo) && !estado) {
+			String nombreCliente = leerCliente(intercambio);
+			if (nombreCliente == null) {
+				enviarError(intercambio, CUERPO_DEMASIADO_GRANDE, "El cuerpo supera " + TAMANO_MAXIMO_CUERPO + " bytes");
+			} else if (nombreCliente.isEmpty()) {
+				enviarError(intercambio, SOLICITUD_INVALIDA, "Falta el parametro " + PARAMETRO_CLIENTE);
+			} else {
+				enviarGarantia(intercambio, CREADO, codigo, servicioGarantia.generarGarantia(codigo, nombreCliente));
+			}
+		} else {
+			intercambio.getResponseHeaders().set("Allow", estado ? "GET" : "GET, POST");
+			enviarError(intercambio, METODO_NO_PERMITIDO, "Metodo no permitido: " + metodo);
+		}
+	}
+
+	/**
+	 * @return nombre del cliente del formulario, vac&iacute;o si no viene y
+	 *         <tt>null</tt> si el cuerpo es demasiado grande
+	 */
+	private static String leerCliente(HttpExchange intercambio) throws IOException {
+		ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+		byte[] bloque = new byte[512];
+		try (InputStream entrada = intercambio.getRequestBody()) {
+			int leidos;
+			while ((leidos = entrada.read(bloque)) > 0) {
+				if (cuerpo.size() + leidos > TAMANO_MAXIMO_CUERPO) {
+					return null;
+				}
+				cuerpo.write(bloque, 0, leidos);
+			}
+		}
+
+		for (String parametro : new String(cuerpo.toByteArray(), StandardCharsets.UTF_8).split("&")) {
+			int igual = parametro.indexOf('=');
+			if (igual > 0 && PARAMETRO_CLIENTE.equals(decodificar(parametro.substring(0, igual)))) {
+				return decodificar(parametro.substring(igual + 1)).trim();
+			}
+		}
+		return "";
+	}
+
+	private static String decodificar(String valor) {
+		try {
+			return URLDecoder.decode(valor, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		} catch (IllegalArgumentException e) {
+			throw new GarantiaExtendidaException("Formulario mal codificado");
+		}
+	}
+
+	private static int estadoRechazo(String mensaje) {
+		if (Vendedor.EL_PRODUCTO_NO_EXISTE.equals(mensaje)) {
+			return NO_ENCONTRADO;
+		}
+		if (Vendedor.EL_PRODUCTO_TIENE_GARANTIA.equals(mensaje)) {
+			return CONFLICTO;
+		}
+		if (Vendedor.EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA.equals(mensaje)) {
+			return NO_PROCESABLE;
+		}
+		return SOLICITUD_INVALIDA;
+	}
+
+	private static void enviarGarantia(HttpExchange intercambio, int estado, String codigo, GarantiaExtendida garantia)
+			throws IOException {
+		if (garantia == null) {
+			enviarError(intercambio, NO_ENCONTRADO, EL_PRODUCTO_NO_TIENE_GARANTIA + ": " + codigo);
+			return;
+		}
+		Producto producto = garantia.getProducto();
+		StringBuilder json = new StringBuilder(256);
+		String[] columnas = ExportadorGarantias.COLUMNAS;
+		json.append("{\"").append(columnas[0]).append("\":");
+		JsonUtils.agregarCadena(json, producto.getCodigo());
+		json.append(",\"").append(columnas[1]).append("\":");
+		JsonUtils.agregarCadena(json, producto.getNombre());
+		json.append(",\"").append(columnas[2]).append("\":")
+				.append(ExportadorGarantias.formatearPrecio(producto.getPrecio()));
+		json.append(",\"").append(columnas[3]).append("\":");
+		JsonUtils.agregarCadena(json, ExportadorGarantias.formatearFecha(garantia.getDiaSolicitudGarantia()));
+		json.append(",\"").append(columnas[4]).append("\":");
+		JsonUtils.agregarCadena(json, ExportadorGarantias.formatearFecha(garantia.getDiaFinGarantia()));
+		json.append(",\"").append(columnas[5]).append("\":")
+				.append(ExportadorGarantias.formatearPrecio(garantia.getPrecioGarantia()));
+		json.append(",\"").append(columnas[6]).append("\":");
+		JsonUtils.agregarCadena(json, garantia.getNombreCliente());
+		enviar(intercambio, estado, json.append('}'));
+	}
+
+	private static void enviarEstado(HttpExchange intercambio, String codigo, boolean tieneGarantia)
+			throws IOException {
+		StringBuilder json = new StringBuilder(64).append("{\"codigo\":");
+		JsonUtils.agregarCadena(json, codigo);
+		enviar(intercambio, OK, json.append(",\"tieneGarantia\":").append(tieneGarantia).append('}'));
+	}
+
+	private static void enviarError(HttpExchange intercambio, int estado, String mensaje) throws IOException {
+		if (intercambio.getResponseCode() != -1) {
+			return;
+		}
+		StringBuilder json = new StringBuilder(64).append("{\"error\":");
+		JsonUtils.agregarCadena(json, mensaje);
+		enviar(intercambio, estado, json.append('}'));
+	}
+
+	private static void enviar(HttpExchange intercambio, int estado, CharSequence json) throws IOException {
+		byte[] cuerpo = json.toString().getBytes(StandardCharsets.UTF_8);
+		intercambio.getResponseHeaders().set("Content-Type", TIPO_JSON);
+		intercambio.sendResponseHeaders(estado, cuerpo.length);
+		try (OutputStream salida = intercambio.getResponseBody()) {
+			salida.write(cuerpo);
+		}
+	}
+
+	/**
+	 * Inicia el servidor con la configuraci&oacute;n de
+	 * <tt>tienda.properties</tt>
+	 *
+	 * @param argumentos
+	 *            puerto y concurrencia, opcionales
+	 * @throws IOException
+	 *             si no es posible abrir el puerto
+	 */
+	public static void main(String[] argumentos) throws IOException {
+		if (System.getProperty(SIN_DEMORA_TCP) == null) {
+			System.setProperty(SIN_DEMORA_TCP, "true");
+		}
+		int puerto = argumentos.length > 0 ? Integer.parseInt(argumentos[0]) : PUERTO_POR_DEFECTO;
+		int concurrencia = argumentos.length > 1 ? Integer.parseInt(argumentos[1]) : CONCURRENCIA_POR_DEFECTO;
+
+		SistemaDePersistencia sistemaPersistencia = new SistemaDePersistencia();
+		ServidorGarantiasHttp servidor = new ServidorGarantiasHttp(new ServicioGarantia(sistemaPersistencia), puerto,
+				concurrencia);
+		servidor.iniciar();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				servidor.detener(ESPERA_CIERRE_SEGUNDOS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				sistemaPersistencia.cerrar();
+			}
+		}));
+		LOGGER.info("Servidor de garantias escuchando en el puerto " + servidor.getPuerto());
+	}
+
+}
@@ -0,0 +1,93 @@
+package utilidades;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto fijo de candados repartidos por clave. Dos claves iguales
+ * obtienen siempre el mismo candado, de modo que sus operaciones se
+ * serializan, mientras que claves distintas casi siempre caen en candados
+ * distintos y pueden ejecutarse en paralelo. Con un solo segmento se comporta
+ * como un candado global
+ * 
+ * @author Elmer Urrea
+ * @since 18/10/2026
+ */
+public class BloqueoSegmentado {
+
+	private final ReentrantLock[] candados;
+	private final int mascara;
+
+	/**
+	 * @param segmentos
+	 *            n&uacute;mero m&iacute;nimo de candados, se redondea a la
+	 *            siguiente potencia de dos
+	 */
+	public BloqueoSegmentado(int segmentos) {
+		if (segmentos < 1) {
+			throw new IllegalArgumentException("El numero de segmentos debe ser positivo");
+		}
+		int tamano = Integer.highestOneBit(segmentos);
+		if (tamano < segmentos) {
+			tamano <<= 1;
+		}
+		this.candados = new ReentrantLock[tamano];
+		for (int i = 0; i < tamano; i++) {
+			candados[i] = new ReentrantLock();
+		}
+		this.mascara = tamano - 1;
+	}
+
+	/**
+	 * Permite obtener el candado de una clave
+	 * 
+	 * @param clave
+	 *            clave a proteger, puede ser <tt>null</tt>
+	 * @return candado de la clave
+	 */
+	public Lock obtener(Object clave) {
+		return candados[segmento(clave)];
+	}
+
+	/**
+	 * Permite obtener los candados de un grupo de claves, sin repetir y
+	 * siempre en el mismo orden, de modo que adquirirlos uno tras otro no
+	 * produce bloqueos mutuos entre hilos
+	 * 
+	 * @param claves
+	 *            claves a proteger
+	 * @return candados en el orden en que deben adquirirse
+	 */
+	public List<Lock> obtener(Collection<?> claves) {
+		BitSet segmentos = new BitSet(candados.length);
+		for (Object clave : claves) {
+			segmentos.set(segmento(clave));
+		}
+		List<Lock> resultado = new ArrayList<>(segmentos.cardinality());
+		for (int i = segmentos.nextSetBit(0); i >= 0; i = segmentos.nextSetBit(i + 1)) {
+			resultado.add(candados[i]);
+		}
+		return resultado;
+	}
+
+	public int getSegmentos() {
+		return candados.length;
+	}
+
+	/**
+	 * Dispersa los bits altos del hash para que claves con hash parecido no
+	 * caigan en el mismo segmento
+	 */
+	private int segmento(Object clave) {
+		int hash = clave != null ? clave.hashCode() : 0;
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		return hash & mascara;
+	}
+
+}
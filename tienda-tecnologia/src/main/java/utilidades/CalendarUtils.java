@@ -1,9 +1,7 @@
 package utilidades;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.Date;
+import java.util.Collection;
 
 /**
  * Contiene las utilidades necesarias para operaciones con fechas de calendario
@@ -17,9 +15,32 @@ public class CalendarUtils {
 		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
 	}
 
+	private static volatile CalendarioLaboral calendarioLaboral = CalendarioLaboral.SIN_FESTIVOS;
+
+	/**
+	 * Permite configurar los festivos nacionales que no se cuentan como
+	 * d&iacute;as h&aacute;biles
+	 * 
+	 * @param festivos
+	 *            fechas de los festivos
+	 */
+	public static void configurarFestivos(Collection<LocalDate> festivos) {
+		calendarioLaboral = new CalendarioLaboral(festivos);
+	}
+
+	/**
+	 * Permite obtener el calendario laboral configurado; se reemplaza por uno
+	 * nuevo cada vez que se configuran los festivos
+	 * 
+	 * @return calendario laboral vigente
+	 */
+	public static CalendarioLaboral obtenerCalendarioLaboral() {
+		return calendarioLaboral;
+	}
+
 	/**
 	 * Permite sumarle d&iacute;as a una fecha teniendo en cuenta d&iacute;as
-	 * habiles
+	 * habiles, ver {@link CalendarioLaboral#sumarDiasHabiles(LocalDate, int)}
 	 * 
 	 * @param dias
 	 *            numero de d&iacute;as para sumar a una fecha
@@ -27,58 +48,49 @@ public class CalendarUtils {
 	 *            fecha en que se inicia el calculo
 	 * @return fecha calculada
 	 */
-	public static Date calcularFechaDiasHabiles(Date fechaInicio, int dias) {
-		LocalDate fechaIteracion = toLocalDate(fechaInicio);
-		while (dias > 0) {
-			if (fechaIteracion.getDayOfWeek() != DayOfWeek.MONDAY) {
-				dias--;
-			}
-			fechaIteracion = fechaIteracion.plusDays(1);
-		}
-		if (fechaIteracion.getDayOfWeek() == DayOfWeek.SUNDAY) {
-			fechaIteracion = fechaIteracion.plusDays(2);
-		} else if (fechaIteracion.getDayOfWeek() == DayOfWeek.MONDAY) {
-			fechaIteracion = fechaIteracion.plusDays(1);
-		}
-		return toDate(fechaIteracion);
+	public static LocalDate calcularFechaDiasHabiles(LocalDate fechaInicio, int dias) {
+		return calendarioLaboral.sumarDiasHabiles(fechaInicio, dias);
 	}
 
 	/**
-	 * Permite sumarle d&iacute;as a una fecha
+	 * Igual a {@link #calcularFechaDiasHabiles(LocalDate, int)} trabajando con
+	 * d&iacute;as de &eacute;poca, sin crear objetos
 	 * 
 	 * @param dias
-	 *            numero de d&iacute;as para sumar en una fecha
-	 * @param fechaInicio
-	 *            fecha en que se inicia el calculo
-	 * @return fecha calculada
+	 *            numero de d&iacute;as para sumar a una fecha
+	 * @param diaInicio
+	 *            d&iacute;a de &eacute;poca en que se inicia el calculo
+	 * @return d&iacute;a de &eacute;poca calculado
 	 */
-	public static Date calcularFechaDiasCalendario(Date fechaInicio, int dias) {
-		LocalDate fechaVenciento = toLocalDate(fechaInicio).plusDays(dias);
-		return toDate(fechaVenciento);
+	public static int calcularDiaDiasHabiles(int diaInicio, int dias) {
+		return Math.toIntExact(calendarioLaboral.sumarDiasHabiles(diaInicio, dias));
 	}
 
 	/**
-	 * Permite convertir fecha en formato {@link Date} a formato
-	 * {@link LocalDate}
+	 * Permite sumarle d&iacute;as a una fecha
 	 * 
-	 * @param fecha
-	 *            en formato {@link Date}
-	 * @return fecha en formato {@link LocalDate}
+	 * @param dias
+	 *            numero de d&iacute;as para sumar en una fecha
+	 * @param fechaInicio
+	 *            fecha en que se inicia el calculo
+	 * @return fecha calculada
 	 */
-	public static LocalDate toLocalDate(Date fecha) {
-		return fecha.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	public static LocalDate calcularFechaDiasCalendario(LocalDate fechaInicio, int dias) {
+		return fechaInicio.plusDays(dias);
 	}
 
 	/**
-	 * Permite convertir fecha en formato {@link LocalDate} a formato
-	 * {@link Date}
+	 * Igual a {@link #calcularFechaDiasCalendario(LocalDate, int)} trabajando
+	 * con d&iacute;as de &eacute;poca
 	 * 
-	 * @param fecha
-	 *            en formato {@link LocalDate}
-	 * @return fecha en formato {@link Date}
+	 * @param dias
+	 *            numero de d&iacute;as para sumar en una fecha
+	 * @param diaInicio
+	 *            d&iacute;a de &eacute;poca en que se inicia el calculo
+	 * @return d&iacute;a de &eacute;poca calculado
 	 */
-	public static Date toDate(LocalDate fecha) {
-		return Date.from(fecha.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	public static int calcularDiaDiasCalendario(int diaInicio, int dias) {
+		return Math.addExact(diaInicio, dias);
 	}
 
 }
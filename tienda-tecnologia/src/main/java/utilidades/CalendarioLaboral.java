@@ -0,0 +1,205 @@
+package utilidades;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeSet;
+
+/**
+ * Calendario de d&iacute;as laborales que permite sumar d&iacute;as
+ * h&aacute;biles sin recorrer la fecha d&iacute;a a d&iacute;a.
+ *
+ * Los lunes no son d&iacute;as laborales. Los festivos configurados se guardan
+ * en un mapa de bits que cubre los a&ntilde;os que contienen festivos, junto
+ * con una tabla de rangos (festivos acumulados por cada palabra de 64
+ * d&iacute;as), de modo que contar los festivos de un intervalo es una
+ * operaci&oacute;n de tiempo constante.
+ *
+ * @author Elmer Urrea
+ * @since 18/10/2026
+ */
+public final class CalendarioLaboral {
+
+	/**
+	 * Calendario en el que solo los lunes son d&iacute;as no laborales
+	 */
+	public static final CalendarioLaboral SIN_FESTIVOS = new CalendarioLaboral(Collections.<LocalDate>emptyList());
+
+	private static final int DIAS_SEMANA = 7;
+	private static final int DIAS_LABORALES_SEMANA = 6;
+	private static final int BITS_PALABRA = 64;
+
+	/**
+	 * D&iacute;a de &eacute;poca del martes 06/01/1970, primer d&iacute;a
+	 * laboral de una semana
+	 */
+	private static final long MARTES_BASE = 5;
+
+	private final long primerDia;
+	private final long[] festivos;
+	private final int[] rangos;
+	private final int totalFestivos;
+
+	/**
+	 * Construye el calendario con los festivos indicados; los festivos que
+	 * caen en lunes se ignoran porque el lunes ya es un d&iacute;a no laboral
+	 *
+	 * @param festivos
+	 *            fechas de los festivos nacionales
+	 */
+	public CalendarioLaboral(Collection<LocalDate> festivos) {
+		TreeSet<Long> diasFestivos = new TreeSet<>();
+		for (LocalDate festivo : festivos) {
+			long dia = festivo.toEpochDay();
+			if (!esLunes(dia)) {
+				diasFestivos.add(dia);
+			}
+		}
+
+		if (diasFestivos.isEmpty()) {
+			this.primerDia = 0;
+			this.festivos = new long[0];
+			this.rangos = new int[1];
+			this.totalFestivos = 0;
+			return;
+		}
+
+		LocalDate primero = LocalDate.ofEpochDay(diasFestivos.first());
+		LocalDate ultimo = LocalDate.ofEpochDay(diasFestivos.last());
+		this.primerDia = primero.withDayOfYear(1).toEpochDay();
+		long ultimoDia = ultimo.withDayOfYear(ultimo.lengthOfYear()).toEpochDay();
+
+		int palabras = (int) ((ultimoDia - primerDia) / BITS_PALABRA) + 1;
+		this.festivos = new long[palabras];
+		for (long dia : diasFestivos) {
+			long indice = dia - primerDia;
+			this.festivos[(int) (indice / BITS_PALABRA)] |= 1L << (indice % BITS_PALABRA);
+		}
+
+		this.rangos = new int[palabras + 1];
+		for (int i = 0; i < palabras; i++) {
+			rangos[i + 1] = rangos[i] + Long.bitCount(this.festivos[i]);
+		}
+		this.totalFestivos = rangos[palabras];
+	}
+
+	/**
+	 * Permite sumarle d&iacute;as h&aacute;biles a una fecha. La fecha de
+	 * inicio cuenta como primer d&iacute;a si es laboral; si el resultado cae
+	 * en domingo o en un d&iacute;a no laboral se traslada al siguiente
+	 * d&iacute;a laboral
+	 *
+	 * @param fechaInicio
+	 *            fecha en que se inicia el calculo
+	 * @param dias
+	 *            numero de d&iacute;as h&aacute;biles para sumar
+	 * @return fecha calculada
+	 */
+	public LocalDate sumarDiasHabiles(LocalDate fechaInicio, int dias) {
+		return LocalDate.ofEpochDay(sumarDiasHabiles(fechaInicio.toEpochDay(), dias));
+	}
+
+	/**
+	 * Igual a {@link #sumarDiasHabiles(LocalDate, int)} trabajando con
+	 * d&iacute;as de &eacute;poca
+	 *
+	 * @param diaInicio
+	 *            d&iacute;a de &eacute;poca en que se inicia el calculo
+	 * @param dias
+	 *            numero de d&iacute;as h&aacute;biles para sumar
+	 * @return d&iacute;a de &eacute;poca calculado
+	 */
+	public long sumarDiasHabiles(long diaInicio, int dias) {
+		long vencimiento = diaInicio;
+		if (dias > 0) {
+			long rangoObjetivo = rangoLaboral(diaInicio) + dias - 1;
+			long ultimoDiaHabil = diaDeRango(rangoObjetivo);
+			long festivosContados = 0;
+			long festivosIntervalo = contarFestivos(diaInicio, ultimoDiaHabil);
+			while (festivosIntervalo != festivosContados) {
+				festivosContados = festivosIntervalo;
+				ultimoDiaHabil = diaDeRango(rangoObjetivo + festivosContados);
+				festivosIntervalo = contarFestivos(diaInicio, ultimoDiaHabil);
+			}
+			vencimiento = ultimoDiaHabil + 1;
+		}
+
+		if (esDomingo(vencimiento)) {
+			vencimiento++;
+		}
+		while (!esDiaLaboral(vencimiento)) {
+			vencimiento++;
+		}
+		return vencimiento;
+	}
+
+	/**
+	 * Permite verificar si un d&iacute;a es laboral
+	 *
+	 * @param dia
+	 *            d&iacute;a de &eacute;poca
+	 * @return <tt>true</tt> si el d&iacute;a no es lunes ni festivo
+	 */
+	public boolean esDiaLaboral(long dia) {
+		return !esLunes(dia) && !esFestivo(dia);
+	}
+
+	private boolean esFestivo(long dia) {
+		long indice = dia - primerDia;
+		if (indice < 0 || indice >= (long) festivos.length * BITS_PALABRA) {
+			return false;
+		}
+		return (festivos[(int) (indice / BITS_PALABRA)] & (1L << (indice % BITS_PALABRA))) != 0;
+	}
+
+	/**
+	 * Cuenta los festivos del intervalo cerrado [desde, hasta]
+	 */
+	private long contarFestivos(long desde, long hasta) {
+		if (totalFestivos == 0) {
+			return 0;
+		}
+		return festivosAntesDe(hasta + 1) - festivosAntesDe(desde);
+	}
+
+	private int festivosAntesDe(long dia) {
+		long indice = dia - primerDia;
+		if (indice <= 0) {
+			return 0;
+		}
+		if (indice >= (long) festivos.length * BITS_PALABRA) {
+			return totalFestivos;
+		}
+		int palabra = (int) (indice / BITS_PALABRA);
+		long mascara = (1L << (indice % BITS_PALABRA)) - 1;
+		return rangos[palabra] + Long.bitCount(festivos[palabra] & mascara);
+	}
+
+	/**
+	 * Cantidad de d&iacute;as que no son lunes anteriores al d&iacute;a
+	 * indicado, contados desde {@link #MARTES_BASE}
+	 */
+	private static long rangoLaboral(long dia) {
+		long desplazamiento = dia - MARTES_BASE;
+		return DIAS_LABORALES_SEMANA * Math.floorDiv(desplazamiento, DIAS_SEMANA)
+				+ Math.min(Math.floorMod(desplazamiento, DIAS_SEMANA), DIAS_LABORALES_SEMANA);
+	}
+
+	/**
+	 * Inverso de {@link #rangoLaboral(long)}: d&iacute;a que no es lunes con el
+	 * rango indicado
+	 */
+	private static long diaDeRango(long rango) {
+		return MARTES_BASE + DIAS_SEMANA * Math.floorDiv(rango, DIAS_LABORALES_SEMANA)
+				+ Math.floorMod(rango, DIAS_LABORALES_SEMANA);
+	}
+
+	private static boolean esLunes(long dia) {
+		return Math.floorMod(dia - MARTES_BASE, DIAS_SEMANA) == DIAS_LABORALES_SEMANA;
+	}
+
+	private static boolean esDomingo(long dia) {
+		return Math.floorMod(dia - MARTES_BASE, DIAS_SEMANA) == DIAS_LABORALES_SEMANA - 1;
+	}
+
+}
@@ -0,0 +1,78 @@
+package utilidades;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contiene utilidades para crear ejecutores de tareas
+ * 
+ * @author Elmer Urrea
+ * @since 18/10/2026
+ */
+public class ConcurrenciaUtils {
+
+	private static final String CREAR_EJECUTOR_HILOS_VIRTUALES = "newVirtualThreadPerTaskExecutor";
+
+	private ConcurrenciaUtils() {
+		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
+	}
+
+	/**
+	 * Permite verificar si la JVM soporta hilos virtuales (Java 21 o superior)
+	 * 
+	 * @return <tt>true</tt> si se pueden crear ejecutores con hilos virtuales
+	 */
+	public static boolean soportaHilosVirtuales() {
+		return buscarCreadorHilosVirtuales() != null;
+	}
+
+	/**
+	 * Permite crear un ejecutor que usa un hilo virtual por tarea si la JVM los
+	 * soporta; de lo contrario crea un pool fijo de hilos de plataforma
+	 * 
+	 * @param nombre
+	 *            prefijo del nombre de los hilos del pool
+	 * @param hilos
+	 *            n&uacute;mero de hilos del pool de plataforma
+	 * @return ejecutor creado
+	 */
+	public static ExecutorService crearEjecutor(String nombre, int hilos) {
+		Method creador = buscarCreadorHilosVirtuales();
+		if (creador != null) {
+			try {
+				return (ExecutorService) creador.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("No fue posible crear el ejecutor de hilos virtuales", e);
+			}
+		}
+		return Executors.newFixedThreadPool(hilos, crearFabricaHilos(nombre));
+	}
+
+	/**
+	 * Permite crear una f&aacute;brica de hilos demonio con nombre
+	 * 
+	 * @param nombre
+	 *            prefijo del nombre de los hilos
+	 * @return f&aacute;brica de hilos
+	 */
+	public static ThreadFactory crearFabricaHilos(String nombre) {
+		AtomicInteger consecutivo = new AtomicInteger();
+		return tarea -> {
+			Thread hilo = new Thread(tarea, nombre + "-" + consecutivo.incrementAndGet());
+			hilo.setDaemon(true);
+			return hilo;
+		};
+	}
+
+	private static Method buscarCreadorHilosVirtuales() {
+		try {
+			return Executors.class.getMethod(CREAR_EJECUTOR_HILOS_VIRTUALES);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package utilidades;
+
+/**
+ * Contiene utilidades para escribir JSON sin depender de una librer&iacute;a
+ * de serializaci&oacute;n
+ *
+ * @author Elmer Urrea
+ * @since 18/10/2026
+ */
+public class JsonUtils {
+
+	private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+	private JsonUtils() {
+		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
+	}
+
+	/**
+	 * Permite agregar una cadena como literal JSON, entre comillas y con los
+	 * caracteres especiales escapados; los caracteres de control sin escape
+	 * corto y los separadores de l&iacute;nea U+2028 y U+2029 se escriben con
+	 * su c&oacute;digo Unicode en hexadecimal
+	 *
+	 * @param destino
+	 *            donde se agrega el literal
+	 * @param cadena
+	 *            cadena a escribir, <tt>null</tt> escribe <tt>null</tt>
+	 */
+	public static void agregarCadena(StringBuilder destino, String cadena) {
+		if (cadena == null) {
+			destino.append("null");
+			return;
+		}
+		destino.append('"');
+		for (int i = 0; i < cadena.length(); i++) {
+			char caracter = cadena.charAt(i);
+			switch (caracter) {
+			case '"':
+				destino.append("\\\"");
+				break;
+			case '\\':
+				destino.append("\\\\");
+				break;
+			case '\n':
+				destino.append("\\n");
+				break;
+			case '\r':
+				destino.append("\\r");
+				break;
+			case '\t':
+				destino.append("\\t");
+				break;
+			case '\b':
+				destino.append("\\b");
+				break;
+			case '\f':
+				destino.append("\\f");
+				break;
+			default:
+				if (caracter < 0x20 || caracter == '\u2028' || caracter == '\u2029') {
+					destino.append("\\u").append(HEXADECIMAL[caracter >> 12]).append(HEXADECIMAL[(caracter >> 8) & 0xF])
+							.append(HEXADECIMAL[(caracter >> 4) & 0xF]).append(HEXADECIMAL[caracter & 0xF]);
+				} else {
+					destino.append(caracter);
+				}
+			}
+		}
+		destino.append('"');
+	}
+
+	/**
+	 * Permite escapar una cadena como literal JSON, ver
+	 * {@link #agregarCadena(StringBuilder, String)}
+	 *
+	 * @param cadena
+	 *            cadena a escapar
+	 * @return literal JSON de la cadena
+	 */
+	public static String escapar(String cadena) {
+		StringBuilder literal = new StringBuilder(cadena != null ? cadena.length() + 2 : 4);
+		agregarCadena(literal, cadena);
+		return literal.toString();
+	}
+
+}
@@ -13,14 +13,53 @@ public class StringUtils {
 		throw new IllegalStateException("Clase de utilidad no se debe instanciar");
 	}
 
+	private static final String VOCALES = "aeiouAEIOU\u00e1\u00e9\u00ed\u00f3\u00fa\u00c1\u00c9\u00cd\u00d3\u00da";
+	private static final boolean[] TABLA_VOCALES = new boolean[256];
+
+	static {
+		for (int i = 0; i < VOCALES.length(); i++) {
+			TABLA_VOCALES[VOCALES.charAt(i)] = true;
+		}
+	}
+
 	/**
-	 * Permite contar el numero de vocales encontradas en una cadena
+	 * Permite contar el numero de vocales encontradas en una cadena,
+	 * incluidas las vocales con tilde
 	 * 
 	 * @param cadena de caracteres
 	 * @return total de vocales encontradas en una cadena
 	 */
 	public static int contarVocales(String cadena) {
-		return cadena.replaceAll("[^aeiouAEIOU]", "").length();
+		return contarVocales(cadena, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Permite contar las vocales de una cadena deteniendo el conteo al
+	 * alcanzar el l&iacute;mite indicado
+	 * 
+	 * @param cadena de caracteres
+	 * @param limite numero de vocales a partir del cual se deja de contar
+	 * @return total de vocales encontradas, como m&aacute;ximo el l&iacute;mite
+	 */
+	public static int contarVocales(String cadena, int limite) {
+		int vocales = 0;
+		for (int i = 0, longitud = cadena.length(); i < longitud && vocales < limite; i++) {
+			if (esVocal(cadena.charAt(i))) {
+				vocales++;
+			}
+		}
+		return vocales;
+	}
+
+	/**
+	 * Permite verificar si un caracter es una vocal, incluidas las vocales con
+	 * tilde
+	 * 
+	 * @param caracter a verificar
+	 * @return <tt>true</tt> si el caracter es una vocal
+	 */
+	public static boolean esVocal(char caracter) {
+		return caracter < TABLA_VOCALES.length && TABLA_VOCALES[caracter];
 	}
 
 }
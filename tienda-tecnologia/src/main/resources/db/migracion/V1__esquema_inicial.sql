@@ -0,0 +1,21 @@
+create sequence hibernate_sequence start with 1 increment by 1;
+
+create table Producto (
+	id bigint not null,
+	codigo varchar(255) not null,
+	nombre varchar(255) not null,
+	precio double not null,
+	primary key (id)
+);
+
+create table GarantiaExtendida (
+	id bigint not null,
+	fechaFinGarantia timestamp,
+	fechaSolicitudGarantia timestamp,
+	nombreCliente varchar(255),
+	precio double not null,
+	ID_PRODUCTO bigint,
+	primary key (id)
+);
+
+alter table GarantiaExtendida add constraint FK_GARANTIA_PRODUCTO foreign key (ID_PRODUCTO) references Producto;
@@ -0,0 +1,3 @@
+create unique index UK_PRODUCTO_CODIGO on Producto (codigo);
+
+create index IDX_GARANTIA_PRODUCTO on GarantiaExtendida (ID_PRODUCTO);
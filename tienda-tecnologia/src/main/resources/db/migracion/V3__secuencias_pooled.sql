@@ -0,0 +1,11 @@
+-- Una secuencia por tabla con incremento ${tamanoAsignacion}, usadas por
+-- GeneradorSecuencia con el optimizador pooled. El valor de la secuencia es
+-- el ultimo id del bloque reservado, por eso continuan en el valor actual de
+-- hibernate_sequence mas un bloque
+create sequence SEQ_PRODUCTO start with 1 increment by ${tamanoAsignacion};
+alter sequence SEQ_PRODUCTO restart with (select current_value + ${tamanoAsignacion} from information_schema.sequences where sequence_name = 'HIBERNATE_SEQUENCE');
+
+create sequence SEQ_GARANTIA start with 1 increment by ${tamanoAsignacion};
+alter sequence SEQ_GARANTIA restart with (select current_value + ${tamanoAsignacion} from information_schema.sequences where sequence_name = 'HIBERNATE_SEQUENCE');
+
+drop sequence hibernate_sequence;
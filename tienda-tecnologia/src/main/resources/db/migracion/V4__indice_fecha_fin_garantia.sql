@@ -0,0 +1,4 @@
+-- Consultas de garantias por vencer (obtenerGarantiasPorVencer): el rango de
+-- fechaFinGarantia y el orden (fechaFinGarantia, id) de la paginacion por
+-- llave se resuelven recorriendo este indice
+create index IDX_GARANTIA_FECHA_FIN on GarantiaExtendida (fechaFinGarantia, id);
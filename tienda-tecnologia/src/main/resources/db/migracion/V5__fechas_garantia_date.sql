@@ -0,0 +1,5 @@
+-- Las fechas de la garantia se manejan como LocalDate, sin hora: las columnas
+-- pasan a DATE y los valores existentes se truncan al dia. El indice
+-- IDX_GARANTIA_FECHA_FIN se reconstruye sobre la columna convertida
+alter table GarantiaExtendida alter column fechaSolicitudGarantia date;
+alter table GarantiaExtendida alter column fechaFinGarantia date;
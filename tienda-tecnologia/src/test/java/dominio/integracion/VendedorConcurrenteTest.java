@@ -0,0 +1,133 @@
+package dominio.integracion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManager;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.Vendedor;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.SistemaDePersistencia;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class VendedorConcurrenteTest {
+
+	private static final String NOMBRE_CLIENTE = "Javier Mendez";
+	private static final String PREFIJO_CODIGO = "F01TSA";
+	private static final String CONTAR_GARANTIAS = "SELECT COUNT(garantia) FROM GarantiaExtendida garantia WHERE garantia.producto.codigo = :codigo";
+	private static final int GARANTIAS_POR_HILO = 200;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+	private RepositorioGarantiaExtendida repositorioGarantia;
+	private Vendedor vendedor;
+	private int siguienteCodigo;
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
+		vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Genera garantias desde varios hilos, cada uno con su propia unidad de
+	 * trabajo
+	 *
+	 * <b>Resultado:</b> Cada unidad de trabajo usa su propio entity manager
+	 * y cada c&oacute;digo queda con exactamente una garantia
+	 */
+	@Test
+	public void generarGarantiasConcurrentesTest() throws Exception {
+		// arrange
+		int hilos = Math.max(4, Runtime.getRuntime().availableProcessors());
+		List<List<String>> codigosPorHilo = crearProductos(hilos);
+
+		// act
+		Set<EntityManager> entityManagers = generarGarantias(codigosPorHilo);
+
+		// assert
+		Assert.assertEquals(hilos * GARANTIAS_POR_HILO, entityManagers.size());
+		sistemaPersistencia.ejecutarEnTransaccion(() -> {
+			for (List<String> codigos : codigosPorHilo) {
+				for (String codigo : codigos) {
+					Assert.assertTrue(vendedor.tieneGarantia(codigo));
+					Assert.assertEquals(Long.valueOf(1), sistemaPersistencia.obtenerEntityManager()
+							.createQuery(CONTAR_GARANTIAS, Long.class).setParameter("codigo", codigo)
+							.getSingleResult());
+				}
+			}
+		});
+	}
+
+	private List<List<String>> crearProductos(int hilos) {
+		List<List<String>> codigosPorHilo = new ArrayList<>();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> {
+			for (int i = 0; i < hilos; i++) {
+				List<String> codigos = new ArrayList<>();
+				for (int j = 0; j < GARANTIAS_POR_HILO; j++) {
+					Producto producto = new ProductoTestDataBuilder().conCodigo(PREFIJO_CODIGO + siguienteCodigo++)
+							.build();
+					repositorioProducto.agregar(producto);
+					codigos.add(producto.getCodigo());
+				}
+				codigosPorHilo.add(codigos);
+			}
+		});
+		return codigosPorHilo;
+	}
+
+	/**
+	 * Genera las garantias con un hilo por cada lista de codigos, cada una en
+	 * su propia unidad de trabajo
+	 *
+	 * @return entity managers de las unidades de trabajo usadas
+	 */
+	private Set<EntityManager> generarGarantias(List<List<String>> codigosPorHilo) throws Exception {
+		Set<EntityManager> entityManagers = Collections.synchronizedSet(
+				Collections.newSetFromMap(new IdentityHashMap<EntityManager, Boolean>()));
+		ExecutorService ejecutor = Executors.newFixedThreadPool(codigosPorHilo.size());
+		try {
+			List<Callable<Void>> tareas = new ArrayList<>();
+			for (List<String> codigos : codigosPorHilo) {
+				tareas.add(() -> {
+					for (String codigo : codigos) {
+						sistemaPersistencia.ejecutarEnTransaccion(() -> {
+							entityManagers.add(sistemaPersistencia.obtenerEntityManager());
+							vendedor.generarGarantia(codigo, NOMBRE_CLIENTE);
+						});
+					}
+					return null;
+				});
+			}
+
+			for (Future<Void> resultado : ejecutor.invokeAll(tareas)) {
+				resultado.get();
+			}
+			return entityManagers;
+		} finally {
+			ejecutor.shutdown();
+		}
+	}
+
+}
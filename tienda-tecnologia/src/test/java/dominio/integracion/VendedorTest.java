@@ -2,8 +2,11 @@ package dominio.integracion;
 
 import static org.junit.Assert.fail;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -13,18 +16,23 @@ import org.junit.Test;
 import dominio.Vendedor;
 import dominio.GarantiaExtendida;
 import dominio.Producto;
+import dominio.ResultadoGarantia;
+import dominio.SolicitudGarantia;
 import dominio.excepcion.GarantiaExtendidaException;
 import dominio.repositorio.RepositorioProducto;
 import dominio.repositorio.RepositorioGarantiaExtendida;
 import persistencia.sistema.SistemaDePersistencia;
 import testdatabuilder.ProductoTestDataBuilder;
+import testutilidades.ContadorSentencias;
 
 public class VendedorTest {
 
 	private static final String COMPUTADOR_LENOVO = "Computador Lenovo";
 	private static final String NOMBRE_CLIENTE = "Javier Mendez";
 	private static final String CODIGO_PRODUCTO_TRES_VOCALES = "1239AEI";
-	private static final SimpleDateFormat FORMATO_FECHA = new SimpleDateFormat("dd/MM/yyyy");
+	private static final String CODIGO_PRODUCTO_CON_GARANTIA = "S01H1AT51";
+	private static final String CODIGO_PRODUCTO_INEXISTENTE = "X99ZZZ";
+	private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 	private static final double VALOR_PRODUCTO_MAYOR = 720_000;
 	private static final double VALOR_GARANTIA_MAYOR_ESPERADO = 144_000;
 	private static final double VALOR_PRODUCTO_MENOR = 500_000;
@@ -34,6 +42,7 @@ public class VendedorTest {
 
 	private RepositorioProducto repositorioProducto;
 	private RepositorioGarantiaExtendida repositorioGarantia;
+	private ContadorSentencias contadorSentencias;
 
 	@Before
 	public void setUp() {
@@ -43,12 +52,15 @@ public class VendedorTest {
 		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
 		repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
 
+		contadorSentencias = new ContadorSentencias(sistemaPersistencia);
+
 		sistemaPersistencia.iniciar();
 	}
 
 	@After
 	public void tearDown() {
 		sistemaPersistencia.terminar();
+		sistemaPersistencia.cerrar();
 	}
 
 	/**
@@ -63,10 +75,17 @@ public class VendedorTest {
 		repositorioProducto.agregar(producto);
 		Vendedor vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
 
+		enviarPreparacion();
+
 		// act
-		vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
+		ContadorSentencias.Conteo conteo = contadorSentencias.contar(() -> {
+			vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
+			enviarPreparacion();
+		});
 
 		// assert
+		// consulta del producto con su garanta, secuencia e insert
+		conteo.verificar(3, 0, 1);
 		Assert.assertTrue(vendedor.tieneGarantia(producto.getCodigo()));
 		Assert.assertNotNull(repositorioGarantia.obtenerProductoConGarantiaPorCodigo(producto.getCodigo()));
 
@@ -89,15 +108,46 @@ public class VendedorTest {
 
 		// act
 		vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
-		try {
+		enviarPreparacion();
+		ContadorSentencias.Conteo conteo = contadorSentencias.contar(() -> {
+			try {
+
+				vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
+				fail();
+
+			} catch (GarantiaExtendidaException e) {
+				// assert
+				Assert.assertEquals(Vendedor.EL_PRODUCTO_TIENE_GARANTIA, e.getMessage());
+			}
+		});
+		// solo la consulta del producto con su garanta
+		conteo.verificar(1, 0, 0);
+	}
 
-			vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
-			fail();
+	/**
+	 * Verifica que no se genere garantia extendida para un producto que no
+	 * existe
+	 * 
+	 * <b>Resultado:</b> Genera excepci&oacute;n indicando que el producto no
+	 * existe
+	 */
+	@Test
+	public void productoNoExisteTest() {
+		// arrange
+		Vendedor vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
 
-		} catch (GarantiaExtendidaException e) {
-			// assert
-			Assert.assertEquals(Vendedor.EL_PRODUCTO_TIENE_GARANTIA, e.getMessage());
-		}
+		// act
+		ContadorSentencias.Conteo conteo = contadorSentencias.contar(() -> {
+			try {
+				vendedor.generarGarantia(CODIGO_PRODUCTO_INEXISTENTE, NOMBRE_CLIENTE);
+				fail();
+			} catch (GarantiaExtendidaException e) {
+				// assert
+				Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_EXISTE, e.getMessage());
+			}
+		});
+		// solo la consulta del producto con su garanta
+		conteo.verificar(1, 0, 0);
 	}
 
 	/**
@@ -116,14 +166,20 @@ public class VendedorTest {
 
 		Vendedor vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
 
+		enviarPreparacion();
+
 		// act
-		try {
-			vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
-			fail();
-		} catch (GarantiaExtendidaException e) {
-			// assert
-			Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA, e.getMessage());
-		}
+		ContadorSentencias.Conteo conteo = contadorSentencias.contar(() -> {
+			try {
+				vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
+				fail();
+			} catch (GarantiaExtendidaException e) {
+				// assert
+				Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA, e.getMessage());
+			}
+		});
+		// el cdigo no es elegible y no se consulta la base de datos
+		conteo.verificar(0, 0, 0);
 	}
 
 	/**
@@ -143,9 +199,9 @@ public class VendedorTest {
 		// act
 		vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
 		GarantiaExtendida garantiaGenerada = repositorioGarantia.obtener(producto.getCodigo());
-		Date fechaFinEsperada = vendedor.calcularFechaVencimiento(new Date(), VALOR_PRODUCTO_MAYOR);
-		String fechaFinEsperadaString = FORMATO_FECHA.format(fechaFinEsperada);
-		String fechaFinCalculadaString = FORMATO_FECHA.format(garantiaGenerada.getFechaFinGarantia());
+		LocalDate fechaFinEsperada = vendedor.calcularFechaVencimiento(LocalDate.now(), VALOR_PRODUCTO_MAYOR);
+		String fechaFinEsperadaString = fechaFinEsperada.format(FORMATO_FECHA);
+		String fechaFinCalculadaString = garantiaGenerada.getFechaFinGarantia().format(FORMATO_FECHA);
 
 		// assert
 		Assert.assertEquals(NOMBRE_CLIENTE, garantiaGenerada.getNombreCliente());
@@ -170,13 +226,89 @@ public class VendedorTest {
 		// act
 		vendedor.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE);
 		GarantiaExtendida garantiaGenerada = repositorioGarantia.obtener(producto.getCodigo());
-		Date fechaFinEsperada = vendedor.calcularFechaVencimiento(new Date(), VALOR_PRODUCTO_MENOR);
-		String fechaFinEsperadaString = FORMATO_FECHA.format(fechaFinEsperada);
-		String fechaFinCalculadaString = FORMATO_FECHA.format(garantiaGenerada.getFechaFinGarantia());
+		LocalDate fechaFinEsperada = vendedor.calcularFechaVencimiento(LocalDate.now(), VALOR_PRODUCTO_MENOR);
+		String fechaFinEsperadaString = fechaFinEsperada.format(FORMATO_FECHA);
+		String fechaFinCalculadaString = garantiaGenerada.getFechaFinGarantia().format(FORMATO_FECHA);
 
 		// assert
 		Assert.assertEquals(NOMBRE_CLIENTE, garantiaGenerada.getNombreCliente());
 		Assert.assertEquals(VALOR_GARANTIA_MENOR_ESPERADO, garantiaGenerada.getPrecioGarantia(), 0);
 		Assert.assertEquals(fechaFinEsperadaString, fechaFinCalculadaString);
 	}
+
+	/**
+	 * Genera garantias extendidas para un lote con solicitudes validas y
+	 * rechazadas
+	 * 
+	 * <b>Resultado:</b> Las solicitudes validas generan garantia y las demas
+	 * se rechazan con el mensaje indicado sin detener el lote
+	 */
+	@Test
+	public void generarGarantiasLoteTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().build();
+		Producto productoConGarantia = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO_CON_GARANTIA).build();
+		repositorioProducto.agregar(producto);
+		repositorioProducto.agregar(productoConGarantia);
+		Vendedor vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
+		vendedor.generarGarantia(productoConGarantia.getCodigo(), NOMBRE_CLIENTE);
+
+		List<SolicitudGarantia> solicitudes = Arrays.asList(
+				new SolicitudGarantia(producto.getCodigo(), NOMBRE_CLIENTE),
+				new SolicitudGarantia(CODIGO_PRODUCTO_TRES_VOCALES, NOMBRE_CLIENTE),
+				new SolicitudGarantia(productoConGarantia.getCodigo(), NOMBRE_CLIENTE),
+				new SolicitudGarantia(CODIGO_PRODUCTO_INEXISTENTE, NOMBRE_CLIENTE),
+				new SolicitudGarantia(producto.getCodigo(), NOMBRE_CLIENTE));
+
+		enviarPreparacion();
+
+		// act
+		List<ResultadoGarantia> resultados = new ArrayList<>();
+		ContadorSentencias.Conteo conteo = contadorSentencias.contar(() -> {
+			resultados.addAll(vendedor.generarGarantias(solicitudes));
+			enviarPreparacion();
+		});
+
+		// assert
+		// cdigos con garanta, productos del lote, secuencia e insert por lotes
+		conteo.verificar(4, 0, 1);
+		Assert.assertEquals(solicitudes.size(), resultados.size());
+		Assert.assertTrue(resultados.get(0).isEmitida());
+		Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_TIENE_GARANTIA_EXTENDIDA, resultados.get(1).getMotivoRechazo());
+		Assert.assertEquals(Vendedor.EL_PRODUCTO_TIENE_GARANTIA, resultados.get(2).getMotivoRechazo());
+		Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_EXISTE, resultados.get(3).getMotivoRechazo());
+		Assert.assertEquals(Vendedor.EL_PRODUCTO_TIENE_GARANTIA, resultados.get(4).getMotivoRechazo());
+		Assert.assertTrue(vendedor.tieneGarantia(producto.getCodigo()));
+	}
+
+	/**
+	 * Genera garantias para un lote que repite el codigo de un producto que
+	 * no existe
+	 * 
+	 * <b>Resultado:</b> Ambas solicitudes se rechazan porque el producto no
+	 * existe
+	 */
+	@Test
+	public void generarGarantiasLoteCodigoInexistenteRepetidoTest() {
+		// arrange
+		Vendedor vendedor = new Vendedor(repositorioProducto, repositorioGarantia);
+		List<SolicitudGarantia> solicitudes = Arrays.asList(
+				new SolicitudGarantia(CODIGO_PRODUCTO_INEXISTENTE, NOMBRE_CLIENTE),
+				new SolicitudGarantia(CODIGO_PRODUCTO_INEXISTENTE, NOMBRE_CLIENTE));
+
+		// act
+		List<ResultadoGarantia> resultados = vendedor.generarGarantias(solicitudes);
+
+		// assert
+		Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_EXISTE, resultados.get(0).getMotivoRechazo());
+		Assert.assertEquals(Vendedor.EL_PRODUCTO_NO_EXISTE, resultados.get(1).getMotivoRechazo());
+	}
+
+	/**
+	 * Env&iacute;a a la base de datos los cambios pendientes de la unidad de
+	 * trabajo, para que no se cuenten dentro del bloque medido
+	 */
+	private void enviarPreparacion() {
+		sistemaPersistencia.obtenerEntityManager().flush();
+	}
 }
@@ -0,0 +1,113 @@
+package dominio.unitaria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import dominio.CotizacionGarantias;
+import dominio.CotizadorGarantias;
+import dominio.Producto;
+import dominio.Vendedor;
+import testdatabuilder.ProductoTestDataBuilder;
+import utilidades.CalendarUtils;
+
+public class CotizadorGarantiasTest {
+
+	private static final double[] PRECIOS = { 0, 1, 318_000, 499_999.99, 500_000, 500_000.01, 650_000,
+			12_345_678.9 };
+	private static final LocalDate DIA_SOLICITUD = LocalDate.of(2018, 12, 22);
+	private static final LocalDate FESTIVO = LocalDate.of(2018, 12, 25);
+	private static final int PRODUCTOS_PARALELO = 1_000;
+
+	private final Vendedor vendedor = new Vendedor();
+
+	@After
+	public void tearDown() {
+		CalendarUtils.configurarFestivos(Collections.<LocalDate>emptyList());
+	}
+
+	/**
+	 * Cotiza un arreglo de precios alrededor del l&iacute;mite de la
+	 * garant&iacute;a mayor
+	 *
+	 * <b>Resultado:</b> Cada valor y fecha coincide con el del vendedor
+	 */
+	@Test
+	public void cotizarPreciosTest() {
+		// arrange
+		CotizadorGarantias cotizador = new CotizadorGarantias();
+
+		// act
+		CotizacionGarantias cotizacion = cotizador.cotizar(PRECIOS, DIA_SOLICITUD);
+
+		// assert
+		assertEquals(PRECIOS.length, cotizacion.getCantidad());
+		for (int i = 0; i < PRECIOS.length; i++) {
+			assertEquals(vendedor.calcularValorGarantia(PRECIOS[i]), cotizacion.getPrecioGarantia(i), 0);
+			assertEquals(vendedor.calcularFechaVencimiento(DIA_SOLICITUD, PRECIOS[i]),
+					cotizacion.getFechaVencimiento(i));
+		}
+		assertFalse(cotizacion.isTramoMayor(4));
+		assertTrue(cotizacion.isTramoMayor(5));
+	}
+
+	/**
+	 * Cotiza una lista de productos con un umbral que obliga a usar el stream
+	 * paralelo
+	 *
+	 * <b>Resultado:</b> Los resultados conservan el orden de los productos
+	 */
+	@Test
+	public void cotizarProductosEnParaleloTest() {
+		// arrange
+		LocalDate fechaSolicitud = LocalDate.now();
+		List<Producto> productos = new ArrayList<>(PRODUCTOS_PARALELO);
+		for (int i = 0; i < PRODUCTOS_PARALELO; i++) {
+			productos.add(new ProductoTestDataBuilder().conPrecio(i * 1_000.5).build());
+		}
+		CotizadorGarantias cotizador = new CotizadorGarantias(PRODUCTOS_PARALELO / 10);
+
+		// act
+		CotizacionGarantias cotizacion = cotizador.cotizar(productos, fechaSolicitud);
+
+		// assert
+		assertEquals(PRODUCTOS_PARALELO, cotizacion.getCantidad());
+		for (int i = 0; i < PRODUCTOS_PARALELO; i++) {
+			double precio = productos.get(i).getPrecio();
+			assertEquals(vendedor.calcularValorGarantia(precio), cotizacion.getPrecioGarantia(i), 0);
+			assertEquals(vendedor.calcularFechaVencimiento(fechaSolicitud, precio), cotizacion.getFechaVencimiento(i));
+		}
+	}
+
+	/**
+	 * Cotiza el mismo d&iacute;a antes y despu&eacute;s de configurar un
+	 * festivo dentro de la vigencia de la garant&iacute;a mayor
+	 *
+	 * <b>Resultado:</b> Las fechas guardadas del d&iacute;a se recalculan con
+	 * el nuevo calendario
+	 */
+	@Test
+	public void cotizarDespuesDeConfigurarFestivosTest() {
+		// arrange
+		double[] precios = { 650_000 };
+		CotizadorGarantias cotizador = new CotizadorGarantias();
+		LocalDate vencimientoSinFestivos = cotizador.cotizar(precios, DIA_SOLICITUD).getFechaVencimiento(0);
+
+		// act
+		CalendarUtils.configurarFestivos(Collections.singletonList(FESTIVO));
+		LocalDate vencimientoConFestivos = cotizador.cotizar(precios, DIA_SOLICITUD).getFechaVencimiento(0);
+
+		// assert
+		assertTrue(vencimientoConFestivos.isAfter(vencimientoSinFestivos));
+		assertEquals(vendedor.calcularFechaVencimiento(DIA_SOLICITUD, precios[0]), vencimientoConFestivos);
+	}
+
+}
@@ -1,15 +1,14 @@
 package dominio.unitaria;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
 import org.junit.Test;
 
@@ -23,7 +22,8 @@ public class VendedorTest {
 
 	private static final String CODIGO_PRODUCTO_TRES_VOCALES = "Aghe2750FE";
 	private static final String CODIGO_PRODUCTO_DIFERENTE_TRES_VOCALES = "AEIghe2750FE";
-	private static final SimpleDateFormat FORMATO_FECHA = new SimpleDateFormat("dd/MM/yyyy");
+	private static final String CODIGO_PRODUCTO_TRES_VOCALES_TILDE = "\u00c1ghe2750F\u00e9";
+	private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 	private static final String FECHA_SOLICITUD_GARANTIA_1 = "16/08/2018";
 	private static final String FECHA_ESPERADA_VENCIMIENTO_1 = "06/04/2019";
 	private static final String FECHA_SOLICITUD_GARANTIA_2 = "22/12/2018";
@@ -97,14 +97,9 @@ public class VendedorTest {
 		Vendedor vendedor = new Vendedor();
 
 		// act
-		Date fechaSolicitud = null;
-		try {
-			fechaSolicitud = FORMATO_FECHA.parse(FECHA_SOLICITUD_GARANTIA_1);
-		} catch (ParseException e) {
-			fail();
-		}
-		Date fechaFin = vendedor.calcularFechaVencimiento(fechaSolicitud, VALOR_PRODUCTO_MAYOR);
-		String fechaFinString = FORMATO_FECHA.format(fechaFin);
+		LocalDate fechaSolicitud = LocalDate.parse(FECHA_SOLICITUD_GARANTIA_1, FORMATO_FECHA);
+		LocalDate fechaFin = vendedor.calcularFechaVencimiento(fechaSolicitud, VALOR_PRODUCTO_MAYOR);
+		String fechaFinString = fechaFin.format(FORMATO_FECHA);
 
 		// assert
 		assertEquals(FECHA_ESPERADA_VENCIMIENTO_1, fechaFinString);
@@ -122,14 +117,9 @@ public class VendedorTest {
 		Vendedor vendedor = new Vendedor();
 
 		// act
-		Date fechaSolicitud = null;
-		try {
-			fechaSolicitud = FORMATO_FECHA.parse(FECHA_SOLICITUD_GARANTIA_2);
-		} catch (ParseException e) {
-			fail();
-		}
-		Date fechaFin = vendedor.calcularFechaVencimiento(fechaSolicitud, VALOR_PRODUCTO_MENOR);
-		String fechaFinString = FORMATO_FECHA.format(fechaFin);
+		LocalDate fechaSolicitud = LocalDate.parse(FECHA_SOLICITUD_GARANTIA_2, FORMATO_FECHA);
+		LocalDate fechaFin = vendedor.calcularFechaVencimiento(fechaSolicitud, VALOR_PRODUCTO_MENOR);
+		String fechaFinString = fechaFin.format(FORMATO_FECHA);
 
 		// assert
 		assertEquals(FECHA_ESPERADA_VENCIMIENTO_2, fechaFinString);
@@ -225,4 +215,43 @@ public class VendedorTest {
 		assertFalse(codigoConGarantia);
 	}
 
+	/**
+	 * Valida c&oacute;digo de producto con 3 vocales, algunas con tilde, para
+	 * garantia extendida
+	 * 
+	 * <b>Resultado:</b> El c&oacute;digo de producto no tiene garantia
+	 * extendida
+	 */
+	@Test
+	public void codigoProductoVocalesConTildeNoTieneGarantiaTest() {
+		// arrange
+		Vendedor vendedor = new Vendedor();
+
+		// act
+		boolean codigoConGarantia = vendedor.codigoConGarantiaExtendida(CODIGO_PRODUCTO_TRES_VOCALES_TILDE);
+
+		// assert
+		assertFalse(codigoConGarantia);
+	}
+
+	/**
+	 * Valida un grupo de c&oacute;digos de producto para garantia extendida
+	 * 
+	 * <b>Resultado:</b> Cada c&oacute;digo se clasifica igual que al validarlo
+	 * individualmente
+	 */
+	@Test
+	public void codigosProductoConGarantiaTest() {
+		// arrange
+		Vendedor vendedor = new Vendedor();
+		String[] codigos = { CODIGO_PRODUCTO_TRES_VOCALES, CODIGO_PRODUCTO_DIFERENTE_TRES_VOCALES, null,
+				CODIGO_PRODUCTO_TRES_VOCALES_TILDE };
+
+		// act
+		boolean[] codigosConGarantia = vendedor.codigosConGarantiaExtendida(codigos);
+
+		// assert
+		assertArrayEquals(new boolean[] { false, true, false, false }, codigosConGarantia);
+	}
+
 }
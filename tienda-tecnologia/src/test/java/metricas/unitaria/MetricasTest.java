@@ -0,0 +1,102 @@
+package metricas.unitaria;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.Vendedor;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+import metricas.Metrica;
+import metricas.Metricas;
+import metricas.ResumenMetrica;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class MetricasTest {
+
+	private static final String METRICA_PRUEBA = "prueba.operacion";
+	private static final String[] FASES_GENERAR_GARANTIA = { "vendedor.generarGarantia",
+			"vendedor.generarGarantia.elegibilidad", "vendedor.generarGarantia.consulta",
+			"vendedor.generarGarantia.calculo", "vendedor.generarGarantia.persistencia" };
+
+	@After
+	public void tearDown() {
+		Metricas.setHabilitadas(false);
+		Metricas.reiniciar();
+	}
+
+	/**
+	 * Mide una operaci&oacute;n con las m&eacute;tricas deshabilitadas
+	 * 
+	 * <b>Resultado:</b> No se registra ninguna medici&oacute;n
+	 */
+	@Test
+	public void metricasDeshabilitadasNoRegistranTest() {
+		// arrange
+		Metrica metrica = Metricas.obtener(METRICA_PRUEBA);
+
+		// act
+		long inicio = metrica.iniciar();
+		metrica.registrar(inicio);
+
+		// assert
+		Assert.assertEquals(0, inicio);
+		Assert.assertEquals(0, metrica.resumir().getConteo());
+	}
+
+	/**
+	 * Registra las latencias 1..1000 microsegundos
+	 * 
+	 * <b>Resultado:</b> El conteo y los percentiles corresponden a los
+	 * valores registrados con un error menor al 1%
+	 */
+	@Test
+	public void percentilesDeLatenciasRegistradasTest() {
+		// arrange
+		Metricas.setHabilitadas(true);
+		Metrica metrica = Metricas.obtener(METRICA_PRUEBA);
+
+		// act
+		for (int micros = 1; micros <= 1_000; micros++) {
+			metrica.registrarNanos(micros * 1_000L);
+		}
+		ResumenMetrica resumen = metrica.resumir();
+
+		// assert
+		Assert.assertEquals(1_000, resumen.getConteo());
+		Assert.assertEquals(500_000, resumen.getPercentil50(), 5_000);
+		Assert.assertEquals(990_000, resumen.getPercentil99(), 9_900);
+		Assert.assertEquals(1_000_000, resumen.getMaximo(), 10_000);
+	}
+
+	/**
+	 * Genera una garantia con las m&eacute;tricas habilitadas
+	 * 
+	 * <b>Resultado:</b> Se registra una medici&oacute;n del total y de cada
+	 * fase de la generaci&oacute;n
+	 */
+	@Test
+	public void generarGarantiaRegistraCadaFaseTest() {
+		// arrange
+		Metricas.setHabilitadas(true);
+		Producto producto = new ProductoTestDataBuilder().build();
+		RepositorioGarantiaExtendida repositorioGarantia = mock(RepositorioGarantiaExtendida.class);
+		when(repositorioGarantia.obtenerProductoParaGarantia(producto.getCodigo()))
+				.thenReturn(new ProductoParaGarantia(producto, false));
+		Vendedor vendedor = new Vendedor(mock(RepositorioProducto.class), repositorioGarantia);
+
+		// act
+		vendedor.generarGarantia(producto.getCodigo(), "Javier Mendez");
+
+		// assert
+		for (String fase : FASES_GENERAR_GARANTIA) {
+			Assert.assertEquals(fase, 1, Metricas.obtener(fase).resumir().getConteo());
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package persistencia.integracion;
+
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.EstadisticasRegionCache;
+import persistencia.sistema.SistemaDePersistencia;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class CacheSegundoNivelTest {
+
+	private static final String REGION_PRODUCTO = "persistencia.entitad.ProductoEntity";
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+
+	@Before
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("hibernate.generate_statistics", "true");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Consulta el mismo producto en dos unidades de trabajo distintas
+	 * 
+	 * <b>Resultado:</b> La segunda consulta se responde desde la cache de
+	 * segundo nivel
+	 */
+	@Test
+	public void productoConsultadoSeRespondeDesdeCacheTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().build();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(producto));
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(producto.getCodigo()));
+		long aciertosIniciales = obtenerRegionProducto().getAciertos();
+
+		// act
+		Producto productoConsultado = sistemaPersistencia
+				.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(producto.getCodigo()));
+
+		// assert
+		Assert.assertEquals(producto.getNombre(), productoConsultado.getNombre());
+		Assert.assertEquals(aciertosIniciales + 1, obtenerRegionProducto().getAciertos());
+	}
+
+	private EstadisticasRegionCache obtenerRegionProducto() {
+		for (EstadisticasRegionCache region : sistemaPersistencia.obtenerEstadisticasCache()) {
+			if (region.getRegion().equals(REGION_PRODUCTO)) {
+				return region;
+			}
+		}
+		throw new AssertionError("No existe la region " + REGION_PRODUCTO);
+	}
+
+}
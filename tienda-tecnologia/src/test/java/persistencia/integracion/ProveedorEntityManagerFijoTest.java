@@ -0,0 +1,84 @@
+package persistencia.integracion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import persistencia.conexion.OyenteUnidadDeTrabajo;
+import persistencia.conexion.ProveedorEntityManagerFijo;
+import persistencia.sistema.SistemaDePersistencia;
+
+public class ProveedorEntityManagerFijoTest {
+
+	private static final String CONFIRMADA = "confirmada";
+	private static final String DESCARTADA = "descartada";
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private ProveedorEntityManagerFijo proveedorEntityManager;
+	private final List<String> resultados = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		sistemaPersistencia.iniciar();
+		proveedorEntityManager = new ProveedorEntityManagerFijo(sistemaPersistencia.obtenerEntityManager());
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Registra un oyente y confirma la transacci&oacute;n del entity manager
+	 *
+	 * <b>Resultado:</b> El oyente recibe la confirmaci&oacute;n
+	 */
+	@Test
+	public void oyenteRecibeConfirmacionTest() {
+		// arrange
+		proveedorEntityManager.registrarOyente(new OyenteRegistrado());
+
+		// act
+		sistemaPersistencia.terminar();
+
+		// assert
+		Assert.assertEquals(CONFIRMADA, String.join(",", resultados));
+	}
+
+	/**
+	 * Registra un oyente y deshace la transacci&oacute;n del entity manager
+	 *
+	 * <b>Resultado:</b> El oyente recibe el descarte
+	 */
+	@Test
+	public void oyenteRecibeDescarteTest() {
+		// arrange
+		proveedorEntityManager.registrarOyente(new OyenteRegistrado());
+
+		// act
+		sistemaPersistencia.deshacer();
+
+		// assert
+		Assert.assertEquals(DESCARTADA, String.join(",", resultados));
+	}
+
+	private class OyenteRegistrado implements OyenteUnidadDeTrabajo {
+
+		@Override
+		public void confirmada() {
+			resultados.add(CONFIRMADA);
+		}
+
+		@Override
+		public void descartada() {
+			resultados.add(DESCARTADA);
+		}
+
+	}
+
+}
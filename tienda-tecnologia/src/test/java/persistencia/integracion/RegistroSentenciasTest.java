@@ -0,0 +1,154 @@
+package persistencia.integracion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.conexion.ProveedorConexionesRegistradas;
+import persistencia.conexion.RegistroSentencias;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class RegistroSentenciasTest {
+
+	private static final String CODIGO_PRODUCTO = "S01TEST";
+
+	private final List<LoggingEvent> eventos = Collections.synchronizedList(new ArrayList<>());
+	private final AppenderSkeleton capturador = new AppenderSkeleton() {
+
+		@Override
+		protected void append(LoggingEvent evento) {
+			eventos.add(evento);
+		}
+
+		@Override
+		public boolean requiresLayout() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+			// no tiene recursos
+		}
+	};
+
+	private Logger logger;
+
+	@Before
+	public void setUp() {
+		logger = Logger.getLogger(RegistroSentencias.class);
+		logger.addAppender(capturador);
+	}
+
+	@After
+	public void tearDown() {
+		logger.removeAppender(capturador);
+	}
+
+	/**
+	 * Consulta un producto con un umbral de 0 ms, de modo que toda sentencia
+	 * es lenta
+	 *
+	 * <b>Resultado:</b> La consulta se registra con nivel WARN, con el
+	 * c&oacute;digo como par&aacute;metro y el m&eacute;todo del repositorio
+	 * que la ejecut&oacute;
+	 */
+	@Test
+	public void sentenciaLentaSeRegistraConParametrosYMetodoTest() {
+		// arrange
+		SistemaDePersistencia sistemaPersistencia = crearSistema("0", "0");
+		RepositorioProducto repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(producto));
+		eventos.clear();
+
+		// act
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(CODIGO_PRODUCTO));
+		sistemaPersistencia.cerrar();
+
+		// assert
+		LoggingEvent consulta = buscarEvento("RepositorioProductoPersistente.obtenerProductoEntityPorCodigo");
+		Assert.assertEquals(Level.WARN, consulta.getLevel());
+		Assert.assertTrue(consulta.getRenderedMessage(), consulta.getRenderedMessage().contains("select"));
+		Assert.assertTrue(consulta.getRenderedMessage(),
+				consulta.getRenderedMessage().contains("parametros=['" + CODIGO_PRODUCTO + "']"));
+	}
+
+	/**
+	 * Consulta un producto con un umbral alto y sin muestreo
+	 *
+	 * <b>Resultado:</b> No se registra ninguna sentencia
+	 */
+	@Test
+	public void sentenciaRapidaSinMuestreoNoSeRegistraTest() {
+		// arrange
+		SistemaDePersistencia sistemaPersistencia = crearSistema("60000", "0");
+		RepositorioProducto repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+
+		// act
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(producto));
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(CODIGO_PRODUCTO));
+		sistemaPersistencia.cerrar();
+
+		// assert
+		Assert.assertTrue(eventos.isEmpty());
+	}
+
+	/**
+	 * Consulta un producto con un umbral alto y muestreando todas las
+	 * sentencias
+	 *
+	 * <b>Resultado:</b> La consulta se registra con nivel INFO
+	 */
+	@Test
+	public void sentenciaMuestreadaSeRegistraComoInfoTest() {
+		// arrange
+		SistemaDePersistencia sistemaPersistencia = crearSistema("60000", "1");
+		RepositorioProducto repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(producto));
+
+		// act
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigo(CODIGO_PRODUCTO));
+		sistemaPersistencia.cerrar();
+
+		// assert
+		LoggingEvent consulta = buscarEvento("RepositorioProductoPersistente.obtenerProductoEntityPorCodigo");
+		Assert.assertEquals(Level.INFO, consulta.getLevel());
+		Assert.assertTrue(consulta.getRenderedMessage(),
+				consulta.getRenderedMessage().startsWith("Sentencia muestreada"));
+	}
+
+	private SistemaDePersistencia crearSistema(String umbralLentaMs, String muestreo) {
+		Properties propiedades = new Properties();
+		propiedades.setProperty(ProveedorConexionesRegistradas.UMBRAL_LENTA_MS, umbralLentaMs);
+		propiedades.setProperty(ProveedorConexionesRegistradas.MUESTREO, muestreo);
+		return new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+	}
+
+	private LoggingEvent buscarEvento(String metodo) {
+		synchronized (eventos) {
+			for (LoggingEvent evento : eventos) {
+				if (evento.getRenderedMessage().contains(" en " + metodo + ":")) {
+					return evento;
+				}
+			}
+		}
+		throw new AssertionError("No se registro una sentencia de " + metodo + " en " + eventos.size() + " eventos");
+	}
+
+}
@@ -0,0 +1,234 @@
+package persistencia.integracion;
+
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import persistencia.repositorio.RepositorioGarantiaBitacora;
+import persistencia.repositorio.RepositorioProductoEnMemoria;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class RepositorioGarantiaBitacoraTest extends RepositorioGarantiaContratoTest {
+
+	private static final int CAPACIDAD_INICIAL = 4_096;
+	private static final int REGISTROS_POR_SINCRONIZACION = 1;
+	private static final int LONGITUD_CABECERA = 12;
+
+	@Rule
+	public TemporaryFolder carpeta = new TemporaryFolder();
+
+	private Path archivo;
+	private RepositorioProductoEnMemoria repositorioProducto;
+	private RepositorioGarantiaBitacora repositorioGarantia;
+
+	@Before
+	public void setUp() throws IOException {
+		archivo = carpeta.newFolder().toPath().resolve("garantias.bitacora");
+		repositorioProducto = new RepositorioProductoEnMemoria();
+		repositorioGarantia = abrir(CAPACIDAD_INICIAL);
+	}
+
+	@After
+	public void tearDown() {
+		repositorioGarantia.cerrar();
+	}
+
+	@Override
+	protected RepositorioGarantiaExtendida obtenerRepositorio() {
+		return repositorioGarantia;
+	}
+
+	@Override
+	protected void agregarProducto(Producto producto) {
+		repositorioProducto.agregar(producto);
+	}
+
+	/**
+	 * Agrega garant&iacute;as, cierra la bit&aacute;cora y la vuelve a abrir
+	 *
+	 * <b>Resultado:</b> El &iacute;ndice se reconstruye con las
+	 * garant&iacute;as de la bit&aacute;cora
+	 */
+	@Test
+	public void reabrirReconstruyeIndiceTest() {
+		// arrange
+		repositorioGarantia.agregar(crearGarantia(producto("P1")));
+		repositorioGarantia.agregar(crearGarantia(producto("P2")));
+		repositorioGarantia.cerrar();
+
+		// act
+		repositorioGarantia = abrir(CAPACIDAD_INICIAL);
+
+		// assert
+		Assert.assertEquals("Producto P1", repositorioGarantia.obtener("P1").getProducto().getNombre());
+		Assert.assertEquals("Producto P2", repositorioGarantia.obtenerProductoConGarantiaPorCodigo("P2").getNombre());
+	}
+
+	/**
+	 * Corrompe el &uacute;ltimo registro, como si el proceso hubiera
+	 * ca&iacute;do mientras se escrib&iacute;a, y vuelve a abrir la
+	 * bit&aacute;cora
+	 *
+	 * <b>Resultado:</b> Se descarta solo el registro incompleto y las
+	 * garant&iacute;as siguientes se agregan en su lugar
+	 */
+	@Test
+	public void registroIncompletoSeDescartaTest() throws IOException {
+		// arrange
+		repositorioGarantia.agregar(crearGarantia(producto("P1")));
+		repositorioGarantia.agregar(crearGarantia(producto("P2")));
+		int tamano = repositorioGarantia.getTamano();
+		repositorioGarantia.cerrar();
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+			canal.write(ByteBuffer.wrap(new byte[] { 0x7F }), tamano - 3L);
+		}
+
+		// act
+		repositorioGarantia = abrir(CAPACIDAD_INICIAL);
+		repositorioGarantia.agregar(crearGarantia(producto("P3")));
+		repositorioGarantia.cerrar();
+		repositorioGarantia = abrir(CAPACIDAD_INICIAL);
+
+		// assert
+		Assert.assertNotNull(repositorioGarantia.obtener("P1"));
+		Assert.assertNull(repositorioGarantia.obtener("P2"));
+		Assert.assertNotNull(repositorioGarantia.obtener("P3"));
+	}
+
+	/**
+	 * Corrompe el cuerpo de un registro que no es el &uacute;ltimo y vuelve a
+	 * abrir la bit&aacute;cora
+	 *
+	 * <b>Resultado:</b> La bit&aacute;cora no se abre y el error indica la
+	 * posici&oacute;n del registro da&ntilde;ado
+	 */
+	@Test
+	public void registroDanadoIntermedioNoSeDescartaTest() throws IOException {
+		// arrange
+		int posicionDanada = agregarTresGarantias();
+		sobrescribir(posicionDanada + 20L, new byte[] { 0x7F });
+
+		// act - assert
+		verificarQueNoAbre(posicionDanada);
+	}
+
+	/**
+	 * Borra la cabecera de un registro que no es el &uacute;ltimo, como si
+	 * fuera el final de la bit&aacute;cora, y vuelve a abrirla
+	 *
+	 * <b>Resultado:</b> La bit&aacute;cora no se abre y no se descartan los
+	 * registros siguientes
+	 */
+	@Test
+	public void cabeceraIntermediaEnCeroNoSeDescartaTest() throws IOException {
+		// arrange
+		int posicionDanada = agregarTresGarantias();
+		sobrescribir(posicionDanada, new byte[LONGITUD_CABECERA]);
+
+		// act - assert
+		verificarQueNoAbre(posicionDanada);
+	}
+
+	/**
+	 * Corrompe la longitud de un registro que no es el &uacute;ltimo con un
+	 * valor fuera de rango y vuelve a abrir la bit&aacute;cora
+	 *
+	 * <b>Resultado:</b> La bit&aacute;cora no se abre y no se descartan los
+	 * registros siguientes
+	 */
+	@Test
+	public void longitudIntermediaFueraDeRangoNoSeDescartaTest() throws IOException {
+		// arrange
+		int posicionDanada = agregarTresGarantias();
+		sobrescribir(posicionDanada + 4L, ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE).array());
+
+		// act - assert
+		verificarQueNoAbre(posicionDanada);
+	}
+
+	/**
+	 * Agrega m&aacute;s garant&iacute;as de las que caben en la capacidad
+	 * inicial
+	 *
+	 * <b>Resultado:</b> La bit&aacute;cora se ampl&iacute;a y conserva todas
+	 * las garant&iacute;as
+	 */
+	@Test
+	public void ampliarBitacoraTest() {
+		// arrange
+		repositorioGarantia.cerrar();
+		repositorioGarantia = abrir(64);
+
+		// act
+		for (int i = 0; i < 100; i++) {
+			repositorioGarantia.agregar(crearGarantia(producto("P" + i)));
+		}
+		repositorioGarantia.cerrar();
+		repositorioGarantia = abrir(64);
+
+		// assert
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals("Producto P" + i, repositorioGarantia.obtener("P" + i).getProducto().getNombre());
+		}
+	}
+
+	/**
+	 * @return posici&oacute;n del registro de la garant&iacute;a intermedia
+	 */
+	private int agregarTresGarantias() {
+		repositorioGarantia.agregar(crearGarantia(producto("P1")));
+		int posicion = repositorioGarantia.getTamano();
+		repositorioGarantia.agregar(crearGarantia(producto("P2")));
+		repositorioGarantia.agregar(crearGarantia(producto("P3")));
+		repositorioGarantia.cerrar();
+		return posicion;
+	}
+
+	private void sobrescribir(long posicion, byte[] bytes) throws IOException {
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+			canal.write(ByteBuffer.wrap(bytes), posicion);
+		}
+	}
+
+	/**
+	 * Verifica que la bit&aacute;cora no se abre, que el error indica la
+	 * posici&oacute;n del registro da&ntilde;ado y que el archivo no se
+	 * modific&oacute;
+	 */
+	private void verificarQueNoAbre(int posicionDanada) throws IOException {
+		byte[] contenido = Files.readAllBytes(archivo);
+		try {
+			repositorioGarantia = abrir(CAPACIDAD_INICIAL);
+			fail();
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("posicion " + posicionDanada + " "));
+		}
+		Assert.assertArrayEquals(contenido, Files.readAllBytes(archivo));
+	}
+
+	private RepositorioGarantiaBitacora abrir(int capacidadInicial) {
+		return new RepositorioGarantiaBitacora(archivo, repositorioProducto, capacidadInicial,
+				REGISTROS_POR_SINCRONIZACION);
+	}
+
+	private Producto producto(String codigo) {
+		Producto producto = new ProductoTestDataBuilder().conCodigo(codigo).conNombre("Producto " + codigo).build();
+		repositorioProducto.agregar(producto);
+		return producto;
+	}
+
+}
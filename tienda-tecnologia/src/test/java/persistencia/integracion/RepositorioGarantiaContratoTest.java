@@ -0,0 +1,239 @@
+package persistencia.integracion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dominio.GarantiaExtendida;
+import dominio.GarantiaPorVencer;
+import dominio.Producto;
+import dominio.ProductoParaGarantia;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import testdatabuilder.ProductoTestDataBuilder;
+
+/**
+ * Pruebas que debe cumplir toda implementaci&oacute;n de
+ * {@link RepositorioGarantiaExtendida}; cada implementaci&oacute;n las hereda
+ * y entrega el repositorio y la forma de registrar productos
+ */
+public abstract class RepositorioGarantiaContratoTest {
+
+	private static final String CODIGO_PRODUCTO = "F01TSA0150";
+	private static final String CODIGO_OTRO_PRODUCTO = "F02TSA0151";
+	private static final String CODIGO_PRODUCTO_INEXISTENTE = "X99ZZZ";
+	private static final String NOMBRE_CLIENTE = "Pepito Perez";
+	private static final double PRECIO_GARANTIA = 130_000;
+	private static final LocalDate FECHA_SOLICITUD = LocalDate.of(2017, 7, 14);
+	private static final LocalDate FECHA_FIN_BASE = LocalDate.of(2018, 3, 2);
+
+	/**
+	 * @return repositorio bajo prueba, vac&iacute;o
+	 */
+	protected abstract RepositorioGarantiaExtendida obtenerRepositorio();
+
+	/**
+	 * Registra un producto que a&uacute;n no tiene garant&iacute;a
+	 */
+	protected abstract void agregarProducto(Producto producto);
+
+	/**
+	 * Agrega una garant&iacute;a y la consulta por el c&oacute;digo del
+	 * producto
+	 *
+	 * <b>Resultado:</b> La garant&iacute;a consultada conserva todos sus
+	 * datos y los de su producto
+	 */
+	@Test
+	public void agregarGarantiaSeObtieneTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		agregarProducto(producto);
+		GarantiaExtendida garantia = crearGarantia(producto);
+
+		// act
+		obtenerRepositorio().agregar(garantia);
+
+		// assert
+		GarantiaExtendida garantiaConsultada = obtenerRepositorio().obtener(CODIGO_PRODUCTO);
+		Assert.assertEquals(garantia.getFechaSolicitudGarantia(), garantiaConsultada.getFechaSolicitudGarantia());
+		Assert.assertEquals(garantia.getFechaFinGarantia(), garantiaConsultada.getFechaFinGarantia());
+		Assert.assertEquals(PRECIO_GARANTIA, garantiaConsultada.getPrecioGarantia(), 0);
+		Assert.assertEquals(NOMBRE_CLIENTE, garantiaConsultada.getNombreCliente());
+		Assert.assertEquals(producto.getNombre(), garantiaConsultada.getProducto().getNombre());
+		Assert.assertEquals(producto.getPrecio(), garantiaConsultada.getProducto().getPrecio(), 0);
+		Assert.assertEquals(CODIGO_PRODUCTO, obtenerRepositorio().obtenerProductoConGarantiaPorCodigo(CODIGO_PRODUCTO)
+				.getCodigo());
+	}
+
+	/**
+	 * Consulta un producto existente que no tiene garant&iacute;a
+	 *
+	 * <b>Resultado:</b> Se obtiene el producto indicando que no tiene
+	 * garant&iacute;a
+	 */
+	@Test
+	public void productoSinGarantiaTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		agregarProducto(producto);
+
+		// act
+		ProductoParaGarantia productoParaGarantia = obtenerRepositorio().obtenerProductoParaGarantia(CODIGO_PRODUCTO);
+
+		// assert
+		Assert.assertFalse(productoParaGarantia.isTieneGarantia());
+		Assert.assertEquals(producto.getNombre(), productoParaGarantia.getProducto().getNombre());
+		Assert.assertNull(obtenerRepositorio().obtenerProductoConGarantiaPorCodigo(CODIGO_PRODUCTO));
+		Assert.assertNull(obtenerRepositorio().obtener(CODIGO_PRODUCTO));
+	}
+
+	/**
+	 * Consulta un producto que ya tiene garant&iacute;a
+	 *
+	 * <b>Resultado:</b> Se obtiene el producto indicando que tiene
+	 * garant&iacute;a
+	 */
+	@Test
+	public void productoConGarantiaTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		agregarProducto(producto);
+		obtenerRepositorio().agregar(crearGarantia(producto));
+
+		// act
+		ProductoParaGarantia productoParaGarantia = obtenerRepositorio().obtenerProductoParaGarantia(CODIGO_PRODUCTO);
+
+		// assert
+		Assert.assertTrue(productoParaGarantia.isTieneGarantia());
+		Assert.assertEquals(CODIGO_PRODUCTO, productoParaGarantia.getProducto().getCodigo());
+	}
+
+	/**
+	 * Consulta un producto que no existe
+	 *
+	 * <b>Resultado:</b> No se obtiene producto
+	 */
+	@Test
+	public void productoInexistenteTest() {
+		// act
+		ProductoParaGarantia productoParaGarantia = obtenerRepositorio()
+				.obtenerProductoParaGarantia(CODIGO_PRODUCTO_INEXISTENTE);
+
+		// assert
+		Assert.assertNull(productoParaGarantia);
+		Assert.assertNull(obtenerRepositorio().obtenerProductoConGarantiaPorCodigo(CODIGO_PRODUCTO_INEXISTENTE));
+	}
+
+	/**
+	 * Agrega un lote de garant&iacute;as y consulta cu&aacute;les c&oacute;digos
+	 * de un grupo tienen garant&iacute;a
+	 *
+	 * <b>Resultado:</b> Solo se obtienen los c&oacute;digos del lote
+	 */
+	@Test
+	public void agregarLoteTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		Producto otroProducto = new ProductoTestDataBuilder().conCodigo(CODIGO_OTRO_PRODUCTO).build();
+		agregarProducto(producto);
+		agregarProducto(otroProducto);
+
+		// act
+		obtenerRepositorio().agregar(Arrays.asList(crearGarantia(producto), crearGarantia(otroProducto)));
+
+		// assert
+		Assert.assertEquals(new HashSet<>(Arrays.asList(CODIGO_PRODUCTO, CODIGO_OTRO_PRODUCTO)),
+				obtenerRepositorio().obtenerCodigosConGarantia(
+						Arrays.asList(CODIGO_PRODUCTO, CODIGO_OTRO_PRODUCTO, CODIGO_PRODUCTO_INEXISTENTE)));
+		Assert.assertEquals(Collections.emptySet(),
+				obtenerRepositorio().obtenerCodigosConGarantia(Collections.singleton(CODIGO_PRODUCTO_INEXISTENTE)));
+	}
+
+	/**
+	 * Agrega dos garant&iacute;as y recorre el repositorio
+	 *
+	 * <b>Resultado:</b> Se recorren las garant&iacute;as en el orden en que se
+	 * agregaron y con todos sus datos
+	 */
+	@Test
+	public void recorrerTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		Producto otroProducto = new ProductoTestDataBuilder().conCodigo(CODIGO_OTRO_PRODUCTO).build();
+		agregarProducto(producto);
+		agregarProducto(otroProducto);
+		obtenerRepositorio().agregar(crearGarantia(producto));
+		obtenerRepositorio().agregar(crearGarantia(otroProducto));
+		List<GarantiaExtendida> garantias = new ArrayList<>();
+
+		// act
+		obtenerRepositorio().recorrer(garantias::add);
+
+		// assert
+		Assert.assertEquals(2, garantias.size());
+		Assert.assertEquals(CODIGO_PRODUCTO, garantias.get(0).getProducto().getCodigo());
+		Assert.assertEquals(CODIGO_OTRO_PRODUCTO, garantias.get(1).getProducto().getCodigo());
+		Assert.assertEquals(otroProducto.getNombre(), garantias.get(1).getProducto().getNombre());
+		Assert.assertEquals(crearGarantia(otroProducto).getFechaFinGarantia(), garantias.get(1).getFechaFinGarantia());
+		Assert.assertEquals(PRECIO_GARANTIA, garantias.get(1).getPrecioGarantia(), 0);
+		Assert.assertEquals(NOMBRE_CLIENTE, garantias.get(1).getNombreCliente());
+	}
+
+	/**
+	 * Agrega garant&iacute;as con distintas fechas de fin, dos de ellas con la
+	 * misma fecha, y las consulta por p&aacute;ginas de dos en un rango que
+	 * excluye la primera y la &uacute;ltima
+	 *
+	 * <b>Resultado:</b> Se obtienen solo las garant&iacute;as del rango,
+	 * ordenadas por fecha de fin, sin repetir ni omitir ninguna entre
+	 * p&aacute;ginas
+	 */
+	@Test
+	public void obtenerGarantiasPorVencerPaginadoTest() {
+		// arrange
+		int[] diasFin = { 0, 3, 1, 2, 2, 4, 5 };
+		for (int i = 0; i < diasFin.length; i++) {
+			Producto producto = new ProductoTestDataBuilder().conCodigo("V" + i).build();
+			agregarProducto(producto);
+			obtenerRepositorio().agregar(new GarantiaExtendida(producto, FECHA_SOLICITUD,
+					FECHA_FIN_BASE.plusDays(diasFin[i]), PRECIO_GARANTIA, NOMBRE_CLIENTE));
+		}
+		LocalDate desde = FECHA_FIN_BASE.plusDays(1);
+		LocalDate hasta = FECHA_FIN_BASE.plusDays(5);
+
+		// act
+		List<List<GarantiaPorVencer>> paginas = new ArrayList<>();
+		GarantiaPorVencer anterior = null;
+		List<GarantiaPorVencer> pagina;
+		do {
+			pagina = obtenerRepositorio().obtenerGarantiasPorVencer(desde, hasta, anterior, 2);
+			paginas.add(pagina);
+			anterior = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+		} while (pagina.size() == 2);
+
+		// assert
+		List<String> codigos = new ArrayList<>();
+		for (List<GarantiaPorVencer> garantias : paginas) {
+			for (GarantiaPorVencer garantia : garantias) {
+				codigos.add(garantia.getCodigoProducto());
+			}
+		}
+		Assert.assertEquals(Arrays.asList("V2", "V3", "V4", "V1", "V5"), codigos);
+		Assert.assertEquals(3, paginas.size());
+		GarantiaPorVencer primera = paginas.get(0).get(0);
+		Assert.assertEquals(desde, primera.getFechaFinGarantia());
+		Assert.assertEquals(NOMBRE_CLIENTE, primera.getNombreCliente());
+		Assert.assertEquals(PRECIO_GARANTIA, primera.getPrecioGarantia(), 0);
+	}
+
+	protected static GarantiaExtendida crearGarantia(Producto producto) {
+		return new GarantiaExtendida(producto, FECHA_SOLICITUD, FECHA_FIN_BASE, PRECIO_GARANTIA, NOMBRE_CLIENTE);
+	}
+
+}
@@ -0,0 +1,45 @@
+package persistencia.integracion;
+
+import org.junit.After;
+import org.junit.Before;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.repositorio.RepositorioGarantiaPersistente;
+import persistencia.repositorio.RepositorioProductoPersistente;
+import persistencia.sistema.SistemaDePersistencia;
+
+public class RepositorioGarantiaPersistenteTest extends RepositorioGarantiaContratoTest {
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+	private RepositorioGarantiaExtendida repositorioGarantia;
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		repositorioProducto = new RepositorioProductoPersistente(sistemaPersistencia);
+		repositorioGarantia = new RepositorioGarantiaPersistente(sistemaPersistencia,
+				new RepositorioProductoPersistente(sistemaPersistencia));
+
+		sistemaPersistencia.iniciar();
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.terminar();
+		sistemaPersistencia.cerrar();
+	}
+
+	@Override
+	protected RepositorioGarantiaExtendida obtenerRepositorio() {
+		return repositorioGarantia;
+	}
+
+	@Override
+	protected void agregarProducto(Producto producto) {
+		repositorioProducto.agregar(producto);
+	}
+
+}
@@ -0,0 +1,153 @@
+package persistencia.integracion;
+
+import java.time.LocalDate;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.repositorio.ConsistenciaLectura;
+import persistencia.repositorio.ProyeccionGarantias;
+import persistencia.repositorio.RepositorioGarantiaPersistente;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+import testdatabuilder.ProductoTestDataBuilder;
+import testutilidades.ContadorSentencias;
+
+public class RepositorioGarantiaProyectadoTest {
+
+	private static final String CODIGO_PRODUCTO = "P01TSA0150";
+	private static final String NOMBRE_CLIENTE = "Pepito Perez";
+	private static final LocalDate FECHA_SOLICITUD = LocalDate.of(2018, 8, 16);
+	private static final LocalDate FECHA_FIN = LocalDate.of(2019, 4, 6);
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+	private Producto producto;
+
+	@Before
+	public void setUp() {
+		Properties propiedades = new Properties();
+		propiedades.setProperty("tienda.proyeccion.garantias.habilitada", "true");
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+		producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.agregar(producto));
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Consulta una garant&iacute;a confirmada y un producto sin garant&iacute;a
+	 *
+	 * <b>Resultado:</b> Ninguna de las consultas ejecuta sentencias SQL
+	 */
+	@Test
+	public void consultarGarantiaNoEjecutaSentenciasTest() {
+		// arrange
+		RepositorioGarantiaExtendida repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioGarantia.agregar(crearGarantia()));
+		GarantiaExtendida[] consultada = new GarantiaExtendida[1];
+
+		// act
+		ContadorSentencias.Conteo conteo = new ContadorSentencias(sistemaPersistencia).contar(() -> {
+			consultada[0] = repositorioGarantia.obtener(CODIGO_PRODUCTO);
+			Assert.assertNull(repositorioGarantia.obtenerProductoConGarantiaPorCodigo("X99ZZZ"));
+		});
+
+		// assert
+		conteo.verificar(0, 0, 0);
+		Assert.assertEquals(FECHA_FIN, consultada[0].getFechaFinGarantia());
+		Assert.assertEquals(NOMBRE_CLIENTE, consultada[0].getNombreCliente());
+	}
+
+	/**
+	 * Agrega una garant&iacute;a y la consulta antes de confirmar la unidad de
+	 * trabajo con las dos consistencias, y luego de confirmarla
+	 *
+	 * <b>Resultado:</b> Antes de confirmar solo la lectura propia la ve;
+	 * despu&eacute;s de confirmar la ven ambas
+	 */
+	@Test
+	public void consistenciaAntesYDespuesDeConfirmarTest() {
+		// arrange
+		RepositorioGarantiaExtendida repositorioEventual = sistemaPersistencia
+				.obtenerRepositorioGarantia(ConsistenciaLectura.EVENTUAL);
+		RepositorioGarantiaExtendida repositorioPropio = sistemaPersistencia
+				.obtenerRepositorioGarantia(ConsistenciaLectura.LECTURA_PROPIA);
+
+		// act
+		sistemaPersistencia.iniciar();
+		repositorioPropio.agregar(crearGarantia());
+		GarantiaExtendida eventualAntes = repositorioEventual.obtener(CODIGO_PRODUCTO);
+		GarantiaExtendida propiaAntes = repositorioPropio.obtener(CODIGO_PRODUCTO);
+		sistemaPersistencia.terminar();
+
+		// assert
+		Assert.assertNull(eventualAntes);
+		Assert.assertNotNull(propiaAntes);
+		Assert.assertNotNull(repositorioEventual.obtener(CODIGO_PRODUCTO));
+		Assert.assertNotNull(repositorioPropio.obtener(CODIGO_PRODUCTO));
+	}
+
+	/**
+	 * Agrega una garant&iacute;a y deshace la unidad de trabajo
+	 *
+	 * <b>Resultado:</b> La garant&iacute;a no queda en la proyecci&oacute;n
+	 */
+	@Test
+	public void garantiaDeshechaNoSeProyectaTest() {
+		// arrange
+		RepositorioGarantiaExtendida repositorioGarantia = sistemaPersistencia
+				.obtenerRepositorioGarantia(ConsistenciaLectura.LECTURA_PROPIA);
+
+		// act
+		sistemaPersistencia.iniciar();
+		repositorioGarantia.agregar(crearGarantia());
+		sistemaPersistencia.deshacer();
+
+		// assert
+		Assert.assertNull(repositorioGarantia.obtener(CODIGO_PRODUCTO));
+		Assert.assertNull(sistemaPersistencia.ejecutarEnTransaccion(
+				() -> sistemaPersistencia.obtenerRepositorioGarantia().obtenerProductoConGarantiaPorCodigo(
+						CODIGO_PRODUCTO)));
+	}
+
+	/**
+	 * Reconstruye una proyecci&oacute;n nueva desde la base de datos
+	 *
+	 * <b>Resultado:</b> La proyecci&oacute;n contiene las garant&iacute;as
+	 * confirmadas
+	 */
+	@Test
+	public void reconstruirDesdeBaseDeDatosTest() {
+		// arrange
+		RepositorioGarantiaExtendida repositorioGarantia = sistemaPersistencia.obtenerRepositorioGarantia();
+		sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioGarantia.agregar(crearGarantia()));
+		ProyeccionGarantias proyeccion = new ProyeccionGarantias(sistemaPersistencia);
+
+		// act
+		sistemaPersistencia.ejecutarEnTransaccion(() -> proyeccion.reconstruir(new RepositorioGarantiaPersistente(
+				sistemaPersistencia, sistemaPersistencia.obtenerRepositorioProductos())));
+
+		// assert
+		Assert.assertEquals(1, proyeccion.getTamano());
+		Assert.assertEquals(FECHA_SOLICITUD,
+				proyeccion.obtener(CODIGO_PRODUCTO, ConsistenciaLectura.EVENTUAL).getFechaSolicitudGarantia());
+	}
+
+	private GarantiaExtendida crearGarantia() {
+		return new GarantiaExtendida(producto, FECHA_SOLICITUD, FECHA_FIN, producto.getPrecio() * 0.1,
+				NOMBRE_CLIENTE);
+	}
+
+}
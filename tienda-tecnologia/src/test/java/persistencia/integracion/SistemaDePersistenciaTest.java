@@ -0,0 +1,92 @@
+package persistencia.integracion;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import metricas.Metricas;
+import persistencia.sistema.ConfiguracionPersistencia;
+import persistencia.sistema.SistemaDePersistencia;
+import utilidades.CalendarUtils;
+
+public class SistemaDePersistenciaTest {
+
+	private static final LocalDate NAVIDAD = LocalDate.of(2018, 12, 25);
+	private static final LocalDate ANO_NUEVO = LocalDate.of(2019, 1, 1);
+
+	private SistemaDePersistencia sistemaPersistencia;
+
+	@After
+	public void tearDown() {
+		if (sistemaPersistencia != null) {
+			sistemaPersistencia.cerrar();
+		}
+		CalendarUtils.configurarFestivos(Collections.<LocalDate>emptyList());
+	}
+
+	/**
+	 * Inicia el sistema con dos festivos configurados
+	 *
+	 * <b>Resultado:</b> Los festivos dejan de contarse como d&iacute;as
+	 * h&aacute;biles
+	 */
+	@Test
+	public void festivosConfiguradosSeCarganAlIniciarTest() {
+		// arrange
+		Properties propiedades = new Properties();
+		propiedades.setProperty("tienda.calendario.festivos", NAVIDAD + ", " + ANO_NUEVO);
+
+		// act
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+
+		// assert
+		Assert.assertFalse(CalendarUtils.obtenerCalendarioLaboral().esDiaLaboral(NAVIDAD.toEpochDay()));
+		Assert.assertFalse(CalendarUtils.obtenerCalendarioLaboral().esDiaLaboral(ANO_NUEVO.toEpochDay()));
+	}
+
+	/**
+	 * Configura festivos en el calendario e inicia el sistema con la clave de
+	 * festivos vac&iacute;a
+	 *
+	 * <b>Resultado:</b> Se conservan los festivos configurados antes
+	 */
+	@Test
+	public void festivosVaciosConservanCalendarioTest() {
+		// arrange
+		CalendarUtils.configurarFestivos(Collections.singletonList(NAVIDAD));
+		Properties propiedades = new Properties();
+		propiedades.setProperty("tienda.calendario.festivos", "");
+
+		// act
+		sistemaPersistencia = new SistemaDePersistencia(new ConfiguracionPersistencia(propiedades));
+
+		// assert
+		Assert.assertFalse(CalendarUtils.obtenerCalendarioLaboral().esDiaLaboral(NAVIDAD.toEpochDay()));
+	}
+
+	/**
+	 * Inicia un sistema con las m&eacute;tricas habilitadas y lo cierra
+	 *
+	 * <b>Resultado:</b> Las m&eacute;tricas quedan deshabilitadas al cerrarlo
+	 */
+	@Test
+	public void cerrarDeshabilitaMetricasTest() {
+		// arrange
+		Properties propiedades = new Properties();
+		propiedades.setProperty("tienda.metricas.habilitadas", "true");
+		SistemaDePersistencia sistemaConMetricas = new SistemaDePersistencia(
+				new ConfiguracionPersistencia(propiedades));
+		Assert.assertTrue(Metricas.isHabilitadas());
+
+		// act
+		sistemaConMetricas.cerrar();
+
+		// assert
+		Assert.assertFalse(Metricas.isHabilitadas());
+	}
+
+}
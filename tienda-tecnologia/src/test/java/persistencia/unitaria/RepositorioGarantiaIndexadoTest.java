@@ -0,0 +1,74 @@
+package persistencia.unitaria;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.repositorio.RepositorioGarantiaExtendida;
+import persistencia.repositorio.RepositorioGarantiaIndexado;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class RepositorioGarantiaIndexadoTest {
+
+	private static final String CODIGO_CON_GARANTIA = "F01TSA0150";
+	private static final String CODIGO_SIN_GARANTIA = "S01H1AT51";
+	private static final String NOMBRE_CLIENTE = "Javier Mendez";
+	private static final int CAPACIDAD = 100;
+
+	/**
+	 * Consulta un c&oacute;digo que no est&aacute; en el &iacute;ndice
+	 * 
+	 * <b>Resultado:</b> Responde que no tiene garantia sin consultar el
+	 * repositorio de origen
+	 */
+	@Test
+	public void codigoSinGarantiaNoConsultaRepositorioTest() {
+		// arrange
+		RepositorioGarantiaExtendida repositorioGarantia = mock(RepositorioGarantiaExtendida.class);
+		RepositorioGarantiaIndexado repositorioIndexado = new RepositorioGarantiaIndexado(repositorioGarantia,
+				Collections.singletonList(CODIGO_CON_GARANTIA), CAPACIDAD);
+
+		// act
+		Producto producto = repositorioIndexado.obtenerProductoConGarantiaPorCodigo(CODIGO_SIN_GARANTIA);
+
+		// assert
+		assertNull(producto);
+		verify(repositorioGarantia, never()).obtenerProductoConGarantiaPorCodigo(anyString());
+	}
+
+	/**
+	 * Agrega una garantia y consulta su c&oacute;digo
+	 * 
+	 * <b>Resultado:</b> La respuesta se confirma contra el repositorio de
+	 * origen
+	 */
+	@Test
+	public void garantiaAgregadaSeConfirmaEnRepositorioTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_SIN_GARANTIA).build();
+		RepositorioGarantiaExtendida repositorioGarantia = mock(RepositorioGarantiaExtendida.class);
+		when(repositorioGarantia.obtenerProductoConGarantiaPorCodigo(CODIGO_SIN_GARANTIA)).thenReturn(producto);
+		RepositorioGarantiaIndexado repositorioIndexado = new RepositorioGarantiaIndexado(repositorioGarantia,
+				Collections.<String>emptyList(), CAPACIDAD);
+
+		// act
+		repositorioIndexado.agregar(new GarantiaExtendida(producto, LocalDate.now(), LocalDate.now(), 0, NOMBRE_CLIENTE));
+		Producto productoConGarantia = repositorioIndexado.obtenerProductoConGarantiaPorCodigo(CODIGO_SIN_GARANTIA);
+
+		// assert
+		assertNotNull(productoConGarantia);
+		verify(repositorioGarantia).obtenerProductoConGarantiaPorCodigo(CODIGO_SIN_GARANTIA);
+	}
+
+}
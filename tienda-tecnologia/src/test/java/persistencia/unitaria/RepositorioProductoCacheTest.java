@@ -0,0 +1,161 @@
+package persistencia.unitaria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.conexion.OyenteUnidadDeTrabajo;
+import persistencia.conexion.ProveedorEntityManager;
+import persistencia.repositorio.RepositorioProductoCache;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class RepositorioProductoCacheTest {
+
+	private static final String CODIGO_1 = "F01TSA0150";
+	private static final String CODIGO_2 = "S01H1AT51";
+	private static final String CODIGO_3 = "B02JKL0987";
+
+	private final List<OyenteUnidadDeTrabajo> oyentes = new ArrayList<>();
+	private ProveedorEntityManager proveedorEntityManager;
+
+	@Before
+	public void setUp() {
+		proveedorEntityManager = mock(ProveedorEntityManager.class);
+		doAnswer(invocacion -> oyentes.add((OyenteUnidadDeTrabajo) invocacion.getArguments()[0]))
+				.when(proveedorEntityManager).registrarOyente(any(OyenteUnidadDeTrabajo.class));
+	}
+
+	/**
+	 * Consulta dos veces el mismo producto en unidades de trabajo distintas
+	 * 
+	 * <b>Resultado:</b> El repositorio de origen solo se consulta la primera
+	 * vez
+	 */
+	@Test
+	public void obtenerPorCodigoDesdeCacheTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_1).build();
+		RepositorioProducto repositorioProducto = mock(RepositorioProducto.class);
+		when(repositorioProducto.obtenerPorCodigo(CODIGO_1)).thenReturn(producto);
+		RepositorioProductoCache cache = new RepositorioProductoCache(repositorioProducto, proveedorEntityManager,
+				10, 0);
+
+		// act
+		obtenerYConfirmar(cache, CODIGO_1);
+		Producto productoCache = obtenerYConfirmar(cache, CODIGO_1);
+
+		// assert
+		assertSame(producto, productoCache);
+		verify(repositorioProducto, times(1)).obtenerPorCodigo(CODIGO_1);
+		assertEquals(1, cache.getAciertos());
+		assertEquals(1, cache.getFallos());
+	}
+
+	/**
+	 * Consulta m&aacute;s productos de los que caben en la cache
+	 * 
+	 * <b>Resultado:</b> Se expulsa el producto usado hace m&aacute;s tiempo
+	 */
+	@Test
+	public void expulsarProductoMenosUsadoTest() {
+		// arrange
+		RepositorioProducto repositorioProducto = mock(RepositorioProducto.class);
+		when(repositorioProducto.obtenerPorCodigo(CODIGO_1))
+				.thenReturn(new ProductoTestDataBuilder().conCodigo(CODIGO_1).build());
+		when(repositorioProducto.obtenerPorCodigo(CODIGO_2))
+				.thenReturn(new ProductoTestDataBuilder().conCodigo(CODIGO_2).build());
+		when(repositorioProducto.obtenerPorCodigo(CODIGO_3))
+				.thenReturn(new ProductoTestDataBuilder().conCodigo(CODIGO_3).build());
+		RepositorioProductoCache cache = new RepositorioProductoCache(repositorioProducto, proveedorEntityManager,
+				2, 0);
+
+		// act
+		obtenerYConfirmar(cache, CODIGO_1);
+		obtenerYConfirmar(cache, CODIGO_2);
+		obtenerYConfirmar(cache, CODIGO_1);
+		obtenerYConfirmar(cache, CODIGO_3);
+		obtenerYConfirmar(cache, CODIGO_1);
+		obtenerYConfirmar(cache, CODIGO_2);
+
+		// assert
+		verify(repositorioProducto, times(1)).obtenerPorCodigo(CODIGO_1);
+		verify(repositorioProducto, times(2)).obtenerPorCodigo(CODIGO_2);
+		assertEquals(2, cache.getExpulsiones());
+		assertEquals(2, cache.getTamano());
+	}
+
+	/**
+	 * Agrega un producto que ya estaba en la cache
+	 * 
+	 * <b>Resultado:</b> La siguiente consulta va al repositorio de origen
+	 */
+	@Test
+	public void agregarInvalidaProductoTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_1).build();
+		RepositorioProducto repositorioProducto = mock(RepositorioProducto.class);
+		when(repositorioProducto.obtenerPorCodigo(CODIGO_1)).thenReturn(producto);
+		RepositorioProductoCache cache = new RepositorioProductoCache(repositorioProducto, proveedorEntityManager,
+				10, 0);
+		obtenerYConfirmar(cache, CODIGO_1);
+
+		// act
+		cache.agregar(producto);
+		obtenerYConfirmar(cache, CODIGO_1);
+
+		// assert
+		verify(repositorioProducto).agregar(producto);
+		verify(repositorioProducto, times(2)).obtenerPorCodigo(CODIGO_1);
+	}
+
+	/**
+	 * Consulta un producto en una unidad de trabajo que se deshace
+	 * 
+	 * <b>Resultado:</b> El producto no queda en la cache y la siguiente
+	 * consulta va al repositorio de origen
+	 */
+	@Test
+	public void unidadDeTrabajoDeshechaNoLlenaCacheTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_1).build();
+		RepositorioProducto repositorioProducto = mock(RepositorioProducto.class);
+		when(repositorioProducto.obtenerPorCodigo(CODIGO_1)).thenReturn(producto);
+		RepositorioProductoCache cache = new RepositorioProductoCache(repositorioProducto, proveedorEntityManager,
+				10, 0);
+
+		// act
+		cache.obtenerPorCodigo(CODIGO_1);
+		for (OyenteUnidadDeTrabajo oyente : oyentes) {
+			oyente.descartada();
+		}
+		oyentes.clear();
+		obtenerYConfirmar(cache, CODIGO_1);
+
+		// assert
+		verify(repositorioProducto, times(2)).obtenerPorCodigo(CODIGO_1);
+		assertEquals(1, cache.getTamano());
+	}
+
+	private Producto obtenerYConfirmar(RepositorioProductoCache cache, String codigo) {
+		Producto producto = cache.obtenerPorCodigo(codigo);
+		for (OyenteUnidadDeTrabajo oyente : oyentes) {
+			oyente.confirmada();
+		}
+		oyentes.clear();
+		return producto;
+	}
+
+}
@@ -0,0 +1,121 @@
+package persistencia.unitaria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dominio.Producto;
+import persistencia.repositorio.RepositorioProductoEnMemoria;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class RepositorioProductoEnMemoriaTest {
+
+	private static final String CODIGO_1 = "F01TSA0150";
+	private static final String CODIGO_2 = "S01H1AT51";
+	private static final String CODIGO_INEXISTENTE = "X99ZZZ";
+	private static final String NOMBRE_CON_TILDE = "Port\u00e1til";
+	private static final String PREFIJO_NO_ASCII = "\u00d1";
+	private static final int PRODUCTOS = 100_000;
+
+	/**
+	 * Agrega un producto y lo consulta por su c&oacute;digo
+	 *
+	 * <b>Resultado:</b> Se obtiene un producto con los mismos datos
+	 */
+	@Test
+	public void obtenerPorCodigoTest() {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_1).build();
+		RepositorioProductoEnMemoria repositorio = new RepositorioProductoEnMemoria();
+
+		// act
+		repositorio.agregar(producto);
+		Producto productoConsultado = repositorio.obtenerPorCodigo(CODIGO_1);
+
+		// assert
+		assertEquals(CODIGO_1, productoConsultado.getCodigo());
+		assertEquals(producto.getNombre(), productoConsultado.getNombre());
+		assertEquals(producto.getPrecio(), productoConsultado.getPrecio(), 0);
+		assertNull(repositorio.obtenerPorCodigo(CODIGO_INEXISTENTE));
+	}
+
+	/**
+	 * Agrega dos veces un producto con el mismo c&oacute;digo
+	 *
+	 * <b>Resultado:</b> Se reemplazan el nombre y el precio sin duplicar el
+	 * producto
+	 */
+	@Test
+	public void agregarCodigoExistenteReemplazaTest() {
+		// arrange
+		RepositorioProductoEnMemoria repositorio = new RepositorioProductoEnMemoria();
+		repositorio.agregar(new ProductoTestDataBuilder().conCodigo(CODIGO_1).build());
+
+		// act
+		repositorio.agregar(
+				new ProductoTestDataBuilder().conCodigo(CODIGO_1).conNombre(NOMBRE_CON_TILDE).conPrecio(10).build());
+
+		// assert
+		assertEquals(1, repositorio.getCantidad());
+		assertEquals(NOMBRE_CON_TILDE, repositorio.obtenerPorCodigo(CODIGO_1).getNombre());
+		assertEquals(10, repositorio.obtenerPorCodigo(CODIGO_1).getPrecio(), 0);
+	}
+
+	/**
+	 * Agrega un lote de productos mayor a la capacidad inicial, con
+	 * c&oacute;digos que no son ASCII
+	 *
+	 * <b>Resultado:</b> Todos los productos se pueden consultar y la memoria
+	 * por producto es menor a la de guardar objetos {@link Producto}
+	 */
+	@Test
+	public void agregarLoteTest() {
+		// arrange
+		List<Producto> productos = new ArrayList<>(PRODUCTOS);
+		for (int i = 0; i < PRODUCTOS; i++) {
+			productos.add(new Producto(PREFIJO_NO_ASCII + i, "Producto " + i, i));
+		}
+		RepositorioProductoEnMemoria repositorio = new RepositorioProductoEnMemoria();
+
+		// act
+		repositorio.agregar(productos);
+
+		// assert
+		assertEquals(PRODUCTOS, repositorio.getCantidad());
+		for (int i = 0; i < PRODUCTOS; i++) {
+			Producto producto = repositorio.obtenerPorCodigo(PREFIJO_NO_ASCII + i);
+			assertEquals("Producto " + i, producto.getNombre());
+			assertEquals(i, producto.getPrecio(), 0);
+		}
+		assertTrue(String.valueOf(repositorio.getBytesPorProducto()), repositorio.getBytesPorProducto() < 100);
+	}
+
+	/**
+	 * Consulta un grupo de c&oacute;digos, uno de ellos inexistente
+	 *
+	 * <b>Resultado:</b> Solo se obtienen los productos existentes
+	 */
+	@Test
+	public void obtenerPorCodigosTest() {
+		// arrange
+		RepositorioProductoEnMemoria repositorio = new RepositorioProductoEnMemoria();
+		repositorio.agregar(Arrays.asList(new ProductoTestDataBuilder().conCodigo(CODIGO_1).build(),
+				new ProductoTestDataBuilder().conCodigo(CODIGO_2).build()));
+
+		// act
+		Map<String, Producto> productos = repositorio
+				.obtenerPorCodigos(Arrays.asList(CODIGO_1, CODIGO_2, CODIGO_INEXISTENTE));
+
+		// assert
+		assertEquals(2, productos.size());
+		assertEquals(CODIGO_2, productos.get(CODIGO_2).getCodigo());
+	}
+
+}
@@ -0,0 +1,125 @@
+package servicio.integracion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ExportadorGarantias;
+import servicio.FormatoExportacion;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class ExportadorGarantiasTest {
+
+	private static final String NOMBRE_CON_COMILLAS = "Portatil 14\", 8GB";
+	private static final String NOMBRE_CLIENTE = "Javier Mendez";
+	private static final int GARANTIAS = 1_500;
+	private static final LocalDate FECHA_SOLICITUD = LocalDate.of(2018, 8, 16);
+	private static final LocalDate FECHA_FIN = LocalDate.of(2019, 4, 6);
+
+	@Rule
+	public TemporaryFolder carpeta = new TemporaryFolder();
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private ExportadorGarantias exportador;
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		exportador = new ExportadorGarantias(sistemaPersistencia);
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Exporta las garant&iacute;as en CSV sin comprimir
+	 *
+	 * <b>Resultado:</b> El archivo tiene el encabezado y una fila por
+	 * garant&iacute;a, con los campos especiales entre comillas
+	 */
+	@Test
+	public void exportarCsvTest() throws IOException {
+		// arrange
+		agregarGarantias(2);
+		Path archivo = carpeta.getRoot().toPath().resolve("garantias.csv");
+
+		// act
+		long exportadas = exportador.exportar(archivo, FormatoExportacion.CSV, false);
+
+		// assert
+		List<String> filas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+		Assert.assertEquals(2, exportadas);
+		Assert.assertEquals(3, filas.size());
+		Assert.assertEquals("codigo,nombre,precioProducto,fechaSolicitudGarantia,fechaFinGarantia,precioGarantia,"
+				+ "nombreCliente", filas.get(0));
+		Assert.assertEquals("EXP0,\"Portatil 14\"\", 8GB\",780000,2018-08-16,2019-04-06,156000," + NOMBRE_CLIENTE,
+				filas.get(1));
+	}
+
+	/**
+	 * Exporta en JSON Lines comprimido m&aacute;s garant&iacute;as de las que
+	 * se leen en cada viaje a la base de datos
+	 *
+	 * <b>Resultado:</b> El archivo descomprimido tiene un objeto JSON por
+	 * garant&iacute;a en el orden en que se agregaron
+	 */
+	@Test
+	public void exportarJsonLineasComprimidoTest() throws IOException {
+		// arrange
+		agregarGarantias(GARANTIAS);
+		Path archivo = carpeta.getRoot().toPath().resolve("garantias.jsonl.gz");
+
+		// act
+		long exportadas = exportador.exportar(archivo, FormatoExportacion.JSON_LINEAS, true);
+
+		// assert
+		List<String> filas = new ArrayList<>();
+		try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(Files.newInputStream(archivo)), StandardCharsets.UTF_8))) {
+			String fila;
+			while ((fila = lector.readLine()) != null) {
+				filas.add(fila);
+			}
+		}
+		Assert.assertEquals(GARANTIAS, exportadas);
+		Assert.assertEquals(GARANTIAS, filas.size());
+		Assert.assertTrue(filas.get(0),
+				filas.get(0).startsWith("{\"codigo\":\"EXP0\",\"nombre\":\"Portatil 14\\\", 8GB\",\"precioProducto\":780000,"));
+		Assert.assertTrue(filas.get(GARANTIAS - 1), filas.get(GARANTIAS - 1).startsWith("{\"codigo\":\"EXP1499\""));
+	}
+
+	private void agregarGarantias(int cantidad) {
+		List<Producto> productos = new ArrayList<>(cantidad);
+		List<GarantiaExtendida> garantias = new ArrayList<>(cantidad);
+		for (int i = 0; i < cantidad; i++) {
+			Producto producto = new ProductoTestDataBuilder().conCodigo("EXP" + i).conNombre(NOMBRE_CON_COMILLAS)
+					.build();
+			productos.add(producto);
+			garantias.add(new GarantiaExtendida(producto, FECHA_SOLICITUD, FECHA_FIN, 156_000, NOMBRE_CLIENTE));
+		}
+		sistemaPersistencia.ejecutarEnTransaccion(
+				() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(productos));
+		sistemaPersistencia.ejecutarEnTransaccion(
+				() -> sistemaPersistencia.obtenerRepositorioGarantia().agregar(garantias));
+	}
+
+}
@@ -0,0 +1,225 @@
+package servicio.integracion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import dominio.Producto;
+import dominio.repositorio.RepositorioProducto;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ImportadorCatalogo;
+import servicio.RechazoImportacion;
+import servicio.ResumenImportacion;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class ImportadorCatalogoTest {
+
+	private static final String CODIGO_EXISTENTE = "F01TSA0150";
+	private static final int FILAS_GZIP = 2_500;
+	private static final int TAMANO_LOTE = 1_000;
+
+	@Rule
+	public TemporaryFolder carpeta = new TemporaryFolder();
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private RepositorioProducto repositorioProducto;
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		repositorioProducto = sistemaPersistencia.obtenerRepositorioProductos();
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Importa un archivo con encabezado, campos entre comillas, filas
+	 * inv&aacute;lidas, un producto existente y un c&oacute;digo repetido
+	 *
+	 * <b>Resultado:</b> Se guardan las filas v&aacute;lidas y cada rechazo
+	 * indica su l&iacute;nea y motivo
+	 */
+	@Test
+	public void importarCsvTest() throws IOException {
+		// arrange
+		sistemaPersistencia.ejecutarEnTransaccion(
+				() -> repositorioProducto.agregar(new ProductoTestDataBuilder().conCodigo(CODIGO_EXISTENTE).build()));
+		Path archivo = escribir("catalogo.csv", Arrays.asList(
+				"codigo,nombre,precio",
+				"P1,Producto 1,1000",
+				"P2,\"Portatil 14\"\", 8GB\",2500.5",
+				"",
+				"P3,Producto 3,gratis",
+				"P4,Producto 4",
+				" ,Producto 5,100",
+				"P6,\"Producto 6,100",
+				CODIGO_EXISTENTE + ",Computador,780000",
+				"P1,Producto repetido,10",
+				"P7,Producto 7,-1",
+				"P8,Producto 8,0"));
+		ImportadorCatalogo importador = new ImportadorCatalogo(sistemaPersistencia, 2, 100);
+
+		// act
+		ResumenImportacion resumen = importador.importar(archivo, avance -> {
+		});
+
+		// assert
+		Assert.assertEquals(10, resumen.getFilasLeidas());
+		Assert.assertEquals(3, resumen.getImportadas());
+		Assert.assertEquals(7, resumen.getRechazadas());
+		List<RechazoImportacion> rechazos = new ArrayList<>(resumen.getRechazos());
+		rechazos.sort(Comparator.comparingLong(RechazoImportacion::getLinea));
+		Assert.assertEquals(Arrays.asList(5L, 6L, 7L, 8L, 9L, 10L, 11L), lineas(rechazos));
+		Assert.assertEquals("P1,Producto repetido,10", rechazos.get(5).getContenido());
+
+		sistemaPersistencia.iniciar();
+		try {
+			Assert.assertEquals("Portatil 14\", 8GB", repositorioProducto.obtenerPorCodigo("P2").getNombre());
+			Assert.assertEquals(2500.5, repositorioProducto.obtenerPorCodigo("P2").getPrecio(), 0);
+			Assert.assertEquals("Producto 1", repositorioProducto.obtenerPorCodigo("P1").getNombre());
+			Assert.assertEquals(0, repositorioProducto.obtenerPorCodigo("P8").getPrecio(), 0);
+		} finally {
+			sistemaPersistencia.deshacer();
+		}
+	}
+
+	/**
+	 * Importa un archivo comprimido con gzip con m&aacute;s filas que el
+	 * tama&ntilde;o del lote
+	 *
+	 * <b>Resultado:</b> Se reporta el avance despu&eacute;s de cada lote y se
+	 * guardan todos los productos
+	 */
+	@Test
+	public void importarGzipReportaAvanceTest() throws IOException {
+		// arrange
+		List<String> filas = new ArrayList<>(FILAS_GZIP);
+		for (int i = 0; i < FILAS_GZIP; i++) {
+			filas.add("GZ" + i + ",Producto " + i + "," + i);
+		}
+		Path archivo = carpeta.getRoot().toPath().resolve("catalogo.csv.gz");
+		try (OutputStream salida = new GZIPOutputStream(Files.newOutputStream(archivo))) {
+			escribir(salida, filas);
+		}
+		List<Long> avance = new ArrayList<>();
+		ImportadorCatalogo importador = new ImportadorCatalogo(sistemaPersistencia, TAMANO_LOTE, 100);
+
+		// act
+		ResumenImportacion resumen = importador.importar(archivo, progreso -> avance.add(progreso.getImportadas()));
+
+		// assert
+		Assert.assertEquals(Arrays.asList(1_000L, 2_000L, 2_500L), avance);
+		Assert.assertEquals(FILAS_GZIP, resumen.getImportadas());
+		Assert.assertEquals(0, resumen.getRechazadas());
+
+		List<String> codigos = new ArrayList<>();
+		for (int i = 0; i < FILAS_GZIP; i++) {
+			codigos.add("GZ" + i);
+		}
+		Assert.assertEquals(FILAS_GZIP,
+				sistemaPersistencia.ejecutarEnTransaccion(() -> repositorioProducto.obtenerPorCodigos(codigos)).size());
+	}
+
+	/**
+	 * Importa un archivo con un c&oacute;digo que se repite en otro lote y
+	 * otro que se repite en el mismo lote
+	 *
+	 * <b>Resultado:</b> La repetici&oacute;n del mismo lote se rechaza como
+	 * c&oacute;digo repetido y la de otro lote, que ya se guard&oacute;, como
+	 * producto existente
+	 */
+	@Test
+	public void codigoRepetidoEnLotesTest() throws IOException {
+		// arrange
+		Path archivo = escribir("repetidos.csv", Arrays.asList(
+				"R1,Producto 1,100",
+				"R2,Producto 2,200",
+				"R3,Producto 3,300",
+				"R3,Producto repetido,30",
+				"R1,Producto repetido,10"));
+		ImportadorCatalogo importador = new ImportadorCatalogo(sistemaPersistencia, 2, 100);
+
+		// act
+		ResumenImportacion resumen = importador.importar(archivo, avance -> {
+		});
+
+		// assert
+		Assert.assertEquals(3, resumen.getImportadas());
+		List<RechazoImportacion> rechazos = new ArrayList<>(resumen.getRechazos());
+		rechazos.sort(Comparator.comparingLong(RechazoImportacion::getLinea));
+		Assert.assertEquals(Arrays.asList(4L, 5L), lineas(rechazos));
+		Assert.assertEquals(ImportadorCatalogo.CODIGO_REPETIDO, rechazos.get(0).getMotivo());
+		Assert.assertEquals(ImportadorCatalogo.PRODUCTO_EXISTENTE, rechazos.get(1).getMotivo());
+	}
+
+	/**
+	 * Importa un archivo con m&aacute;s filas inv&aacute;lidas que el
+	 * m&aacute;ximo de rechazos
+	 *
+	 * <b>Resultado:</b> Se cuentan todos los rechazos pero solo se conservan
+	 * los primeros
+	 */
+	@Test
+	public void maximoRechazosTest() throws IOException {
+		// arrange
+		List<String> filas = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			filas.add("M" + i + ",Producto " + i + ",precio");
+		}
+		ImportadorCatalogo importador = new ImportadorCatalogo(sistemaPersistencia, TAMANO_LOTE, 3);
+
+		// act
+		ResumenImportacion resumen = importador.importar(escribir("rechazos.csv", filas), avance -> {
+		});
+
+		// assert
+		Assert.assertEquals(10, resumen.getRechazadas());
+		Assert.assertEquals(3, resumen.getRechazos().size());
+		Assert.assertEquals(0, resumen.getImportadas());
+	}
+
+	private Path escribir(String nombre, List<String> filas) throws IOException {
+		Path archivo = carpeta.getRoot().toPath().resolve(nombre);
+		try (OutputStream salida = Files.newOutputStream(archivo)) {
+			escribir(salida, filas);
+		}
+		return archivo;
+	}
+
+	private static void escribir(OutputStream salida, List<String> filas) throws IOException {
+		Writer escritor = new OutputStreamWriter(salida, StandardCharsets.UTF_8);
+		for (String fila : filas) {
+			escritor.write(fila);
+			escritor.write('\n');
+		}
+		escritor.flush();
+	}
+
+	private static List<Long> lineas(List<RechazoImportacion> rechazos) {
+		List<Long> lineas = new ArrayList<>();
+		for (RechazoImportacion rechazo : rechazos) {
+			lineas.add(rechazo.getLinea());
+		}
+		return lineas;
+	}
+
+}
@@ -0,0 +1,96 @@
+package servicio.integracion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.GarantiaExtendida;
+import dominio.Producto;
+import dominio.Vendedor;
+import dominio.excepcion.GarantiaExtendidaException;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ServicioGarantiaAsincrono;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class ServicioGarantiaAsincronoTest {
+
+	private static final String NOMBRE_CLIENTE = "Javier Mendez";
+	private static final int CONCURRENCIA = 4;
+	private static final int SOLICITUDES = 40;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private ServicioGarantiaAsincrono servicioGarantia;
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		servicioGarantia = new ServicioGarantiaAsincrono(sistemaPersistencia, CONCURRENCIA);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		servicioGarantia.cerrar(10, TimeUnit.SECONDS);
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Env&iacute;a muchas solicitudes sin esperar cada resultado
+	 * 
+	 * <b>Resultado:</b> Todas las garant&iacute;as se generan
+	 */
+	@Test
+	public void generarGarantiasSinBloquearTest() throws Exception {
+		// arrange
+		List<Producto> productos = new ArrayList<>();
+		for (int i = 0; i < SOLICITUDES; i++) {
+			productos.add(new ProductoTestDataBuilder().conCodigo("ASYNC" + i).build());
+		}
+		sistemaPersistencia.ejecutarEnTransaccion(
+				() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(productos));
+
+		// act
+		List<CompletableFuture<GarantiaExtendida>> garantias = new ArrayList<>();
+		for (Producto producto : productos) {
+			garantias.add(servicioGarantia.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE));
+		}
+		CompletableFuture.allOf(garantias.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+		// assert
+		for (Producto producto : productos) {
+			Assert.assertTrue(servicioGarantia.tieneGarantia(producto.getCodigo()).get());
+		}
+	}
+
+	/**
+	 * Solicita dos veces la garant&iacute;a de un mismo producto
+	 * 
+	 * <b>Resultado:</b> La segunda solicitud termina con un futuro fallido
+	 * con la excepci&oacute;n del negocio
+	 */
+	@Test
+	public void productoYaTieneGarantiaFuturoFallidoTest() throws Exception {
+		// arrange
+		Producto producto = new ProductoTestDataBuilder().build();
+		sistemaPersistencia.ejecutarEnTransaccion(
+				() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(producto));
+		servicioGarantia.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE).get();
+
+		// act
+		try {
+			servicioGarantia.generarGarantia(producto.getCodigo(), NOMBRE_CLIENTE).get();
+			Assert.fail();
+		} catch (ExecutionException e) {
+			// assert
+			Assert.assertTrue(e.getCause() instanceof GarantiaExtendidaException);
+			Assert.assertEquals(Vendedor.EL_PRODUCTO_TIENE_GARANTIA, e.getCause().getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+package servicio.integracion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.excepcion.GarantiaExtendidaException;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ServicioGarantia;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class ServicioGarantiaTest {
+
+	private static final String NOMBRE_CLIENTE = "Javier Mendez";
+	private static final String PREFIJO_CODIGO = "F01TSA";
+	private static final String CONTAR_GARANTIAS = "SELECT COUNT(garantia) FROM GarantiaExtendida garantia WHERE garantia.producto.codigo = :codigo";
+	private static final int HILOS = 16;
+	private static final int CODIGOS = 4;
+	private static final int RONDAS = 25;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private ServicioGarantia servicioGarantia;
+
+	@Before
+	public void setUp() {
+		sistemaPersistencia = new SistemaDePersistencia();
+		servicioGarantia = new ServicioGarantia(sistemaPersistencia);
+	}
+
+	@After
+	public void tearDown() {
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Muchos hilos solicitan a la vez la garantia de unos pocos productos
+	 * 
+	 * <b>Resultado:</b> Cada producto queda con una sola garantia y las
+	 * dem&aacute;s solicitudes se rechazan
+	 */
+	@Test
+	public void solicitudesConcurrentesMismoCodigoGeneranUnaGarantiaTest() throws Exception {
+		// arrange
+		List<String> codigos = crearProductos();
+		Map<String, AtomicInteger> emitidas = new HashMap<>();
+		for (String codigo : codigos) {
+			emitidas.put(codigo, new AtomicInteger());
+		}
+		CountDownLatch inicio = new CountDownLatch(1);
+		List<Callable<Void>> tareas = new ArrayList<>();
+		for (int i = 0; i < HILOS; i++) {
+			tareas.add(() -> {
+				inicio.await();
+				for (int ronda = 0; ronda < RONDAS; ronda++) {
+					for (String codigo : codigos) {
+						try {
+							servicioGarantia.generarGarantia(codigo, NOMBRE_CLIENTE);
+							emitidas.get(codigo).incrementAndGet();
+						} catch (GarantiaExtendidaException e) {
+							// la garantia ya fue emitida por otro hilo
+						}
+					}
+				}
+				return null;
+			});
+		}
+
+		// act
+		ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+		try {
+			List<Future<Void>> resultados = new ArrayList<>();
+			for (Callable<Void> tarea : tareas) {
+				resultados.add(ejecutor.submit(tarea));
+			}
+			inicio.countDown();
+			for (Future<Void> resultado : resultados) {
+				resultado.get();
+			}
+		} finally {
+			ejecutor.shutdown();
+		}
+
+		// assert
+		for (String codigo : codigos) {
+			Assert.assertEquals(1, emitidas.get(codigo).get());
+			long garantias = sistemaPersistencia.ejecutarEnTransaccion(() -> sistemaPersistencia.obtenerEntityManager()
+					.createQuery(CONTAR_GARANTIAS, Long.class).setParameter("codigo", codigo).getSingleResult());
+			Assert.assertEquals(1, garantias);
+		}
+	}
+
+	private List<String> crearProductos() {
+		List<Producto> productos = new ArrayList<>();
+		List<String> codigos = new ArrayList<>();
+		for (int i = 0; i < CODIGOS; i++) {
+			Producto producto = new ProductoTestDataBuilder().conCodigo(PREFIJO_CODIGO + i).build();
+			productos.add(producto);
+			codigos.add(producto.getCodigo());
+		}
+		sistemaPersistencia.ejecutarEnTransaccion(
+				() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(productos));
+		return codigos;
+	}
+
+}
@@ -0,0 +1,143 @@
+package servicio.integracion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dominio.Producto;
+import dominio.Vendedor;
+import persistencia.sistema.SistemaDePersistencia;
+import servicio.ServicioGarantia;
+import servicio.ServidorGarantiasHttp;
+import testdatabuilder.ProductoTestDataBuilder;
+
+public class ServidorGarantiasHttpTest {
+
+	private static final String CODIGO_PRODUCTO = "F01TSA0150";
+	private static final String NOMBRE_CLIENTE = "Javier \"Javi\" Mendez";
+	private static final String CLIENTE_CODIFICADO = "cliente=Javier+%22Javi%22+Mendez";
+	private static final int CONCURRENCIA = 4;
+
+	private SistemaDePersistencia sistemaPersistencia;
+	private ServidorGarantiasHttp servidor;
+
+	@Before
+	public void setUp() throws IOException {
+		sistemaPersistencia = new SistemaDePersistencia();
+		Producto producto = new ProductoTestDataBuilder().conCodigo(CODIGO_PRODUCTO).build();
+		sistemaPersistencia
+				.ejecutarEnTransaccion(() -> sistemaPersistencia.obtenerRepositorioProductos().agregar(producto));
+		servidor = new ServidorGarantiasHttp(new ServicioGarantia(sistemaPersistencia), 0, CONCURRENCIA);
+		servidor.iniciar();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		servidor.detener(0);
+		sistemaPersistencia.cerrar();
+	}
+
+	/**
+	 * Genera la garant&iacute;a de un producto por HTTP y la consulta
+	 *
+	 * <b>Resultado:</b> Se responde 201 con la garant&iacute;a en JSON, el
+	 * estado indica que tiene garant&iacute;a y la consulta devuelve el mismo
+	 * JSON
+	 */
+	@Test
+	public void generarYConsultarGarantiaTest() throws IOException {
+		// arrange
+		Respuesta estadoAntes = enviar("GET", CODIGO_PRODUCTO + "/estado", null);
+
+		// act
+		Respuesta generada = enviar("POST", CODIGO_PRODUCTO, CLIENTE_CODIFICADO);
+
+		// assert
+		Assert.assertEquals(200, estadoAntes.estado);
+		Assert.assertEquals("{\"codigo\":\"" + CODIGO_PRODUCTO + "\",\"tieneGarantia\":false}", estadoAntes.cuerpo);
+		Assert.assertEquals(201, generada.estado);
+		Assert.assertTrue(generada.cuerpo, generada.cuerpo.startsWith("{\"codigo\":\"" + CODIGO_PRODUCTO + "\","));
+		Assert.assertTrue(generada.cuerpo, generada.cuerpo.endsWith(",\"nombreCliente\":\"Javier \\\"Javi\\\" Mendez\"}"));
+		Assert.assertEquals("{\"codigo\":\"" + CODIGO_PRODUCTO + "\",\"tieneGarantia\":true}",
+				enviar("GET", CODIGO_PRODUCTO + "/estado", null).cuerpo);
+		Respuesta consultada = enviar("GET", CODIGO_PRODUCTO, null);
+		Assert.assertEquals(200, consultada.estado);
+		Assert.assertEquals(generada.cuerpo, consultada.cuerpo);
+		Assert.assertEquals(NOMBRE_CLIENTE,
+				new ServicioGarantia(sistemaPersistencia).obtenerGarantia(CODIGO_PRODUCTO).getNombreCliente());
+	}
+
+	/**
+	 * Solicita dos veces la garant&iacute;a de un producto, la de un producto
+	 * inexistente y consulta un producto sin garant&iacute;a
+	 *
+	 * <b>Resultado:</b> Los rechazos se responden con 409 y 404 y un mensaje
+	 * de error en JSON
+	 */
+	@Test
+	public void rechazosSeRespondenConEstadoYMensajeTest() throws IOException {
+		// arrange
+		enviar("POST", CODIGO_PRODUCTO, CLIENTE_CODIFICADO);
+
+		// act
+		Respuesta repetida = enviar("POST", CODIGO_PRODUCTO, CLIENTE_CODIFICADO);
+		Respuesta inexistente = enviar("POST", "X99ZZZ", CLIENTE_CODIFICADO);
+		Respuesta sinGarantia = enviar("GET", "X99ZZZ", null);
+		Respuesta sinCliente = enviar("POST", CODIGO_PRODUCTO, "otro=1");
+
+		// assert
+		Assert.assertEquals(409, repetida.estado);
+		Assert.assertEquals("{\"error\":\"" + Vendedor.EL_PRODUCTO_TIENE_GARANTIA + "\"}", repetida.cuerpo);
+		Assert.assertEquals(404, inexistente.estado);
+		Assert.assertEquals("{\"error\":\"" + Vendedor.EL_PRODUCTO_NO_EXISTE + "\"}", inexistente.cuerpo);
+		Assert.assertEquals(404, sinGarantia.estado);
+		Assert.assertEquals(400, sinCliente.estado);
+	}
+
+	private Respuesta enviar(String metodo, String ruta, String formulario) throws IOException {
+		URL url = new URL("http://localhost:" + servidor.getPuerto() + ServidorGarantiasHttp.RUTA + ruta);
+		HttpURLConnection conexion = (HttpURLConnection) url.openConnection();
+		conexion.setRequestMethod(metodo);
+		if (formulario != null) {
+			conexion.setDoOutput(true);
+			conexion.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+			try (OutputStream salida = conexion.getOutputStream()) {
+				salida.write(formulario.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		int estado = conexion.getResponseCode();
+		ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+		try (InputStream entrada = estado < 400 ? conexion.getInputStream() : conexion.getErrorStream()) {
+			byte[] bloque = new byte[512];
+			int leidos;
+			while ((leidos = entrada.read(bloque)) > 0) {
+				cuerpo.write(bloque, 0, leidos);
+			}
+		}
+		Assert.assertEquals("application/json; charset=utf-8", conexion.getContentType());
+		return new Respuesta(estado, new String(cuerpo.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private static class Respuesta {
+
+		private final int estado;
+		private final String cuerpo;
+
+		private Respuesta(int estado, String cuerpo) {
+			this.estado = estado;
+			this.cuerpo = cuerpo;
+		}
+
+	}
+
+}
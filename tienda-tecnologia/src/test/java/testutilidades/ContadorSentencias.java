@@ -0,0 +1,86 @@
+package testutilidades;
+
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+
+import persistencia.sistema.SistemaDePersistencia;
+
+/**
+ * Cuenta, con las estad&iacute;sticas de Hibernate, las sentencias SQL, las
+ * cargas de entidades y los flushes que ejecuta un bloque de c&oacute;digo,
+ * para fijar en las pruebas el presupuesto exacto de consultas de cada
+ * operaci&oacute;n. Las estad&iacute;sticas son de toda la unidad de
+ * persistencia, por eso el bloque no debe ejecutarse en paralelo con otros;
+ * se habilitan al crear el contador
+ */
+public class ContadorSentencias {
+
+	private final Statistics estadisticas;
+
+	public ContadorSentencias(SistemaDePersistencia sistemaPersistencia) {
+		this.estadisticas = sistemaPersistencia.obtenerEstadisticas();
+		estadisticas.setStatisticsEnabled(true);
+	}
+
+	/**
+	 * Ejecuta el bloque y cuenta lo que ejecut&oacute; contra la base de datos
+	 * 
+	 * @param bloque
+	 *            c&oacute;digo a medir
+	 * @return conteo del bloque
+	 */
+	public Conteo contar(Runnable bloque) {
+		long sentencias = estadisticas.getPrepareStatementCount();
+		long cargas = estadisticas.getEntityLoadCount();
+		long flushes = estadisticas.getFlushCount();
+
+		bloque.run();
+
+		return new Conteo(estadisticas.getPrepareStatementCount() - sentencias,
+				estadisticas.getEntityLoadCount() - cargas, estadisticas.getFlushCount() - flushes);
+	}
+
+	/**
+	 * Sentencias, cargas de entidades y flushes de un bloque
+	 */
+	public static class Conteo {
+
+		private final long sentencias;
+		private final long cargas;
+		private final long flushes;
+
+		private Conteo(long sentencias, long cargas, long flushes) {
+			this.sentencias = sentencias;
+			this.cargas = cargas;
+			this.flushes = flushes;
+		}
+
+		public long getSentencias() {
+			return sentencias;
+		}
+
+		public long getCargas() {
+			return cargas;
+		}
+
+		public long getFlushes() {
+			return flushes;
+		}
+
+		/**
+		 * Falla si el bloque no ejecut&oacute; exactamente lo esperado
+		 */
+		public void verificar(long sentenciasEsperadas, long cargasEsperadas, long flushesEsperados) {
+			Assert.assertEquals("Conteo esperado: sentencias=" + sentenciasEsperadas + " cargas=" + cargasEsperadas
+					+ " flushes=" + flushesEsperados + ", obtenido: " + this,
+					String.valueOf(sentenciasEsperadas) + "/" + cargasEsperadas + "/" + flushesEsperados,
+					String.valueOf(sentencias) + "/" + cargas + "/" + flushes);
+		}
+
+		@Override
+		public String toString() {
+			return "sentencias=" + sentencias + " cargas=" + cargas + " flushes=" + flushes;
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package utilidades.unitaria;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import utilidades.CalendarioLaboral;
+
+public class CalendarioLaboralTest {
+
+	private static final LocalDate FECHA_INICIAL = LocalDate.of(2017, 12, 1);
+	private static final LocalDate FECHA_FINAL = LocalDate.of(2020, 1, 31);
+	private static final int MAXIMO_DIAS = 250;
+	private static final List<LocalDate> FESTIVOS = Arrays.asList(LocalDate.of(2018, 12, 25),
+			LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 7), LocalDate.of(2019, 4, 18), LocalDate.of(2019, 4, 19),
+			LocalDate.of(2019, 7, 20), LocalDate.of(2019, 12, 8));
+
+	/**
+	 * Compara el calculo en tiempo constante con el recorrido d&iacute;a a
+	 * d&iacute;a para todas las fechas de inicio del rango
+	 * 
+	 * <b>Resultado:</b> Ambos calculos coinciden
+	 */
+	@Test
+	public void sumarDiasHabilesSinFestivosTest() {
+		CalendarioLaboral calendario = CalendarioLaboral.SIN_FESTIVOS;
+		Set<LocalDate> festivos = Collections.emptySet();
+
+		for (LocalDate inicio = FECHA_INICIAL; !inicio.isAfter(FECHA_FINAL); inicio = inicio.plusDays(1)) {
+			for (int dias = 0; dias <= MAXIMO_DIAS; dias++) {
+				assertEquals(inicio + " + " + dias, sumarDiasHabilesIterativo(inicio, dias, festivos),
+						calendario.sumarDiasHabiles(inicio, dias));
+			}
+		}
+	}
+
+	/**
+	 * Compara el calculo en tiempo constante con el recorrido d&iacute;a a
+	 * d&iacute;a cuando hay festivos configurados
+	 * 
+	 * <b>Resultado:</b> Ambos calculos coinciden
+	 */
+	@Test
+	public void sumarDiasHabilesConFestivosTest() {
+		CalendarioLaboral calendario = new CalendarioLaboral(FESTIVOS);
+		Set<LocalDate> festivos = new HashSet<>(FESTIVOS);
+
+		for (LocalDate inicio = FECHA_INICIAL; !inicio.isAfter(FECHA_FINAL); inicio = inicio.plusDays(1)) {
+			for (int dias = 0; dias <= MAXIMO_DIAS; dias++) {
+				assertEquals(inicio + " + " + dias, sumarDiasHabilesIterativo(inicio, dias, festivos),
+						calendario.sumarDiasHabiles(inicio, dias));
+			}
+		}
+	}
+
+	/**
+	 * Recorrido d&iacute;a a d&iacute;a usado como referencia
+	 */
+	private static LocalDate sumarDiasHabilesIterativo(LocalDate fechaInicio, int dias, Set<LocalDate> festivos) {
+		LocalDate fechaIteracion = fechaInicio;
+		while (dias > 0) {
+			if (fechaIteracion.getDayOfWeek() != DayOfWeek.MONDAY && !festivos.contains(fechaIteracion)) {
+				dias--;
+			}
+			fechaIteracion = fechaIteracion.plusDays(1);
+		}
+		if (fechaIteracion.getDayOfWeek() == DayOfWeek.SUNDAY) {
+			fechaIteracion = fechaIteracion.plusDays(1);
+		}
+		while (fechaIteracion.getDayOfWeek() == DayOfWeek.MONDAY || festivos.contains(fechaIteracion)) {
+			fechaIteracion = fechaIteracion.plusDays(1);
+		}
+		return fechaIteracion;
+	}
+
+}
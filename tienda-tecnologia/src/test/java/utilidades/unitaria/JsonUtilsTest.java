@@ -0,0 +1,44 @@
+package utilidades.unitaria;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import utilidades.JsonUtils;
+
+public class JsonUtilsTest {
+
+	/**
+	 * Escapa una cadena con comillas, barra invertida, saltos de l&iacute;nea,
+	 * caracteres de control y caracteres no ASCII
+	 *
+	 * <b>Resultado:</b> Solo se escapan los caracteres que JSON no permite
+	 * dentro de un literal y el separador de l&iacute;nea U+2028
+	 */
+	@Test
+	public void escaparTest() {
+		// arrange
+		String cadena = "Portatil 14\" \\ 8GB\n\t\u0001\u00f1\u2028";
+
+		// act
+		String literal = JsonUtils.escapar(cadena);
+
+		// assert
+		assertEquals("\"Portatil 14\\\" \\\\ 8GB\\n\\t\\u0001\u00f1\\u2028\"", literal);
+	}
+
+	/**
+	 * Escapa una cadena nula
+	 *
+	 * <b>Resultado:</b> Se obtiene el literal <tt>null</tt>
+	 */
+	@Test
+	public void escaparNuloTest() {
+		// act
+		String literal = JsonUtils.escapar(null);
+
+		// assert
+		assertEquals("null", literal);
+	}
+
+}